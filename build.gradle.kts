@@ -10,6 +10,7 @@ plugins {
 //    id("io.papermc.paperweight.userdev") version "1.5.9" // Used to develop internal plugins using Mojang mappings, See https://github.com/PaperMC/paperweight
     id("org.flywaydb.flyway") version "10.8.1" // Database migrations
     id("org.jooq.jooq-codegen-gradle") version "3.19.3"
+    id("me.champeau.jmh") version "0.7.2" // Microbenchmarks in src/jmh, run with ./gradlew jmh
 
     eclipse
     idea
@@ -72,6 +73,8 @@ dependencies {
 
     compileOnly("com.palmergames.bukkit.towny:towny:0.100.1.0")
 
+    implementation("com.github.ben-manes.caffeine:caffeine:3.1.8")
+
     // Database Dependencies
     implementation("com.zaxxer:HikariCP:5.1.0")
     library("org.flywaydb:flyway-core:10.8.1")
@@ -85,6 +88,15 @@ dependencies {
     library("com.h2database:h2:2.2.224")
     library("com.mysql:mysql-connector-j:8.3.0")
     library("org.mariadb.jdbc:mariadb-java-client:3.3.2")
+
+    // Benchmark Dependencies, libraries are otherwise provided by the server at runtime
+    jmh("org.jooq:jooq:3.19.3")
+    jmh("org.hsqldb:hsqldb:2.7.2")
+    jmh("com.h2database:h2:2.2.224")
+    jmh("com.mysql:mysql-connector-j:8.3.0")
+    jmh("org.mariadb.jdbc:mariadb-java-client:3.3.2")
+    jmh("net.kyori:adventure-text-minimessage:4.15.0")
+    jmh("net.kyori:adventure-text-serializer-legacy:4.15.0")
 }
 
 tasks {
@@ -134,12 +146,15 @@ tasks {
         reloc("dev.jorel.commandapi", "commandapi")
         reloc("dev.triumphteam.gui", "gui")
         reloc("com.zaxxer.hikari", "hikaricp")
+        reloc("com.github.benmanes.caffeine", "caffeine")
 
         mergeServiceFiles {
             setPath("META-INF/services/org.flywaydb.core.extensibility.Plugin") // Fix Flyway overriding its own files
         }
 
-        minimize()
+        minimize {
+            exclude(dependency("com.github.ben-manes.caffeine:caffeine:.*")) // Cache implementations are loaded reflectively
+        }
     }
 
     runServer {
@@ -177,8 +192,9 @@ bukkit { // Options: https://github.com/Minecrell/plugin-yml#bukkit
 
     // Misc properties
     load = net.minecrell.pluginyml.bukkit.BukkitPluginDescription.PluginLoadOrder.POSTWORLD // STARTUP or POSTWORLD
+    foliaSupported = true // Scheduling goes through MorePaperLib
     depend = listOf()
-    softDepend = listOf()
+    softDepend = listOf("Vault", "Towny") // Load after the plugins we hook into
 }
 
 flyway {
@@ -220,6 +236,13 @@ jooq {
                 excludes = "(flyway_schema_history)|(?i:information_schema\\..*)|(?i:system_lobs\\..*)"  // Exclude db specific files
                 inputSchema = "PUBLIC"
                 schemaVersionProvider = "SELECT :schema_name || '_' || MAX(\"version\") FROM \"flyway_schema_history\"" // Grab version from Flyway
+                forcedTypes {
+                    forcedType { // Expose BINARY(16) uuid columns as java.util.UUID
+                        userType = "java.util.UUID"
+                        converter = "${mainPackage}.db.jooq.UUIDBinaryConverter"
+                        includeTypes = "(?i:BINARY\\(16\\))" // Native UUID columns already map to java.util.UUID
+                    }
+                }
             }
             target {
                 packageName = "${mainPackage}.db.schema"
@@ -230,6 +253,12 @@ jooq {
     }
 }
 
+jmh { // Options: https://github.com/melix/jmh-gradle-plugin
+    jmhVersion = "1.37"
+    includes = listOf(providers.gradleProperty("benchmark").getOrElse(".*")) // Run a single benchmark with -Pbenchmark=JooqContextBenchmark
+    jvmArgsAppend.addAll(providers.gradlePropertiesPrefixedBy("benchmark.").map { properties -> properties.map { (key, value) -> "-D$key=$value" } }) // Benchmark settings like -Pbenchmark.jdbc-url
+}
+
 // Apply custom version arg
 val versionArg = if (hasProperty("customVersion"))
     (properties["customVersion"] as String).uppercase() // Uppercase version string
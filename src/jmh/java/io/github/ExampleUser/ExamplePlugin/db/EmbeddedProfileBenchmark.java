@@ -0,0 +1,191 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.ExampleUser.ExamplePlugin.db.jooq.UUIDBinaryConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures read and write throughput of the embedded databases with every {@link EmbeddedProfile.Preset}.
+ * <p>
+ * The database is created with the driver defaults and filled first, like an existing install, and then started twice
+ * the way the plugin starts it, with the preset in the url and its setup statements applied, so settings HSQLDB only
+ * picks up on startup are in effect. The heap retained by the open database after reading every row once is printed
+ * when the trial ends, alongside the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmbeddedProfileBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"HSQLDB", "H2"})
+    public DatabaseType database;
+
+    @Param({"LOW_MEMORY", "BALANCED", "THROUGHPUT"})
+    public EmbeddedProfile.Preset preset;
+
+    private Path directory;
+    private byte[][] keys;
+    private HikariDataSource dataSource;
+    private Connection connection;
+    private long retainedHeapBytes;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        directory = Files.createTempDirectory("embedded-benchmark");
+        keys = new byte[ROWS][];
+        for (int i = 0; i < ROWS; i++) {
+            keys[i] = UUIDBinaryConverter.toBytes(UUID.randomUUID());
+        }
+
+        final long heapBefore = usedHeapAfterGc();
+
+        open(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE benchmark_rows (uuid BINARY(16) PRIMARY KEY, name VARCHAR(32) NOT NULL, balance BIGINT NOT NULL)");
+        }
+        insert(keys);
+        close();
+
+        open(true); // The first start after upgrading applies the setup statements
+        close();
+        open(true);
+
+        for (byte[] key : keys) {
+            select(key);
+        }
+        retainedHeapBytes = usedHeapAfterGc() - heapBefore;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        System.out.printf("%n%s %s retained %.1f MiB of heap after reading %d rows%n", database, preset, retainedHeapBytes / (1024D * 1024D), ROWS);
+        close();
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean read() throws SQLException {
+        return select(keys[ThreadLocalRandom.current().nextInt(ROWS)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void write() throws SQLException {
+        final byte[][] batch = new byte[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch[i] = UUIDBinaryConverter.toBytes(UUID.randomUUID());
+        }
+        insert(batch);
+    }
+
+    private void open(boolean withPreset) throws SQLException {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        if (database.equals(DatabaseType.HSQLDB))
+            properties.put("hsqldb.default_table_type", "cached"); // Matches the plugin database
+        if (withPreset)
+            properties.putAll(preset.getProfile().getJdbcProperties(database));
+
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setDataSourceClassName(database.getDataSourceClassName());
+        hikariConfig.addDataSourceProperty("url", "jdbc:%s:%s".formatted(
+            database.getJdbcPrefix(),
+            directory.resolve("database").toAbsolutePath() + database.formatJdbcConnectionProperties(properties)
+        ));
+        hikariConfig.setUsername("SA");
+        hikariConfig.setPassword("");
+        hikariConfig.setMaximumPoolSize(1);
+        dataSource = new HikariDataSource(hikariConfig);
+        connection = dataSource.getConnection();
+
+        if (withPreset) {
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : preset.getProfile().getSetupStatements(database)) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private void close() throws SQLException {
+        if (database.equals(DatabaseType.HSQLDB)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN"); // Release the files so the next start reads them again
+            }
+        }
+        connection.close();
+        dataSource.close();
+    }
+
+    private void insert(byte[][] batch) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO benchmark_rows (uuid, name, balance) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < batch.length; i++) {
+                statement.setBytes(1, batch[i]);
+                statement.setString(2, "organization-%d".formatted(i));
+                statement.setLong(3, i);
+                statement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == batch.length - 1)
+                    statement.executeBatch();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private boolean select(byte[] key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name, balance FROM benchmark_rows WHERE uuid = ?")) {
+            statement.setBytes(1, key);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
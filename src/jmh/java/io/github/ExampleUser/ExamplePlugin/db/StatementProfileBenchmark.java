@@ -0,0 +1,116 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.ExampleUser.ExamplePlugin.db.jooq.JooqContext;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATIONS;
+
+/**
+ * Compares the driver defaults with the default {@link StatementProfile} for the organization upsert workload, single
+ * upserts as written by commands and JDBC batches as written by the write-behind flush.
+ * <p>
+ * Runs against an in-memory H2 database unless {@code -Pbenchmark.jdbc-url=jdbc:mysql://host:port/database}, with
+ * {@code -Pbenchmark.user} and {@code -Pbenchmark.pass}, points it at a MySQL or MariaDB server, which is where the
+ * statement cache, server side prepares and batch rewriting actually apply. The url must not contain properties, the
+ * benchmark creates and drops its own {@code benchmark_organizations} table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatementProfileBenchmark {
+    private static final int BATCH_SIZE = 500;
+    private static final int KEYS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean profile;
+
+    private HikariDataSource dataSource;
+    private DSLContext context;
+    private OrganizationsRecord[] records;
+    private int next;
+
+    @Setup
+    public void setup() {
+        final String url = System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:statement-benchmark");
+        final DatabaseType db = DatabaseType.getDatabaseTypeFromJdbcPrefix(url.split(":")[1]);
+        if (db == null)
+            throw new IllegalArgumentException("Unsupported jdbc url " + url);
+
+        final StatementProfile statements = new StatementProfile(true, 250, 2048, true, true); // The config.yml defaults
+        final HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl(url + (profile ? db.formatJdbcConnectionProperties(statements.getJdbcProperties(db)) : ""));
+        hikariConfig.setUsername(System.getProperty("benchmark.user", "sa"));
+        hikariConfig.setPassword(System.getProperty("benchmark.pass", ""));
+        hikariConfig.setMaximumPoolSize(1);
+        dataSource = new HikariDataSource(hikariConfig);
+
+        context = new JooqContext(db.getSQLDialect(), dataSource, null, "benchmark_").getContext();
+        context.dropTableIfExists(ORGANIZATIONS).execute();
+        context.createTable(ORGANIZATIONS).columns(ORGANIZATIONS.fields()).primaryKey(ORGANIZATIONS.UUID).execute();
+
+        records = new OrganizationsRecord[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            records[i] = new OrganizationsRecord(UUID.randomUUID(), "organization-%d".formatted(i), (long) i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.dropTableIfExists(ORGANIZATIONS).execute();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int upsertRow() {
+        final OrganizationsRecord record = records[next++ % KEYS];
+        return context
+            .insertInto(ORGANIZATIONS)
+            .set(record)
+            .onDuplicateKeyUpdate()
+            .setAllToExcluded()
+            .execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] upsertBatch() {
+        final Field<?>[] fields = ORGANIZATIONS.fields();
+        final BatchBindStep batch = context.batch(
+            context
+                .insertInto(ORGANIZATIONS)
+                .columns(fields)
+                .values(new Object[fields.length])
+                .onDuplicateKeyUpdate()
+                .setAllToExcluded()
+        );
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.bind(records[next++ % KEYS].intoArray());
+        }
+        return batch.execute();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ExampleUser.ExamplePlugin.db.jooq;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.jooq.DSLContext;
+import org.jooq.QueryPart;
+import org.jooq.SQLDialect;
+import org.jooq.conf.BackslashEscaping;
+import org.jooq.conf.MappedSchema;
+import org.jooq.conf.MappedTable;
+import org.jooq.conf.RenderMapping;
+import org.jooq.conf.RenderNameCase;
+import org.jooq.conf.RenderQuotedNames;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATIONS;
+
+/**
+ * Compares building a jOOQ configuration and settings per query, as {@link JooqContext#createContext(Connection)} did
+ * before, with deriving the context from the cached configuration. Both render a typical lookup query, nothing is
+ * executed. Run with {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JooqContextBenchmark {
+    private static final String TABLE_PREFIX = "example_";
+    private static final Pattern MATCH_ALL_EXCEPT_INFORMATION_SCHEMA = Pattern.compile("^(?!INFORMATION_SCHEMA)(.*?)$");
+    private static final Pattern MATCH_ALL = Pattern.compile("^(.*?)$");
+
+    private Connection connection;
+    private JooqContext jooqContext;
+    private QueryPart query;
+
+    @Setup
+    public void setup() throws SQLException {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jooq-context-benchmark");
+        connection = dataSource.getConnection();
+        jooqContext = new JooqContext(SQLDialect.H2, dataSource, null, TABLE_PREFIX);
+        query = DSL.selectFrom(ORGANIZATIONS).where(ORGANIZATIONS.UUID.eq(UUID.randomUUID()));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public String perCallConfiguration() {
+        final DSLContext context = new DefaultConfiguration()
+            .set(connection)
+            .set(SQLDialect.H2)
+            .set(createSettings())
+            .dsl();
+        return context.render(query);
+    }
+
+    @Benchmark
+    public String cachedConfiguration() {
+        return jooqContext.createContext(connection).render(query);
+    }
+
+    /**
+     * The settings every query built before the configuration was cached.
+     *
+     * @return the settings
+     */
+    private static Settings createSettings() {
+        return new Settings()
+            .withBackslashEscaping(BackslashEscaping.OFF)
+            .withRenderSchema(false)
+            .withRenderMapping(new RenderMapping()
+                .withSchemata(new MappedSchema()
+                    .withInputExpression(MATCH_ALL_EXCEPT_INFORMATION_SCHEMA)
+                    .withTables(new MappedTable()
+                        .withInputExpression(MATCH_ALL)
+                        .withOutput("%s$0".formatted(TABLE_PREFIX))
+                    )
+                )
+            )
+            .withRenderQuotedNames(RenderQuotedNames.ALWAYS)
+            .withRenderNameCase(RenderNameCase.LOWER);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.ExampleUser.ExamplePlugin.db.jooq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting uuids to bytes and back by wrapping a {@link ByteBuffer} per call, as the conversion did before,
+ * with {@link UUIDBinaryConverter#toBytes(UUID)} and {@link UUIDBinaryConverter#fromBytes(byte[])}. Run with
+ * {@code -prof gc} to compare allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UUIDBinaryConverterBenchmark {
+    private static final int UUIDS = 1024;
+
+    private UUID[] uuids;
+    private int next;
+
+    @Setup
+    public void setup() {
+        uuids = new UUID[UUIDS];
+        for (int i = 0; i < UUIDS; i++) {
+            uuids[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    public UUID byteBuffer() {
+        final UUID uuid = uuids[next++ & (UUIDS - 1)];
+        final byte[] bytes = ByteBuffer.wrap(new byte[16])
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    @Benchmark
+    public UUID converter() {
+        return UUIDBinaryConverter.fromBytes(UUIDBinaryConverter.toBytes(uuids[next++ & (UUIDS - 1)]));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.ExampleUser.ExamplePlugin.messages;
+
+import com.github.milkdrinkers.colorparser.ColorParser;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a message with {@link ColorParser} on every send, as messages were sent before, with rendering its
+ * compiled {@link MessageTemplate}. Every placeholder is filled with a short text. Run with {@code -prof gc} to compare
+ * allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageTemplateBenchmark {
+    private static final Map<String, String> MESSAGES = Map.of( // Shaped like the messages in messages.yml
+        "plain", "<gray>You are not in an organization.",
+        "placeholder", "<red>There is no organization called <white><organization></white>.",
+        "hover", "<green><player> <hover:show_text:'<gray>Rank <rank> in <organization>'>joined</hover> <white><organization></white>."
+    );
+
+    @Param({"plain", "placeholder", "hover"})
+    public String message;
+
+    private String source;
+    private MessageTemplate template;
+    private Object[] placeholders;
+
+    @Setup
+    public void setup() {
+        source = MESSAGES.get(message);
+        template = MessageTemplate.compile(source);
+        placeholders = new Object[template.getSlots().size() * 2];
+        int index = 0;
+        for (String slot : template.getSlots()) {
+            placeholders[index++] = slot;
+            placeholders[index++] = "value";
+        }
+    }
+
+    @Benchmark
+    public Component parsePerSend() {
+        final ColorParser parser = ColorParser.of(source);
+        for (String slot : template.getSlots()) {
+            parser.parseMinimessagePlaceholder(slot, "value");
+        }
+        return parser.build();
+    }
+
+    @Benchmark
+    public Component compiledTemplate() {
+        return template.render(placeholders);
+    }
+}
@@ -1,12 +1,20 @@
 package io.github.ExampleUser.ExamplePlugin;
 
 import com.github.milkdrinkers.colorparser.ColorParser;
+import io.github.ExampleUser.ExamplePlugin.chat.OrganizationChat;
 import io.github.ExampleUser.ExamplePlugin.command.CommandHandler;
 import io.github.ExampleUser.ExamplePlugin.config.ConfigHandler;
 import io.github.ExampleUser.ExamplePlugin.db.DatabaseHandler;
+import io.github.ExampleUser.ExamplePlugin.gui.MenuHandler;
+import io.github.ExampleUser.ExamplePlugin.hooks.TownyHook;
 import io.github.ExampleUser.ExamplePlugin.hooks.VaultHook;
 import io.github.ExampleUser.ExamplePlugin.listener.ListenerHandler;
+import io.github.ExampleUser.ExamplePlugin.messages.MessageHandler;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.scheduler.SchedulerHandler;
+import io.github.ExampleUser.ExamplePlugin.treasury.TreasuryManager;
 import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.StartupTimings;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
@@ -15,11 +23,19 @@ import org.jetbrains.annotations.NotNull;
  */
 public class ExamplePlugin extends JavaPlugin {
     private static ExamplePlugin instance;
+    private StartupTimings startupTimings;
+    private SchedulerHandler schedulerHandler;
     private ConfigHandler configHandler;
+    private MessageHandler messageHandler;
     private DatabaseHandler databaseHandler;
+    private OrganizationRegistry organizationRegistry;
+    private TreasuryManager treasuryManager;
+    private OrganizationChat organizationChat;
+    private MenuHandler menuHandler;
     private CommandHandler commandHandler;
     private ListenerHandler listenerHandler;
     private static VaultHook vaultHook;
+    private static TownyHook townyHook;
 
     /**
      * Gets plugin instance.
@@ -33,23 +49,45 @@ public class ExamplePlugin extends JavaPlugin {
     @Override
     public void onLoad() {
         instance = this;
+        startupTimings = new StartupTimings();
+        schedulerHandler = new SchedulerHandler(instance);
         configHandler = new ConfigHandler(instance);
+        messageHandler = new MessageHandler(instance);
         databaseHandler = new DatabaseHandler(instance);
+        organizationRegistry = new OrganizationRegistry(instance);
+        treasuryManager = new TreasuryManager(instance);
+        organizationChat = new OrganizationChat(instance);
+        menuHandler = new MenuHandler(instance);
         commandHandler = new CommandHandler(instance);
         listenerHandler = new ListenerHandler(instance);
         vaultHook = new VaultHook(instance);
+        townyHook = new TownyHook(instance);
 
+        schedulerHandler.onLoad();
         configHandler.onLoad();
+        messageHandler.onLoad();
         databaseHandler.onLoad();
+        organizationRegistry.onLoad();
+        treasuryManager.onLoad();
+        organizationChat.onLoad();
+        menuHandler.onLoad();
         commandHandler.onLoad();
         listenerHandler.onLoad();
         vaultHook.onLoad();
+        townyHook.onLoad();
     }
 
     @Override
     public void onEnable() {
+        schedulerHandler.onEnable();
         configHandler.onEnable();
+        messageHandler.onEnable();
         databaseHandler.onEnable();
+        organizationRegistry.onEnable();
+        treasuryManager.onEnable();
+        organizationChat.onEnable();
+        menuHandler.onEnable();
+        townyHook.onEnable();
         commandHandler.onEnable();
         listenerHandler.onEnable();
         vaultHook.onEnable();
@@ -59,15 +97,30 @@ public class ExamplePlugin extends JavaPlugin {
         } else {
             Logger.get().warn(ColorParser.of("<yellow>Vault is not installed on this server. Vault support has been disabled.").build());
         }
+
+        if (townyHook.isTownyLoaded()) {
+            Logger.get().info(ColorParser.of("<green>Towny has been found on this server. Towny support enabled.").build());
+        } else {
+            Logger.get().info(ColorParser.of("<yellow>Towny is not installed on this server. Towny support has been disabled.").build());
+        }
+
+        startupTimings.log();
     }
 
     @Override
     public void onDisable() {
         configHandler.onDisable();
+        messageHandler.onDisable();
+        townyHook.onDisable();
+        menuHandler.onDisable();
+        organizationChat.onDisable();
+        treasuryManager.onDisable();
+        organizationRegistry.onDisable();
         databaseHandler.onDisable();
         commandHandler.onDisable();
         listenerHandler.onDisable();
         vaultHook.onDisable();
+        schedulerHandler.onDisable();
     }
 
     /**
@@ -80,6 +133,76 @@ public class ExamplePlugin extends JavaPlugin {
         return databaseHandler;
     }
 
+    /**
+     * Gets scheduler handler.
+     *
+     * @return the scheduler handler
+     */
+    @NotNull
+    public SchedulerHandler getSchedulerHandler() {
+        return schedulerHandler;
+    }
+
+    /**
+     * Gets command handler.
+     *
+     * @return the command handler
+     */
+    @NotNull
+    public CommandHandler getCommandHandler() {
+        return commandHandler;
+    }
+
+    /**
+     * Gets organization registry.
+     *
+     * @return the organization registry
+     */
+    @NotNull
+    public OrganizationRegistry getOrganizationRegistry() {
+        return organizationRegistry;
+    }
+
+    /**
+     * Gets treasury manager.
+     *
+     * @return the treasury manager
+     */
+    @NotNull
+    public TreasuryManager getTreasuryManager() {
+        return treasuryManager;
+    }
+
+    /**
+     * Gets organization chat.
+     *
+     * @return the organization chat
+     */
+    @NotNull
+    public OrganizationChat getOrganizationChat() {
+        return organizationChat;
+    }
+
+    /**
+     * Gets menu handler.
+     *
+     * @return the menu handler
+     */
+    @NotNull
+    public MenuHandler getMenuHandler() {
+        return menuHandler;
+    }
+
+    /**
+     * Gets the startup timings.
+     *
+     * @return the startup timings
+     */
+    @NotNull
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
     /**
      * Gets config handler.
      *
@@ -90,6 +213,16 @@ public class ExamplePlugin extends JavaPlugin {
         return configHandler;
     }
 
+    /**
+     * Gets message handler.
+     *
+     * @return the message handler
+     */
+    @NotNull
+    public MessageHandler getMessageHandler() {
+        return messageHandler;
+    }
+
     /**
      * Gets vault hook.
      *
@@ -99,4 +232,14 @@ public class ExamplePlugin extends JavaPlugin {
     public static VaultHook getVaultHook() {
         return vaultHook;
     }
+
+    /**
+     * Gets towny hook.
+     *
+     * @return the towny hook
+     */
+    @NotNull
+    public static TownyHook getTownyHook() {
+        return townyHook;
+    }
 }
@@ -0,0 +1,77 @@
+package io.github.ExampleUser.ExamplePlugin.chat;
+
+import net.kyori.adventure.audience.Audience;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The online members of an organization.
+ * <p>
+ * The audience forwards to the live member set, so it is built once and broadcasting never walks players outside the
+ * organization.
+ */
+final class OrganizationChannel {
+    private final UUID organization;
+    private final Set<Player> members = ConcurrentHashMap.newKeySet();
+    private final Audience audience = Audience.audience(members);
+
+    /**
+     * Instantiates a new Organization channel.
+     *
+     * @param organization the organization id
+     */
+    OrganizationChannel(@NotNull UUID organization) {
+        this.organization = organization;
+    }
+
+    /**
+     * Gets the organization id.
+     *
+     * @return the organization id
+     */
+    @NotNull UUID getOrganization() {
+        return organization;
+    }
+
+    /**
+     * Adds an online member.
+     *
+     * @param player the player
+     */
+    void add(@NotNull Player player) {
+        members.add(player);
+    }
+
+    /**
+     * Removes a member.
+     *
+     * @param player the player
+     * @return whether the channel has no members left
+     */
+    boolean remove(@NotNull Player player) {
+        members.remove(player);
+        return members.isEmpty();
+    }
+
+    /**
+     * Gets the audience of all online members.
+     *
+     * @return the audience
+     */
+    @NotNull Audience getAudience() {
+        return audience;
+    }
+
+    /**
+     * Gets the amount of online members.
+     *
+     * @return the member count
+     */
+    int size() {
+        return members.size();
+    }
+}
@@ -0,0 +1,340 @@
+package io.github.ExampleUser.ExamplePlugin.chat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.hooks.VaultHook;
+import io.github.ExampleUser.ExamplePlugin.organization.MembershipListener;
+import io.github.ExampleUser.ExamplePlugin.organization.Organization;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationMember;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.organization.Rank;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.UUIDMap;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.milkbowl.vault.chat.Chat;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Organization chat channel.
+ * <p>
+ * Every organization with online members has a channel holding a precomputed {@link Audience} of those members. Channels
+ * are updated when players join or quit and when memberships change, so a broadcast only reaches the organization's
+ * members and its cost does not grow with the amount of players online. Messages are formatted and delivered on a
+ * background thread, in the order they were sent. Vault chat prefixes and suffixes are parsed once and cached per player
+ * until the player quits, changes organization or rank, or the cache duration elapses.
+ */
+public class OrganizationChat implements Reloadable, MembershipListener {
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacyAmpersand();
+
+    private final ExamplePlugin plugin;
+    private final UUIDMap<OrganizationChannel> channels = new UUIDMap<>();
+    private final UUIDMap<OrganizationChannel> channelsByPlayer = new UUIDMap<>();
+    private final UUIDMap<Player> online = new UUIDMap<>();
+    private final Set<UUID> toggled = ConcurrentHashMap.newKeySet();
+    private final Object channelLock = new Object();
+    private Cache<UUID, Affixes> affixes;
+    private ExecutorService executor;
+    private String format;
+
+    // Metrics
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+
+    /**
+     * Instantiates a new Organization chat.
+     *
+     * @param plugin the plugin instance
+     */
+    public OrganizationChat(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        format = Cfg.get().getOrDefault("organizations.chat.format", "<dark_aqua>[<organization>]</dark_aqua> <gray><rank></gray> <prefix><player><suffix><gray>:</gray> <message>");
+        affixes = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(Math.max(1, Cfg.get().getOrDefault("organizations.chat.affix-cache-seconds", 300))))
+            .build();
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "%s-organization-chat".formatted(plugin.getName()));
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        final OrganizationRegistry registry = plugin.getOrganizationRegistry();
+        registry.addMembershipListener(this);
+        for (Player player : plugin.getServer().getOnlinePlayers()) { // Players online during a reload
+            onJoin(player);
+        }
+    }
+
+    @Override
+    public void onDisable() {
+        plugin.getOrganizationRegistry().removeMembershipListener(this);
+
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+
+        synchronized (channelLock) {
+            channels.clear();
+            channelsByPlayer.clear();
+            online.clear();
+        }
+        toggled.clear();
+        if (affixes != null)
+            affixes.invalidateAll();
+    }
+
+    /**
+     * Adds a player who joined the server to the channel of their organization.
+     *
+     * @param player the player
+     */
+    public void onJoin(@NotNull Player player) {
+        synchronized (channelLock) {
+            online.put(player.getUniqueId(), player);
+            final OrganizationMember member = plugin.getOrganizationRegistry().getMember(player.getUniqueId());
+            if (member != null)
+                join(player, member.getOrganization());
+        }
+    }
+
+    /**
+     * Removes a player who left the server from their channel and forgets their cached prefixes.
+     *
+     * @param player the player
+     */
+    public void onQuit(@NotNull Player player) {
+        synchronized (channelLock) {
+            online.remove(player.getUniqueId());
+            leave(player);
+        }
+        toggled.remove(player.getUniqueId());
+        affixes.invalidate(player.getUniqueId());
+    }
+
+    @Override
+    public void onMembershipChange(@NotNull UUID uuid, @Nullable OrganizationMember previous, @Nullable OrganizationMember current) {
+        affixes.invalidate(uuid); // Prefixes may depend on the rank
+        if (previous == current)
+            return;
+
+        synchronized (channelLock) {
+            final Player player = online.get(uuid);
+            if (player == null)
+                return;
+
+            leave(player);
+            if (current != null) {
+                join(player, current.getOrganization());
+            } else {
+                toggled.remove(uuid);
+            }
+        }
+    }
+
+    private void join(Player player, Organization organization) {
+        final OrganizationChannel channel = channels.computeIfAbsent(organization.getId(), () -> new OrganizationChannel(organization.getId()));
+        channel.add(player);
+        channelsByPlayer.put(player.getUniqueId(), channel);
+    }
+
+    private void leave(Player player) {
+        final OrganizationChannel channel = channelsByPlayer.remove(player.getUniqueId());
+        if (channel != null && channel.remove(player))
+            channels.remove(channel.getOrganization(), channel);
+    }
+
+    /**
+     * Gets the audience of the online members of an organization.
+     *
+     * @param organization the organization
+     * @return the audience, empty if no members are online
+     */
+    public @NotNull Audience getAudience(@NotNull Organization organization) {
+        final OrganizationChannel channel = channels.get(organization.getId());
+        return channel == null ? Audience.empty() : channel.getAudience();
+    }
+
+    /**
+     * Sends a message from a player to their organization.
+     *
+     * @param player  the player
+     * @param message the message
+     * @return false if the player is not in an organization
+     */
+    public boolean send(@NotNull Player player, @NotNull Component message) {
+        final OrganizationMember member = plugin.getOrganizationRegistry().getMember(player.getUniqueId());
+        if (member == null)
+            return false;
+
+        final OrganizationChannel channel = channels.get(member.getOrganization().getId());
+        final ExecutorService pipeline = executor;
+        if (channel == null || pipeline == null)
+            return false;
+
+        final Rank rank = plugin.getOrganizationRegistry().getRankManager().getRank(member);
+        final String organizationName = member.getOrganization().getName();
+        final String rankName = rank == null ? String.valueOf(member.getRank()) : rank.name();
+        final long queuedAt = System.nanoTime();
+
+        try {
+            pipeline.execute(() -> deliver(channel, player, organizationName, rankName, message, queuedAt));
+        } catch (RejectedExecutionException e) {
+            return false; // Shutting down
+        }
+        sentMessages.increment();
+        return true;
+    }
+
+    private void deliver(OrganizationChannel channel, Player player, String organizationName, String rankName, Component message, long queuedAt) {
+        try {
+            final Affixes playerAffixes = affixes.get(player.getUniqueId(), uuid -> lookupAffixes(player));
+            final Component formatted = MiniMessage.miniMessage().deserialize(format, TagResolver.resolver(
+                Placeholder.unparsed("organization", organizationName),
+                Placeholder.unparsed("rank", rankName),
+                Placeholder.unparsed("player", player.getName()),
+                Placeholder.component("prefix", playerAffixes.prefix()),
+                Placeholder.component("suffix", playerAffixes.suffix()),
+                Placeholder.component("message", message)
+            ));
+
+            channel.getAudience().sendMessage(formatted);
+            deliveries.add(channel.size());
+            deliveryLatency.record(System.nanoTime() - queuedAt);
+        } catch (RuntimeException e) {
+            Logger.get().error("[Organizations] Failed to deliver an organization chat message of {}:", player.getName(), e);
+        }
+    }
+
+    private static Affixes lookupAffixes(Player player) {
+        final VaultHook vault = ExamplePlugin.getVaultHook();
+        if (!vault.isVaultLoaded() || !vault.isChatLoaded())
+            return Affixes.EMPTY;
+
+        final Chat chat = vault.getChat();
+        return new Affixes(parse(chat.getPlayerPrefix(player)), parse(chat.getPlayerSuffix(player)));
+    }
+
+    private static Component parse(@Nullable String legacy) {
+        if (legacy == null || legacy.isEmpty())
+            return Component.empty();
+
+        return LEGACY.deserialize(legacy.replace(LegacyComponentSerializer.SECTION_CHAR, LegacyComponentSerializer.AMPERSAND_CHAR));
+    }
+
+    /**
+     * Toggles whether the chat messages of a player go to their organization.
+     *
+     * @param player the player uuid
+     * @return whether organization chat is now enabled
+     */
+    public boolean toggle(@NotNull UUID player) {
+        if (toggled.remove(player))
+            return false;
+
+        toggled.add(player);
+        return true;
+    }
+
+    /**
+     * Returns if the chat messages of a player go to their organization.
+     *
+     * @param player the player uuid
+     * @return the boolean
+     */
+    public boolean isToggled(@NotNull UUID player) {
+        return toggled.contains(player);
+    }
+
+    /**
+     * Forgets the cached prefix and suffix of a player, for example after their permission groups changed.
+     *
+     * @param player the player uuid
+     */
+    public void invalidateAffixes(@NotNull UUID player) {
+        affixes.invalidate(player);
+    }
+
+    /**
+     * Gets the amount of organizations with online members.
+     *
+     * @return the channel count
+     */
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Gets the amount of sent messages.
+     *
+     * @return the message count
+     */
+    public long getSentMessageCount() {
+        return sentMessages.sum();
+    }
+
+    /**
+     * Gets the amount of messages delivered to individual players.
+     *
+     * @return the delivery count
+     */
+    public long getDeliveryCount() {
+        return deliveries.sum();
+    }
+
+    /**
+     * Gets the time from sending a message until it was delivered.
+     *
+     * @return the latency histogram
+     */
+    public @NotNull LatencyHistogram getDeliveryLatency() {
+        return deliveryLatency;
+    }
+
+    /**
+     * Gets the amount of players with cached prefixes.
+     *
+     * @return the cached player count
+     */
+    public long getCachedAffixCount() {
+        return affixes.estimatedSize();
+    }
+
+    private record Affixes(Component prefix, Component suffix) {
+        private static final Affixes EMPTY = new Affixes(Component.empty(), Component.empty());
+    }
+}
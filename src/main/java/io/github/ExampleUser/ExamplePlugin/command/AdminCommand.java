@@ -0,0 +1,464 @@
+package io.github.ExampleUser.ExamplePlugin.command;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.milkdrinkers.colorparser.ColorParser;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.chat.OrganizationChat;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseExecutor;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseHandler;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseMaintenance;
+import io.github.ExampleUser.ExamplePlugin.db.ReplicaRouter;
+import io.github.ExampleUser.ExamplePlugin.db.WriteBehindQueue;
+import io.github.ExampleUser.ExamplePlugin.db.jooq.QueryMetrics;
+import io.github.ExampleUser.ExamplePlugin.gui.MenuHandler;
+import io.github.ExampleUser.ExamplePlugin.hooks.TownyHook;
+import io.github.ExampleUser.ExamplePlugin.organization.MembershipLoader;
+import io.github.ExampleUser.ExamplePlugin.organization.OfflineDataCache;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationPermission;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationChangeTracker;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.organization.Rank;
+import io.github.ExampleUser.ExamplePlugin.organization.RankManager;
+import io.github.ExampleUser.ExamplePlugin.treasury.ReconciliationResult;
+import io.github.ExampleUser.ExamplePlugin.treasury.TreasuryManager;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.bukkit.command.CommandSender;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class containing the code for the admin command.
+ */
+public class AdminCommand {
+    /**
+     * Instantiates and registers a new command.
+     */
+    public AdminCommand() {
+        new CommandAPICommand("orgadmin")
+            .withFullDescription("Administrative and diagnostic commands.")
+            .withShortDescription("Admin commands.")
+            .withPermission("example.admin")
+            .withSubcommand(
+                new CommandAPICommand("db")
+                    .withSubcommand(
+                        new CommandAPICommand("stats")
+                            .executes(this::databaseStats)
+                    )
+                    .withSubcommand(
+                        new CommandAPICommand("queries")
+                            .withOptionalArguments(new IntegerArgument("limit", 1, 50))
+                            .executes(this::slowestQueries)
+                    )
+                    .withSubcommand(
+                        new CommandAPICommand("reset")
+                            .executes(this::resetQueries)
+                    )
+                    .withSubcommand(
+                        new CommandAPICommand("maintenance")
+                            .executes(this::runMaintenance)
+                    )
+            )
+            .withSubcommand(
+                new CommandAPICommand("registry")
+                    .executes(this::registryStats)
+            )
+            .withSubcommand(
+                new CommandAPICommand("cache")
+                    .executes(this::cacheStats)
+            )
+            .withSubcommand(
+                new CommandAPICommand("rank")
+                    .withSubcommand(
+                        new CommandAPICommand("list")
+                            .executes(this::listRanks)
+                    )
+                    .withSubcommand(
+                        new CommandAPICommand("grant")
+                            .withArguments(new IntegerArgument("level", 0), permissionArgument())
+                            .executes((sender, args) -> editRank(sender, args, true))
+                    )
+                    .withSubcommand(
+                        new CommandAPICommand("revoke")
+                            .withArguments(new IntegerArgument("level", 0), permissionArgument())
+                            .executes((sender, args) -> editRank(sender, args, false))
+                    )
+            )
+            .withSubcommand(
+                new CommandAPICommand("chat")
+                    .executes(this::chatStats)
+            )
+            .withSubcommand(
+                new CommandAPICommand("commands")
+                    .executes(this::commandStats)
+            )
+            .withSubcommand(
+                new CommandAPICommand("towny")
+                    .executes(this::townyStats)
+                    .withSubcommand(
+                        new CommandAPICommand("rebuild")
+                            .executes(this::rebuildTowny)
+                    )
+            )
+            .withSubcommand(
+                new CommandAPICommand("treasury")
+                    .executes(this::treasuryStats)
+                    .withSubcommand(
+                        new CommandAPICommand("reconcile")
+                            .executes(this::reconcileTreasuries)
+                    )
+            )
+            .withSubcommand(
+                new CommandAPICommand("messages")
+                    .executes(this::messageStats)
+                    .withSubcommand(
+                        new CommandAPICommand("reload")
+                            .executes(this::reloadMessages)
+                    )
+            )
+            .register();
+    }
+
+    private void databaseStats(CommandSender sender, CommandArguments args) {
+        final DatabaseHandler handler = ExamplePlugin.getInstance().getDataHandler();
+        final DatabaseExecutor executor = handler.getDatabaseExecutor();
+        final WriteBehindQueue queue = handler.getWriteBehindQueue();
+
+        if (!handler.isConnected() || executor == null || queue == null) {
+            sender.sendMessage(ColorParser.of("<red>The database is not connected.").build());
+            return;
+        }
+
+        sender.sendMessage(ColorParser.of("<gold>Database <gray>(%s)".formatted(handler.getDB())).build());
+        sender.sendMessage(ColorParser.of("<gray>Executor: <white>%d active, %d queued, %d completed, %d failed".formatted(
+            executor.getActiveCount(),
+            executor.getQueueSize(),
+            executor.getCompletedCount(),
+            executor.getFailedCount()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Executor wait: <white>%.2f ms avg, %.2f ms max <gray>| run: <white>%.2f ms avg, %.2f ms max".formatted(
+            executor.getAverageWaitMillis(),
+            executor.getMaxWaitMillis(),
+            executor.getAverageExecutionMillis(),
+            executor.getMaxExecutionMillis()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Write-behind: <white>%d queued, %d written, %d merged, %d failed flushes".formatted(
+            queue.getQueueDepth(),
+            queue.getFlushedRowCount(),
+            queue.getMergedCount(),
+            queue.getFailedFlushCount()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Write-behind flush: <white>%.2f ms last, %.2f ms avg, %.2f ms max".formatted(
+            queue.getLastFlushMillis(),
+            queue.getAverageFlushMillis(),
+            queue.getMaxFlushMillis()
+        )).build());
+
+        final ReplicaRouter replicas = handler.getReplicaRouter();
+        if (replicas != null)
+            sender.sendMessage(ColorParser.of("<gray>Replicas: <white>%d/%d healthy".formatted(
+                replicas.getHealthyCount(),
+                replicas.getReplicaCount()
+            )).build());
+    }
+
+    private void slowestQueries(CommandSender sender, CommandArguments args) {
+        final QueryMetrics metrics = ExamplePlugin.getInstance().getDataHandler().getQueryMetrics();
+        if (metrics == null) {
+            sender.sendMessage(ColorParser.of("<red>Query metrics are disabled. Enable <white>db.query-metrics</white> in the config.").build());
+            return;
+        }
+
+        final int limit = (int) args.getOrDefault("limit", 10);
+        final List<QueryMetrics.StatementStats> slowest = metrics.getSlowest(limit);
+        if (slowest.isEmpty()) {
+            sender.sendMessage(ColorParser.of("<gray>No queries have been recorded yet.").build());
+            return;
+        }
+
+        sender.sendMessage(ColorParser.of("<gold>Slowest %d statements by mean execution time:".formatted(slowest.size())).build());
+        for (QueryMetrics.StatementStats stats : slowest) {
+            final LatencyHistogram execute = stats.getExecute();
+            sender.sendMessage(ColorParser.of("<white>%dx <gray>exec <white>%.2f<gray>/<white>%.2f<gray>/<white>%.2f ms <gray>(avg/p99/max) render <white>%.3f ms <gray>fetch <white>%.2f ms".formatted(
+                execute.getCount(),
+                execute.getMeanMillis(),
+                execute.getPercentileMillis(0.99),
+                execute.getMaxMillis(),
+                stats.getRender().getMeanMillis(),
+                stats.getFetch().getMeanMillis()
+            )).build());
+            sender.sendMessage(ColorParser.of("<dark_gray>  %s".formatted(abbreviate(stats.getSql()))).build());
+        }
+    }
+
+    private void resetQueries(CommandSender sender, CommandArguments args) {
+        final QueryMetrics metrics = ExamplePlugin.getInstance().getDataHandler().getQueryMetrics();
+        if (metrics != null)
+            metrics.reset();
+
+        sender.sendMessage(ColorParser.of("<green>Query metrics have been reset.").build());
+    }
+
+    private void runMaintenance(CommandSender sender, CommandArguments args) {
+        final DatabaseMaintenance maintenance = ExamplePlugin.getInstance().getDataHandler().getDatabaseMaintenance();
+        if (maintenance == null) {
+            sender.sendMessage(ColorParser.of("<red>Database maintenance is disabled or not supported by this database.").build());
+            return;
+        }
+
+        sender.sendMessage(ColorParser.of("<gray>Running database maintenance, see the console for details...").build());
+        DB.sync(maintenance.runNow(true)).whenComplete((ran, throwable) -> {
+            if (throwable == null && ran) {
+                sender.sendMessage(ColorParser.of("<green>Database maintenance finished.").build());
+            } else {
+                sender.sendMessage(ColorParser.of("<red>Database maintenance did not run, it may already be running.").build());
+            }
+        });
+    }
+
+    private void registryStats(CommandSender sender, CommandArguments args) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        sender.sendMessage(ColorParser.of("<gold>Organization registry: <white>%d organizations, %d members, ~%.2f MiB".formatted(
+            registry.getOrganizationCount(),
+            registry.getMemberCount(),
+            registry.estimateFootprintBytes() / (1024D * 1024D)
+        )).build());
+
+        final OrganizationChangeTracker tracker = registry.getChangeTracker();
+        if (tracker != null) {
+            sender.sendMessage(ColorParser.of("<gray>Persistence: <white>%d pending, %d flushes (%d failed), %d rows written, last %d rows in %.2f ms".formatted(
+                tracker.getPendingCount(),
+                tracker.getFlushCount(),
+                tracker.getFailedFlushCount(),
+                tracker.getWrittenRowCount(),
+                tracker.getLastFlushRowCount(),
+                tracker.getLastFlushMillis()
+            )).build());
+        }
+
+        final MembershipLoader loader = registry.getMembershipLoader();
+        if (loader == null)
+            return;
+
+        final LatencyHistogram latency = loader.getLoadLatency();
+        sender.sendMessage(ColorParser.of("<gray>Preload: <white>%d players loaded, %.1f%% hit rate, %d timeouts, %d failures".formatted(
+            loader.getLoadedCount(),
+            loader.getHitRate() * 100D,
+            loader.getTimeoutCount(),
+            loader.getFailureCount()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Preload latency: <white>%.2f ms avg, %.2f ms p99, %.2f ms max".formatted(
+            latency.getMeanMillis(),
+            latency.getPercentileMillis(0.99),
+            latency.getMaxMillis()
+        )).build());
+    }
+
+    private void cacheStats(CommandSender sender, CommandArguments args) {
+        final OfflineDataCache cache = ExamplePlugin.getInstance().getOrganizationRegistry().getOfflineCache();
+        if (cache == null) {
+            sender.sendMessage(ColorParser.of("<red>The offline data cache is not running.").build());
+            return;
+        }
+
+        sender.sendMessage(ColorParser.of("<gold>Offline data cache").build());
+        sendCacheStats(sender, "Organizations", cache.getOrganizationCount(), cache.getOrganizationStats());
+        sendCacheStats(sender, "Players", cache.getMemberCount(), cache.getMemberStats());
+
+        final MenuHandler menus = ExamplePlugin.getInstance().getMenuHandler();
+        sendCacheStats(sender, "Menu pages", menus.getCachedPageCount(), menus.getStats());
+    }
+
+    private static void sendCacheStats(CommandSender sender, String name, long size, CacheStats stats) {
+        sender.sendMessage(ColorParser.of("<gray>%s: <white>%d cached, %.1f%% hit rate (%d hits, %d misses), %d evictions".formatted(
+            name,
+            size,
+            stats.hitRate() * 100D,
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>%s loads: <white>%d, %d failed, %.2f ms avg".formatted(
+            name,
+            stats.loadCount(),
+            stats.loadFailureCount(),
+            stats.averageLoadPenalty() / 1_000_000D
+        )).build());
+    }
+
+    private void listRanks(CommandSender sender, CommandArguments args) {
+        final RankManager ranks = ExamplePlugin.getInstance().getOrganizationRegistry().getRankManager();
+        sender.sendMessage(ColorParser.of("<gold>Organization ranks").build());
+        for (Rank rank : ranks.getTable().getRanks()) {
+            sender.sendMessage(ColorParser.of("<white>%d %s <gray>%s%s".formatted(
+                rank.level(),
+                rank.name(),
+                OrganizationPermission.fromBits(rank.permissions()),
+                rank.vaultGroup() == null ? "" : " (group %s)".formatted(rank.vaultGroup())
+            )).build());
+        }
+    }
+
+    private void editRank(CommandSender sender, CommandArguments args, boolean grant) {
+        final RankManager ranks = ExamplePlugin.getInstance().getOrganizationRegistry().getRankManager();
+        final int level = (int) args.get("level");
+        final OrganizationPermission permission = OrganizationPermission.fromName((String) args.get("permission"));
+        final Rank rank = ranks.getTable().getRank(level);
+
+        if (permission == null) {
+            sender.sendMessage(ColorParser.of("<red>Unknown permission.").build());
+            return;
+        }
+
+        if (rank == null) {
+            sender.sendMessage(ColorParser.of("<red>Rank level %d is not defined.".formatted(level)).build());
+            return;
+        }
+
+        ranks.setPermissions(level, grant ? rank.permissions() | permission.getBit() : rank.permissions() & ~permission.getBit());
+        sender.sendMessage(ColorParser.of("<green>%s %s %s rank %s.".formatted(grant ? "Granted" : "Revoked", permission, grant ? "to" : "from", rank.name())).build());
+    }
+
+    private void chatStats(CommandSender sender, CommandArguments args) {
+        final OrganizationChat chat = ExamplePlugin.getInstance().getOrganizationChat();
+        final LatencyHistogram latency = chat.getDeliveryLatency();
+        sender.sendMessage(ColorParser.of("<gold>Organization chat: <white>%d channels, %d cached prefixes".formatted(
+            chat.getChannelCount(),
+            chat.getCachedAffixCount()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Messages: <white>%d sent, %d delivered, %.2f ms avg, %.2f ms p99 latency".formatted(
+            chat.getSentMessageCount(),
+            chat.getDeliveryCount(),
+            latency.getMeanMillis(),
+            latency.getPercentileMillis(0.99)
+        )).build());
+    }
+
+    private void commandStats(CommandSender sender, CommandArguments args) {
+        final AsyncCommandExecutor async = ExamplePlugin.getInstance().getCommandHandler().getAsyncExecutor();
+        sender.sendMessage(ColorParser.of("<gold>Async commands: <white>%d in flight, %d rejected, %d timed out, %d failed".formatted(
+            async.getInFlightCount(),
+            async.getRejectedCount(),
+            async.getTimedOutCount(),
+            async.getFailedCount()
+        )).build());
+        async.getLatencies().forEach((name, latency) -> sender.sendMessage(ColorParser.of("<white>/%s <gray>%dx <white>%.2f<gray>/<white>%.2f<gray>/<white>%.2f ms <gray>(avg/p99/max)".formatted(
+            name,
+            latency.getCount(),
+            latency.getMeanMillis(),
+            latency.getPercentileMillis(0.99),
+            latency.getMaxMillis()
+        )).build()));
+
+        final NameSuggestions suggestions = ExamplePlugin.getInstance().getCommandHandler().getNameSuggestions();
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        final LatencyHistogram lookups = suggestions.getLatency();
+        sender.sendMessage(ColorParser.of("<gray>Name suggestions: <white>%d organizations, %d members, %d lookups, %.3f/%.3f ms <gray>(avg/p99)".formatted(
+            registry.getOrganizationNames().size(),
+            registry.getMemberNames().size(),
+            lookups.getCount(),
+            lookups.getMeanMillis(),
+            lookups.getPercentileMillis(0.99)
+        )).build());
+    }
+
+    private void townyStats(CommandSender sender, CommandArguments args) {
+        final TownyHook towny = ExamplePlugin.getTownyHook();
+        if (!towny.isTownyLoaded()) {
+            sender.sendMessage(ColorParser.of("<red>Towny is not installed on this server.").build());
+            return;
+        }
+
+        sender.sendMessage(ColorParser.of("<gold>Towny index: <white>%d members, %d towns, %d nations".formatted(
+            towny.getIndexedMemberCount(),
+            towny.getIndexedTownCount(),
+            towny.getIndexedNationCount()
+        )).build());
+    }
+
+    private void rebuildTowny(CommandSender sender, CommandArguments args) {
+        final TownyHook towny = ExamplePlugin.getTownyHook();
+        if (!towny.isTownyLoaded()) {
+            sender.sendMessage(ColorParser.of("<red>Towny is not installed on this server.").build());
+            return;
+        }
+
+        towny.rebuild();
+        townyStats(sender, args);
+    }
+
+    private void treasuryStats(CommandSender sender, CommandArguments args) {
+        final TreasuryManager treasury = ExamplePlugin.getInstance().getTreasuryManager();
+        sender.sendMessage(ColorParser.of("<gold>Treasury <gray>(economy %s)".formatted(treasury.isEconomyAvailable() ? "available" : "unavailable")).build());
+        sender.sendMessage(ColorParser.of("<gray>Transfers: <white>%d pending, %d applied, %d declined, %.2f ms max per tick".formatted(
+            treasury.getPendingTransferCount(),
+            treasury.getAppliedTransferCount(),
+            treasury.getDeclinedTransferCount(),
+            treasury.getMaxTickMillis()
+        )).build());
+        sender.sendMessage(ColorParser.of("<gray>Ledger: <white>%d pending, %d written, %d failed flushes".formatted(
+            treasury.getPendingEntryCount(),
+            treasury.getWrittenEntryCount(),
+            treasury.getFailedFlushCount()
+        )).build());
+
+        final ReconciliationResult result = treasury.getLastReconciliation();
+        if (result != null)
+            sendReconciliation(sender, result);
+    }
+
+    private void reconcileTreasuries(CommandSender sender, CommandArguments args) {
+        sender.sendMessage(ColorParser.of("<gray>Reconciling treasuries, see the console for details...").build());
+        DB.sync(ExamplePlugin.getInstance().getTreasuryManager().reconcileAsync()).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                Logger.get().error("[Organizations] Treasury reconciliation failed:", throwable);
+                sender.sendMessage(ColorParser.of("<red>Treasury reconciliation failed.").build());
+                return;
+            }
+
+            sendReconciliation(sender, result);
+        });
+    }
+
+    private static void sendReconciliation(CommandSender sender, ReconciliationResult result) {
+        sender.sendMessage(ColorParser.of("<gray>Reconciliation: %s%d checked, %d ledger mismatches, %d memory mismatches".formatted(
+            result.isConsistent() ? "<green>" : "<red>",
+            result.checked(),
+            result.ledgerMismatches(),
+            result.memoryMismatches()
+        )).build());
+    }
+
+    private void messageStats(CommandSender sender, CommandArguments args) {
+        sender.sendMessage(ColorParser.of("<gold>Messages: <white>%d compiled".formatted(
+            ExamplePlugin.getInstance().getMessageHandler().getCatalog().size()
+        )).build());
+    }
+
+    private void reloadMessages(CommandSender sender, CommandArguments args) {
+        final int loaded = ExamplePlugin.getInstance().getMessageHandler().reload();
+        sender.sendMessage(ColorParser.of("<green>Reloaded %d messages.".formatted(loaded)).build());
+    }
+
+    private static StringArgument permissionArgument() {
+        final String[] names = Arrays.stream(OrganizationPermission.values())
+            .map(Enum::name)
+            .toArray(String[]::new);
+
+        final StringArgument argument = new StringArgument("permission");
+        argument.replaceSuggestions(ArgumentSuggestions.strings(names));
+        return argument;
+    }
+
+    private static String abbreviate(String sql) {
+        final String escaped = sql.replace("<", "\\<"); // Statements must not be parsed as MiniMessage tags
+        return escaped.length() > 200 ? escaped.substring(0, 200) + "..." : escaped;
+    }
+}
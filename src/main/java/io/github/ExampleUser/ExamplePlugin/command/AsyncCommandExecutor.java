@@ -0,0 +1,222 @@
+package io.github.ExampleUser.ExamplePlugin.command;
+
+import dev.jorel.commandapi.executors.CommandArguments;
+import dev.jorel.commandapi.executors.CommandExecutor;
+import dev.jorel.commandapi.executors.PlayerCommandExecutor;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs command bodies off the main thread on top of CommandAPI executors.
+ * <p>
+ * A command is split in two parts. The body runs on the server thread, validates the arguments and starts the work,
+ * usually a query on the database executor through {@link DB#supplyAsync}. The reply gets the result back on the
+ * server thread owning the sender, on Folia the region thread of a player, where it may use the Bukkit API and message
+ * the sender. Throwing a {@link CommandFailedException} in either part, or completing the work with one, sends its
+ * message to the sender.
+ * <p>
+ * Every player can have only one asynchronous command in flight, further commands are rejected until its work finished
+ * and its reply ran, so spamming commands cannot queue up database work. A timeout answers the sender early but keeps
+ * the slot until the work finished. The time from dispatch to reply is recorded per command.
+ */
+public final class AsyncCommandExecutor {
+    private final long timeoutMillis;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * Instantiates a new Async command executor.
+     *
+     * @param timeoutMillis the time after which a command is answered with a timeout
+     */
+    public AsyncCommandExecutor(long timeoutMillis) {
+        this.timeoutMillis = Math.max(1L, timeoutMillis);
+    }
+
+    /**
+     * Creates a CommandAPI executor for any sender.
+     *
+     * @param name  the command name metrics are recorded under
+     * @param body  the body, starting the work on the server thread
+     * @param reply the reply, receiving the result on the server thread
+     * @param <T>   the result type
+     * @return the executor
+     */
+    public <T> @NotNull CommandExecutor executes(@NotNull String name, @NotNull Body<CommandSender, T> body, @NotNull Reply<CommandSender, T> reply) {
+        return (sender, args) -> dispatch(name, sender, args, body, reply);
+    }
+
+    /**
+     * Creates a CommandAPI executor for players.
+     *
+     * @param name  the command name metrics are recorded under
+     * @param body  the body, starting the work on the server thread
+     * @param reply the reply, receiving the result on the server thread
+     * @param <T>   the result type
+     * @return the executor
+     */
+    public <T> @NotNull PlayerCommandExecutor executesPlayer(@NotNull String name, @NotNull Body<Player, T> body, @NotNull Reply<Player, T> reply) {
+        return (player, args) -> dispatch(name, player, args, body, reply);
+    }
+
+    private <S extends CommandSender, T> void dispatch(String name, S sender, CommandArguments args, Body<S, T> body, Reply<S, T> reply) {
+        final UUID key = sender instanceof Player player ? player.getUniqueId() : null; // The console is never limited
+        if (key != null && !inFlight.add(key)) {
+            rejected.increment();
+            sender.sendMessage(Messages.get("commands.busy"));
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final CompletableFuture<T> work;
+        try {
+            work = body.execute(sender, args);
+        } catch (RuntimeException e) {
+            if (key != null)
+                inFlight.remove(key);
+            complete(name, sender, args, start, null, e, reply);
+            return;
+        }
+
+        final CompletableFuture<T> timed = work.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS); // orTimeout completes the future it is called on, the work itself keeps running
+        final CompletableFuture<T> replied = (sender instanceof Player player ? DB.sync(timed, player) : DB.sync(timed))
+            .whenComplete((result, throwable) -> complete(name, sender, args, start, result, throwable, reply));
+        if (key != null)
+            CompletableFuture.allOf(work, replied).whenComplete((ignored, throwable) -> inFlight.remove(key));
+    }
+
+    private <S extends CommandSender, T> void complete(String name, S sender, CommandArguments args, long start, T result, Throwable throwable, Reply<S, T> reply) {
+        try {
+            if (throwable == null)
+                reply.reply(sender, args, result);
+        } catch (RuntimeException e) {
+            throwable = e;
+        }
+        latencies.computeIfAbsent(name, ignored -> new LatencyHistogram()).record(System.nanoTime() - start);
+
+        if (throwable == null)
+            return;
+
+        final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof CommandFailedException failure) {
+            sender.sendMessage(failure.getReply());
+        } else if (cause instanceof TimeoutException) {
+            timedOut.increment();
+            sender.sendMessage(Messages.get("commands.timed-out"));
+        } else {
+            failed.increment();
+            Logger.get().error("[Organizations] Command {} of {} failed:", name, sender.getName(), cause);
+            sender.sendMessage(Messages.get("commands.error"));
+        }
+    }
+
+    /**
+     * Clears in-flight commands, their replies are still delivered.
+     */
+    public void reset() {
+        inFlight.clear();
+    }
+
+    /**
+     * Gets the latency of every command that ran, by command name.
+     *
+     * @return the latency histograms sorted by name
+     */
+    public @NotNull Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(new TreeMap<>(latencies));
+    }
+
+    /**
+     * Gets the amount of players with a command in flight.
+     *
+     * @return the in-flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Gets the amount of commands rejected because the player had another command in flight.
+     *
+     * @return the rejected count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets the amount of commands that failed with an unexpected error.
+     *
+     * @return the failed count
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the amount of commands that timed out.
+     *
+     * @return the timed out count
+     */
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    /**
+     * The body of an asynchronous command, called on the server thread.
+     *
+     * @param <S> the sender type
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Body<S extends CommandSender, T> {
+        /**
+         * Validates the arguments and starts the work.
+         *
+         * @param sender the sender
+         * @param args   the arguments
+         * @return the future result
+         * @throws CommandFailedException to stop with a message
+         */
+        @NotNull CompletableFuture<T> execute(@NotNull S sender, @NotNull CommandArguments args);
+    }
+
+    /**
+     * The reply of an asynchronous command, called on the server thread.
+     *
+     * @param <S> the sender type
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Reply<S extends CommandSender, T> {
+        /**
+         * Handles the result.
+         *
+         * @param sender the sender
+         * @param args   the arguments
+         * @param result the result
+         * @throws CommandFailedException to stop with a message
+         */
+        void reply(@NotNull S sender, @NotNull CommandArguments args, T result);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.ExampleUser.ExamplePlugin.command;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown by asynchronous commands to stop with a message for the sender, see {@link AsyncCommandExecutor}.
+ */
+public class CommandFailedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object[] placeholders;
+
+    /**
+     * Instantiates a new Command failed exception.
+     *
+     * @param key          the key of the message shown to the sender, see {@link Messages}
+     * @param placeholders alternating placeholder names and values
+     */
+    public CommandFailedException(@NotNull String key, @NotNull Object... placeholders) {
+        super(key, null, false, false); // Expected outcome, no stack trace needed
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Renders the message shown to the sender.
+     *
+     * @return the component
+     */
+    public @NotNull Component getReply() {
+        return Messages.get(getMessage(), placeholders);
+    }
+}
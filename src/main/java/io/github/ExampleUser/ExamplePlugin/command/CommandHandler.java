@@ -4,12 +4,15 @@ import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
 import io.github.ExampleUser.ExamplePlugin.Reloadable;
 import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIBukkitConfig;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
 
 /**
  * A class to handle registration of commands.
  */
 public class CommandHandler implements Reloadable {
     private final ExamplePlugin plugin;
+    private AsyncCommandExecutor asyncExecutor;
+    private NameSuggestions nameSuggestions;
 
     /**
      * Instantiates the Command handler.
@@ -28,13 +31,37 @@ public class CommandHandler implements Reloadable {
     @Override
     public void onEnable() {
         CommandAPI.onEnable();
+        asyncExecutor = new AsyncCommandExecutor(Cfg.get().getOrDefault("organizations.commands.timeout-ms", 10000));
+        nameSuggestions = new NameSuggestions(Cfg.get().getOrDefault("organizations.commands.suggestion-limit", 50));
 
         // Register commands here
         new ExampleCommand();
+        new AdminCommand();
+        new OrganizationCommand(asyncExecutor, nameSuggestions);
     }
 
     @Override
     public void onDisable() {
         CommandAPI.onDisable();
+        if (asyncExecutor != null)
+            asyncExecutor.reset();
+    }
+
+    /**
+     * Gets the executor running command bodies off the main thread.
+     *
+     * @return the async command executor
+     */
+    public AsyncCommandExecutor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Gets the suggestions for organization and member names.
+     *
+     * @return the name suggestions
+     */
+    public NameSuggestions getNameSuggestions() {
+        return nameSuggestions;
     }
 }
\ No newline at end of file
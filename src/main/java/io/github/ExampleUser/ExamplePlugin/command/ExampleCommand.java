@@ -1,8 +1,8 @@
 package io.github.ExampleUser.ExamplePlugin.command;
 
-import com.github.milkdrinkers.colorparser.ColorParser;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
 import org.bukkit.command.CommandSender;
 
 /**
@@ -22,10 +22,6 @@ public class ExampleCommand {
     }
 
     private void example(CommandSender sender, CommandArguments args) {
-        sender.sendMessage(
-            ColorParser.of("<white>Read more about CommandAPI &9<click:open_url:https://commandapi.jorel.dev/9.0.3/>here</click><white>.")
-                .parseLegacy() // Parse legacy color codes
-                .build()
-        );
+        sender.sendMessage(Messages.get("example.command"));
     }
 }
@@ -0,0 +1,108 @@
+package io.github.ExampleUser.ExamplePlugin.command;
+
+import dev.jorel.commandapi.SuggestionInfo;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.organization.NameIndex;
+import io.github.ExampleUser.ExamplePlugin.organization.Organization;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationInvite;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Argument suggestions for organization and member names.
+ * <p>
+ * Suggestions are answered from the registry's {@link NameIndex}es instead of querying the database or walking every
+ * organization per keystroke. A lookup only touches the matching names, so it is answered right away on the calling
+ * thread through CommandAPI's asynchronous suggestions.
+ */
+public final class NameSuggestions {
+    private static final String[] NONE = new String[0];
+
+    private final int limit;
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Instantiates new Name suggestions.
+     *
+     * @param limit the maximum amount of suggested names
+     */
+    public NameSuggestions(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * Suggests the names of registered organizations.
+     *
+     * @return the suggestions
+     */
+    public @NotNull ArgumentSuggestions<CommandSender> organizations() {
+        return suggest(OrganizationRegistry::getOrganizationNames);
+    }
+
+    /**
+     * Suggests the names of loaded organization members.
+     *
+     * @return the suggestions
+     */
+    public @NotNull ArgumentSuggestions<CommandSender> members() {
+        return suggest(OrganizationRegistry::getMemberNames);
+    }
+
+    /**
+     * Suggests the names of registered organizations that invited the sender.
+     *
+     * @return the suggestions
+     */
+    public @NotNull ArgumentSuggestions<CommandSender> invites() {
+        return ArgumentSuggestions.stringsAsync(info -> CompletableFuture.completedFuture(completeInvites(info)));
+    }
+
+    private ArgumentSuggestions<CommandSender> suggest(Function<OrganizationRegistry, NameIndex> index) {
+        return ArgumentSuggestions.stringsAsync(info -> CompletableFuture.completedFuture(complete(index, info)));
+    }
+
+    private String[] complete(Function<OrganizationRegistry, NameIndex> index, SuggestionInfo<CommandSender> info) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (registry == null)
+            return NONE;
+
+        final long start = System.nanoTime();
+        final String[] names = index.apply(registry).complete(info.currentArg(), limit).toArray(NONE);
+        latency.record(System.nanoTime() - start);
+        return names;
+    }
+
+    private String[] completeInvites(SuggestionInfo<CommandSender> info) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (registry == null || !(info.sender() instanceof Player player))
+            return NONE;
+
+        final String prefix = info.currentArg().toLowerCase(Locale.ROOT);
+        final List<String> names = new ArrayList<>();
+        for (OrganizationInvite invite : registry.getInvites(player.getUniqueId())) {
+            final Organization organization = registry.getOrganization(invite.organization());
+            if (organization != null && organization.getName().toLowerCase(Locale.ROOT).startsWith(prefix) && names.size() < limit)
+                names.add(organization.getName());
+        }
+        return names.toArray(NONE);
+    }
+
+    /**
+     * Gets the time taken to look up suggestions.
+     *
+     * @return the latency histogram
+     */
+    public @NotNull LatencyHistogram getLatency() {
+        return latency;
+    }
+}
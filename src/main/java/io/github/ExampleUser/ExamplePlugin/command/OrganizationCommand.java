@@ -0,0 +1,607 @@
+package io.github.ExampleUser.ExamplePlugin.command;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.DoubleArgument;
+import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.chat.OrganizationChat;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import io.github.ExampleUser.ExamplePlugin.gui.OrganizationBrowser;
+import io.github.ExampleUser.ExamplePlugin.hooks.TownyHook;
+import io.github.ExampleUser.ExamplePlugin.organization.OfflineDataCache;
+import io.github.ExampleUser.ExamplePlugin.organization.Organization;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationInvite;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationMember;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationPermission;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationProfile;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.organization.Rank;
+import io.github.ExampleUser.ExamplePlugin.treasury.OrganizationTreasury;
+import io.github.ExampleUser.ExamplePlugin.treasury.TransferResult;
+import io.github.ExampleUser.ExamplePlugin.treasury.TreasuryManager;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.Result;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Class containing the code for the organization command.
+ */
+public class OrganizationCommand {
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_LISTED_MEMBERS = 20;
+    private static final int MAX_NAME_LENGTH = 32; // Length of the name column
+    private static final JoinConfiguration LIST_SEPARATOR = JoinConfiguration.separator(Component.text(", ", NamedTextColor.GRAY));
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneId.systemDefault());
+
+    /**
+     * Instantiates and registers a new command.
+     *
+     * @param async       the executor for subcommands that wait for data
+     * @param suggestions the suggestions for organization and member names
+     */
+    public OrganizationCommand(AsyncCommandExecutor async, NameSuggestions suggestions) {
+        new CommandAPICommand("org")
+            .withFullDescription("Organization commands.")
+            .withShortDescription("Organization commands.")
+            .withPermission("example.org")
+            .withSubcommand(
+                new CommandAPICommand("info")
+                    .withOptionalArguments(new StringArgument("player").replaceSuggestions(suggestions.members()))
+                    .executes(async.executes("org info", this::info, this::sendInfo))
+            )
+            .withSubcommand(
+                new CommandAPICommand("list")
+                    .withOptionalArguments(new IntegerArgument("page", 1))
+                    .executes(async.executes("org list", this::list, this::sendList))
+            )
+            .withSubcommand(
+                new CommandAPICommand("create")
+                    .withArguments(new StringArgument("name"))
+                    .executesPlayer(async.executesPlayer("org create", this::checkCreate, this::create))
+            )
+            .withSubcommand(
+                new CommandAPICommand("rename")
+                    .withArguments(new StringArgument("name"))
+                    .executesPlayer(async.executesPlayer("org rename", this::checkRename, this::rename))
+            )
+            .withSubcommand(
+                new CommandAPICommand("disband")
+                    .executesPlayer(async.executesPlayer("org disband", this::checkDisband, this::disband))
+            )
+            .withSubcommand(
+                new CommandAPICommand("invite")
+                    .withArguments(new StringArgument("player").replaceSuggestions(ArgumentSuggestions.strings(info -> Bukkit.getOnlinePlayers().stream().map(Player::getName).toArray(String[]::new))))
+                    .executesPlayer(this::invite)
+            )
+            .withSubcommand(
+                new CommandAPICommand("join")
+                    .withArguments(new StringArgument("organization").replaceSuggestions(suggestions.invites()))
+                    .executesPlayer(async.executesPlayer("org join", this::checkJoin, this::join))
+            )
+            .withSubcommand(
+                new CommandAPICommand("leave")
+                    .executesPlayer(this::leave)
+            )
+            .withSubcommand(
+                new CommandAPICommand("kick")
+                    .withArguments(new StringArgument("player").replaceSuggestions(suggestions.members()))
+                    .executesPlayer(this::kick)
+            )
+            .withSubcommand(
+                new CommandAPICommand("rank")
+                    .withArguments(new StringArgument("player").replaceSuggestions(suggestions.members()))
+                    .withArguments(new IntegerArgument("rank", 0))
+                    .executesPlayer(this::rank)
+            )
+            .withSubcommand(
+                new CommandAPICommand("browse")
+                    .executesPlayer(this::browse)
+            )
+            .withSubcommand(
+                new CommandAPICommand("members")
+                    .withOptionalArguments(new StringArgument("organization").replaceSuggestions(suggestions.organizations()))
+                    .executesPlayer(async.executesPlayer("org members", this::findMembers, this::members))
+            )
+            .withSubcommand(
+                new CommandAPICommand("nation")
+                    .executesPlayer(this::nation)
+            )
+            .withSubcommand(
+                new CommandAPICommand("chat")
+                    .withOptionalArguments(new GreedyStringArgument("message"))
+                    .executesPlayer(this::chat)
+            )
+            .withSubcommand(
+                new CommandAPICommand("treasury")
+                    .executesPlayer(async.executesPlayer("org treasury", this::treasury, this::sendTreasury))
+            )
+            .withSubcommand(
+                new CommandAPICommand("deposit")
+                    .withArguments(new DoubleArgument("amount", 0D))
+                    .executesPlayer(async.executesPlayer(
+                        "org deposit",
+                        (player, args) -> transfer(player, args, OrganizationPermission.DEPOSIT),
+                        (player, args, result) -> sendTransfer(player, args, result, OrganizationPermission.DEPOSIT)
+                    ))
+            )
+            .withSubcommand(
+                new CommandAPICommand("withdraw")
+                    .withArguments(new DoubleArgument("amount", 0D))
+                    .executesPlayer(async.executesPlayer(
+                        "org withdraw",
+                        (player, args) -> transfer(player, args, OrganizationPermission.WITHDRAW),
+                        (player, args, result) -> sendTransfer(player, args, result, OrganizationPermission.WITHDRAW)
+                    ))
+            )
+            .register();
+    }
+
+    private CompletableFuture<OrganizationProfile> info(CommandSender sender, CommandArguments args) {
+        final String name = (String) args.get("player");
+        final UUID player;
+        if (name != null) {
+            final OfflinePlayer target = Bukkit.getServer().getOfflinePlayerIfCached(name); // Never blocks on a profile lookup
+            if (target == null)
+                throw new CommandFailedException("organization.unknown-player", "player", name);
+            player = target.getUniqueId();
+        } else if (sender instanceof Player self) {
+            player = self.getUniqueId();
+        } else {
+            throw new CommandFailedException("organization.specify-player");
+        }
+
+        final OfflineDataCache cache = ExamplePlugin.getInstance().getOrganizationRegistry().getOfflineCache();
+        return cache.getOrganizationOf(player).thenApply(profile -> profile.orElseThrow(() -> name != null
+            ? new CommandFailedException("organization.player-not-member", "player", name)
+            : new CommandFailedException("organization.not-member")
+        ));
+    }
+
+    private void sendInfo(CommandSender sender, CommandArguments args, OrganizationProfile profile) {
+        final List<OrganizationMembersRecord> members = profile.members();
+        sender.sendMessage(Messages.get("organization.info.header", "organization", profile.organization().getName()));
+        sender.sendMessage(Messages.get("organization.info.details",
+            "founded", DATE_FORMAT.format(Instant.ofEpochMilli(profile.organization().getCreatedAt())),
+            "members", members.size()
+        ));
+
+        final List<Component> names = new ArrayList<>(Math.min(MAX_LISTED_MEMBERS, members.size()) + 1);
+        for (OrganizationMembersRecord member : members.subList(0, Math.min(MAX_LISTED_MEMBERS, members.size()))) {
+            final String memberName = Bukkit.getOfflinePlayer(member.getPlayerUuid()).getName();
+            names.add(Messages.get("organization.info.member", "player", memberName != null ? memberName : member.getPlayerUuid(), "rank", member.getRank()));
+        }
+        if (members.size() > MAX_LISTED_MEMBERS)
+            names.add(Messages.get("organization.info.more-members", "count", members.size() - MAX_LISTED_MEMBERS));
+
+        if (!members.isEmpty())
+            sender.sendMessage(Messages.get("organization.info.members", "members", Component.join(LIST_SEPARATOR, names)));
+    }
+
+    private CompletableFuture<List<OrganizationProfile>> list(CommandSender sender, CommandArguments args) {
+        final int page = (int) args.getOrDefault("page", 1);
+        final OfflineDataCache cache = ExamplePlugin.getInstance().getOrganizationRegistry().getOfflineCache();
+
+        return DB.supplyAsync(context -> DatabaseQueries.fetchOrganizationIdsByName(context, (page - 1) * PAGE_SIZE, PAGE_SIZE))
+            .thenCompose(ids -> cache.getOrganizations(ids).thenApply(profiles -> {
+                final List<OrganizationProfile> ordered = new ArrayList<>(ids.size());
+                for (UUID id : ids) {
+                    final OrganizationProfile profile = profiles.get(id);
+                    if (profile != null)
+                        ordered.add(profile);
+                }
+                return ordered;
+            }));
+    }
+
+    private void sendList(CommandSender sender, CommandArguments args, List<OrganizationProfile> profiles) {
+        final int page = (int) args.getOrDefault("page", 1);
+        if (profiles.isEmpty()) {
+            sender.sendMessage(Messages.get("organization.list.empty", "page", page));
+            return;
+        }
+
+        sender.sendMessage(Messages.get("organization.list.header", "page", page));
+        for (OrganizationProfile profile : profiles) {
+            sender.sendMessage(Messages.get("organization.list.entry",
+                "organization", profile.organization().getName(),
+                "members", profile.members().size()
+            ));
+        }
+    }
+
+    private CompletableFuture<String> checkCreate(Player player, CommandArguments args) {
+        requireLoaded(player);
+        if (ExamplePlugin.getInstance().getOrganizationRegistry().getMember(player.getUniqueId()) != null)
+            throw new CommandFailedException("organization.already-member");
+
+        return checkNameFree(requireName(args), null);
+    }
+
+    private void create(Player player, CommandArguments args, String name) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (registry.getMember(player.getUniqueId()) != null)
+            throw new CommandFailedException("organization.already-member");
+
+        final Organization organization = registry.createOrganization(name);
+        if (organization == null)
+            throw new CommandFailedException("organization.name-taken", "organization", name);
+
+        registry.join(organization, player.getUniqueId(), registry.getRankManager().getTable().getHighest().level());
+        player.sendMessage(Messages.get("organization.created", "organization", name));
+    }
+
+    private CompletableFuture<String> checkRename(Player player, CommandArguments args) {
+        final OrganizationMember member = requirePermission(player, OrganizationPermission.RENAME);
+        return checkNameFree(requireName(args), member.getOrganization());
+    }
+
+    private void rename(Player player, CommandArguments args, String name) {
+        final OrganizationMember member = requirePermission(player, OrganizationPermission.RENAME);
+        if (!ExamplePlugin.getInstance().getOrganizationRegistry().rename(member.getOrganization(), name))
+            throw new CommandFailedException("organization.name-taken", "organization", name);
+
+        player.sendMessage(Messages.get("organization.renamed", "organization", name));
+    }
+
+    private static String requireName(CommandArguments args) {
+        final String name = (String) args.get("name");
+        if (name.length() > MAX_NAME_LENGTH)
+            throw new CommandFailedException("organization.name-too-long", "max", MAX_NAME_LENGTH);
+        return name;
+    }
+
+    /**
+     * Checks that neither a loaded nor a stored organization uses a name, so the write of the new name cannot fail on
+     * the unique name constraint.
+     */
+    private static CompletableFuture<String> checkNameFree(String name, @Nullable Organization renamed) {
+        final Organization existing = ExamplePlugin.getInstance().getOrganizationRegistry().getOrganization(name);
+        if (existing != null && existing != renamed)
+            throw new CommandFailedException("organization.name-taken", "organization", name);
+
+        final UUID except = renamed == null ? null : renamed.getId();
+        return DB.supplyAsync(context -> DatabaseQueries.isOrganizationNameTaken(context, name, except)).thenApply(taken -> {
+            if (taken)
+                throw new CommandFailedException("organization.name-taken", "organization", name);
+            return name;
+        });
+    }
+
+    private CompletableFuture<DisbandCheck> checkDisband(Player player, CommandArguments args) {
+        final UUID organization = requirePermission(player, OrganizationPermission.DISBAND).getOrganization().getId();
+        final CompletableFuture<Result<OrganizationMembersRecord>> members = DB.supplyAsync(context -> DatabaseQueries.loadMembers(context, organization)); // Members that are not loaded lose their Vault groups too
+        return ExamplePlugin.getInstance().getTreasuryManager().getTreasury(organization).thenCombine(members, DisbandCheck::new);
+    }
+
+    private void disband(Player player, CommandArguments args, DisbandCheck check) {
+        final OrganizationMember member = requirePermission(player, OrganizationPermission.DISBAND);
+        final Organization organization = member.getOrganization();
+        final OrganizationTreasury treasury = check.treasury();
+        if (!organization.getId().equals(treasury.getOrganization()))
+            throw new CommandFailedException("organization.disbanded");
+
+        if (treasury.getBalance() != 0L) // Disbanding deletes the treasury, its money must be withdrawn first
+            throw new CommandFailedException("organization.disband.treasury-not-empty", "balance", ExamplePlugin.getInstance().getTreasuryManager().format(treasury.getBalance()));
+
+        if (treasury.getReserved() != 0L) // Queued withdrawals return their amount to the treasury if the payout fails
+            throw new CommandFailedException("organization.disband.withdrawals-pending");
+
+        ExamplePlugin.getInstance().getOrganizationRegistry().disband(organization, check.members());
+        player.sendMessage(Messages.get("organization.disband.done", "organization", organization.getName()));
+    }
+
+    private void invite(Player player, CommandArguments args) {
+        final OrganizationMember member;
+        try {
+            member = requirePermission(player, OrganizationPermission.INVITE);
+        } catch (CommandFailedException e) {
+            player.sendMessage(e.getReply());
+            return;
+        }
+
+        final String name = (String) args.get("player");
+        final Player target = Bukkit.getPlayerExact(name);
+        if (target == null) {
+            player.sendMessage(Messages.get("organization.invite.offline", "player", name));
+            return;
+        }
+
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (registry.getMember(target.getUniqueId()) != null) {
+            player.sendMessage(Messages.get("organization.invite.already-member", "player", target.getName()));
+            return;
+        }
+
+        final Organization organization = member.getOrganization();
+        if (!registry.addInvite(new OrganizationInvite(organization.getId(), target.getUniqueId(), player.getUniqueId(), System.currentTimeMillis()))) {
+            player.sendMessage(Messages.get("organization.disbanded"));
+            return;
+        }
+
+        player.sendMessage(Messages.get("organization.invite.sent", "player", target.getName()));
+        target.sendMessage(Messages.get("organization.invite.received", "player", player.getName(), "organization", organization.getName()));
+    }
+
+    private CompletableFuture<Organization> checkJoin(Player player, CommandArguments args) {
+        requireLoaded(player);
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (registry.getMember(player.getUniqueId()) != null)
+            throw new CommandFailedException("organization.already-member");
+
+        final String name = (String) args.get("organization");
+        final List<UUID> unloaded = new ArrayList<>();
+        for (OrganizationInvite invite : registry.getInvites(player.getUniqueId())) {
+            final Organization organization = registry.getOrganization(invite.organization());
+            if (organization == null) {
+                unloaded.add(invite.organization());
+            } else if (organization.getName().equalsIgnoreCase(name)) {
+                return CompletableFuture.completedFuture(organization);
+            }
+        }
+        if (unloaded.isEmpty())
+            throw new CommandFailedException("organization.join.not-invited", "organization", name);
+
+        // Invites are loaded from the database, so organizations nobody loaded yet are stored there
+        return registry.getOfflineCache().getOrganizations(unloaded).thenApply(profiles -> {
+            for (OrganizationProfile profile : profiles.values()) {
+                if (profile.organization().getName().equalsIgnoreCase(name)) {
+                    final Organization organization = registry.getMembershipLoader().register(profile.organization());
+                    if (organization != null)
+                        return organization;
+                }
+            }
+            throw new CommandFailedException("organization.join.not-invited", "organization", name);
+        });
+    }
+
+    private void join(Player player, CommandArguments args, Organization organization) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        if (organization.isDeleted())
+            throw new CommandFailedException("organization.disbanded");
+
+        if (registry.removeInvite(player.getUniqueId(), organization.getId()) == null)
+            throw new CommandFailedException("organization.join.not-invited", "organization", organization.getName());
+
+        if (registry.join(organization, player.getUniqueId(), registry.getRankManager().getTable().getLowest().level()) == null)
+            throw new CommandFailedException("organization.already-member");
+
+        player.sendMessage(Messages.get("organization.join.joined", "organization", organization.getName()));
+    }
+
+    private void leave(Player player, CommandArguments args) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        final OrganizationMember member = registry.getMember(player.getUniqueId());
+        if (member == null) {
+            player.sendMessage(Messages.get("organization.not-member"));
+            return;
+        }
+
+        final int leader = registry.getRankManager().getTable().getHighest().level();
+        if (member.getRank() >= leader && registry.getMembers(member.getOrganization()).stream().noneMatch(other -> other != member && other.getRank() >= leader)) {
+            player.sendMessage(Messages.get("organization.leave.leader"));
+            return;
+        }
+
+        registry.leave(player.getUniqueId());
+        player.sendMessage(Messages.get("organization.leave.left", "organization", member.getOrganization().getName()));
+    }
+
+    private void kick(Player player, CommandArguments args) {
+        final OrganizationMember member;
+        final OrganizationMember target;
+        try {
+            member = requirePermission(player, OrganizationPermission.KICK);
+            target = requireOutranked(member, (String) args.get("player"));
+        } catch (CommandFailedException e) {
+            player.sendMessage(e.getReply());
+            return;
+        }
+
+        ExamplePlugin.getInstance().getOrganizationRegistry().leave(target.getPlayer());
+        player.sendMessage(Messages.get("organization.kick.kicked", "player", args.get("player")));
+
+        final Player online = Bukkit.getPlayer(target.getPlayer());
+        if (online != null)
+            online.sendMessage(Messages.get("organization.kick.notify", "organization", member.getOrganization().getName()));
+    }
+
+    private void rank(Player player, CommandArguments args) {
+        final OrganizationRegistry registry = ExamplePlugin.getInstance().getOrganizationRegistry();
+        final OrganizationMember member;
+        final OrganizationMember target;
+        try {
+            member = requirePermission(player, OrganizationPermission.MANAGE_RANKS);
+            target = requireOutranked(member, (String) args.get("player"));
+        } catch (CommandFailedException e) {
+            player.sendMessage(e.getReply());
+            return;
+        }
+
+        final int level = (int) args.get("rank");
+        final Rank rank = registry.getRankManager().getTable().getRank(level);
+        if (rank == null) {
+            player.sendMessage(Messages.get("organization.rank.unknown", "rank", level));
+            return;
+        }
+
+        if (level > member.getRank()) {
+            player.sendMessage(Messages.get("organization.outranked"));
+            return;
+        }
+
+        registry.setRank(target, level);
+        player.sendMessage(Messages.get("organization.rank.changed", "player", args.get("player"), "rank", rank.name()));
+    }
+
+    private static void requireLoaded(Player player) {
+        if (!ExamplePlugin.getInstance().getOrganizationRegistry().getMembershipLoader().isLoaded(player.getUniqueId()))
+            throw new CommandFailedException("organization.loading");
+    }
+
+    private static OrganizationMember requirePermission(Player player, OrganizationPermission permission) {
+        final OrganizationMember member = requireMember(player);
+        if (!ExamplePlugin.getInstance().getOrganizationRegistry().getRankManager().has(member, permission))
+            throw new CommandFailedException("organization.rank-denied");
+        return member;
+    }
+
+    /**
+     * Gets a loaded member of the same organization with a lower rank than the given member.
+     */
+    private static OrganizationMember requireOutranked(OrganizationMember member, String name) {
+        final OfflinePlayer player = Bukkit.getServer().getOfflinePlayerIfCached(name);
+        final OrganizationMember target = player == null ? null : ExamplePlugin.getInstance().getOrganizationRegistry().getMember(player.getUniqueId());
+        if (target == null || target.getOrganization() != member.getOrganization())
+            throw new CommandFailedException("organization.not-in-your-organization", "player", name);
+
+        if (target.getRank() >= member.getRank())
+            throw new CommandFailedException("organization.outranked");
+        return target;
+    }
+
+    private void browse(Player player, CommandArguments args) {
+        OrganizationBrowser.openOrganizations(player);
+    }
+
+    private CompletableFuture<OrganizationsRecord> findMembers(Player player, CommandArguments args) {
+        final String name = (String) args.get("organization");
+        final Organization organization = name == null
+            ? requireMember(player).getOrganization()
+            : ExamplePlugin.getInstance().getOrganizationRegistry().getOrganization(name);
+        if (organization != null)
+            return CompletableFuture.completedFuture(new OrganizationsRecord(organization.getId(), organization.getName(), organization.getCreatedAt()));
+
+        return DB.supplyAsync(context -> DatabaseQueries.findOrganization(context, name)).thenApply(record -> {
+            if (record == null)
+                throw new CommandFailedException("organization.unknown-organization", "organization", name);
+            return record;
+        });
+    }
+
+    private void members(Player player, CommandArguments args, OrganizationsRecord organization) {
+        OrganizationBrowser.openMembers(player, organization.getUuid(), organization.getName());
+    }
+
+    private void nation(Player player, CommandArguments args) {
+        final TownyHook towny = ExamplePlugin.getTownyHook();
+        if (!towny.isTownyLoaded()) {
+            player.sendMessage(Messages.get("organization.nation.towny-missing"));
+            return;
+        }
+
+        final OrganizationMember member = ExamplePlugin.getInstance().getOrganizationRegistry().getMember(player.getUniqueId());
+        if (member == null) {
+            player.sendMessage(Messages.get("organization.not-member"));
+            return;
+        }
+
+        final UUID nation = towny.getNation(player.getUniqueId());
+        if (nation == null) {
+            player.sendMessage(Messages.get("organization.nation.not-in-nation"));
+            return;
+        }
+
+        final Set<UUID> members = towny.getMembersInNation(member.getOrganization().getId(), nation);
+        final StringJoiner names = new StringJoiner(", ");
+        for (UUID uuid : members) {
+            final String memberName = Bukkit.getOfflinePlayer(uuid).getName();
+            names.add(memberName != null ? memberName : uuid.toString());
+        }
+        player.sendMessage(Messages.get("organization.nation.members", "count", members.size(), "members", names.toString()));
+    }
+
+    private void chat(Player player, CommandArguments args) {
+        final OrganizationChat chat = ExamplePlugin.getInstance().getOrganizationChat();
+        if (ExamplePlugin.getInstance().getOrganizationRegistry().getMember(player.getUniqueId()) == null) {
+            player.sendMessage(Messages.get("organization.not-member"));
+            return;
+        }
+
+        final String message = (String) args.get("message");
+        if (message == null) {
+            player.sendMessage(Messages.get(chat.toggle(player.getUniqueId()) ? "organization.chat.enabled" : "organization.chat.disabled"));
+            return;
+        }
+
+        if (!chat.send(player, Component.text(message)))
+            player.sendMessage(Messages.get("organization.chat.unavailable"));
+    }
+
+    private static OrganizationMember requireMember(Player player) {
+        final OrganizationMember member = ExamplePlugin.getInstance().getOrganizationRegistry().getMember(player.getUniqueId());
+        if (member == null)
+            throw new CommandFailedException("organization.not-member");
+        return member;
+    }
+
+    private CompletableFuture<OrganizationTreasury> treasury(Player player, CommandArguments args) {
+        return ExamplePlugin.getInstance().getTreasuryManager().getTreasury(requireMember(player).getOrganization().getId());
+    }
+
+    private void sendTreasury(Player player, CommandArguments args, OrganizationTreasury treasury) {
+        final Organization organization = ExamplePlugin.getInstance().getOrganizationRegistry().getOrganization(treasury.getOrganization());
+        if (organization == null)
+            throw new CommandFailedException("organization.disbanded");
+
+        player.sendMessage(Messages.get("organization.treasury.balance",
+            "organization", organization.getName(),
+            "balance", ExamplePlugin.getInstance().getTreasuryManager().format(treasury.getBalance())
+        ));
+    }
+
+    private CompletableFuture<TransferResult> transfer(Player player, CommandArguments args, OrganizationPermission permission) {
+        final OrganizationMember member = requireMember(player);
+        if (!ExamplePlugin.getInstance().getOrganizationRegistry().getRankManager().has(member, permission))
+            throw new CommandFailedException(permission == OrganizationPermission.DEPOSIT ? "organization.treasury.deposit-denied" : "organization.treasury.withdraw-denied");
+
+        final TreasuryManager treasuries = ExamplePlugin.getInstance().getTreasuryManager();
+        final long amount = treasuries.toMinorUnits((double) args.get("amount"));
+        if (amount <= 0)
+            throw new CommandFailedException("organization.treasury.amount-not-positive");
+
+        return permission == OrganizationPermission.DEPOSIT
+            ? treasuries.deposit(player, member.getOrganization(), amount)
+            : treasuries.withdraw(player, member.getOrganization(), amount);
+    }
+
+    private void sendTransfer(Player player, CommandArguments args, TransferResult transfer, OrganizationPermission permission) {
+        final TreasuryManager treasuries = ExamplePlugin.getInstance().getTreasuryManager();
+        final String key = switch (transfer.status()) {
+            case SUCCESS -> permission == OrganizationPermission.DEPOSIT ? "organization.treasury.deposited" : "organization.treasury.withdrew";
+            case INSUFFICIENT_FUNDS -> "organization.treasury.insufficient-funds";
+            case DECLINED -> "organization.treasury.declined";
+            case UNAVAILABLE -> "organization.treasury.unavailable";
+        };
+        player.sendMessage(Messages.get(key,
+            "amount", treasuries.format(treasuries.toMinorUnits((double) args.get("amount"))),
+            "balance", treasuries.format(transfer.balance())
+        ));
+    }
+
+    private record DisbandCheck(OrganizationTreasury treasury, Result<OrganizationMembersRecord> members) {
+    }
+}
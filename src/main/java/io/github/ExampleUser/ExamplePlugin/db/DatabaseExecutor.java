@@ -0,0 +1,209 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Executor for running database work off the main thread.
+ * <p>
+ * The amount of worker threads matches the connection pool size, so queued tasks wait in this executor instead of
+ * blocking on {@link com.zaxxer.hikari.HikariDataSource#getConnection()}. Every task borrows one connection for its
+ * whole duration.
+ */
+public final class DatabaseExecutor {
+    private final DatabaseHandler databaseHandler;
+    private final ThreadPoolExecutor executor;
+
+    // Metrics
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    /**
+     * Instantiates a new Database executor.
+     *
+     * @param databaseHandler the database handler providing connections
+     * @param threadName      the prefix for worker thread names
+     * @param threads         the amount of worker threads, should equal the connection pool size
+     */
+    public DatabaseExecutor(DatabaseHandler databaseHandler, String threadName, int threads) {
+        this.databaseHandler = databaseHandler;
+
+        final AtomicInteger threadId = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            Math.max(1, threads),
+            Math.max(1, threads),
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "%s-%d".formatted(threadName, threadId.incrementAndGet()));
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a task with a {@link DSLContext} on a database thread and return its result.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return a future completed with the task result, or exceptionally if the task or connection failed
+     */
+    public <T> CompletableFuture<T> supplyAsync(@NotNull Function<DSLContext, T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long submitted = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                final long started = System.nanoTime();
+                record(totalWaitNanos, maxWaitNanos, started - submitted);
+
+                try (Connection con = databaseHandler.getConnection()) {
+                    future.complete(task.apply(databaseHandler.getJooqContext().createContext(con)));
+                    completed.increment();
+                } catch (Throwable t) {
+                    failed.increment();
+                    future.completeExceptionally(t);
+                } finally {
+                    executed.increment();
+                    record(totalExecutionNanos, maxExecutionNanos, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failed.increment();
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Run a task with a {@link DSLContext} on a database thread.
+     *
+     * @param task the task
+     * @return a future completed when the task has finished, or exceptionally if the task or connection failed
+     */
+    public CompletableFuture<Void> runAsync(@NotNull Consumer<DSLContext> task) {
+        return supplyAsync(context -> {
+            task.accept(context);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting new tasks and waits for queued tasks to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                Logger.get().warn("[DB] Database tasks did not finish in time, {} queued tasks were cancelled.", executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void record(LongAdder total, AtomicLong max, long nanos) {
+        total.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the amount of tasks waiting for a database thread.
+     *
+     * @return the queue size
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the amount of tasks currently running.
+     *
+     * @return the active task count
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Gets the amount of tasks that completed successfully.
+     *
+     * @return the completed task count
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the amount of tasks that failed or were rejected.
+     *
+     * @return the failed task count
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the average time tasks spent queued before running.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        return average(totalWaitNanos);
+    }
+
+    /**
+     * Gets the longest time a task spent queued before running.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets the average execution time of tasks, including borrowing a connection.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getAverageExecutionMillis() {
+        return average(totalExecutionNanos);
+    }
+
+    /**
+     * Gets the longest execution time of a task, including borrowing a connection.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getMaxExecutionMillis() {
+        return maxExecutionNanos.get() / 1_000_000D;
+    }
+
+    private double average(LongAdder totalNanos) {
+        final long count = executed.sum();
+        return count == 0 ? 0D : totalNanos.sum() / (double) count / 1_000_000D;
+    }
+}
@@ -5,28 +5,45 @@ import io.github.ExampleUser.ExamplePlugin.Reloadable;
 import io.github.ExampleUser.ExamplePlugin.db.flyway.DatabaseMigrationException;
 import io.github.ExampleUser.ExamplePlugin.db.flyway.DatabaseMigrationHandler;
 import io.github.ExampleUser.ExamplePlugin.db.jooq.JooqContext;
+import io.github.ExampleUser.ExamplePlugin.db.jooq.QueryMetrics;
 import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
 import io.github.ExampleUser.ExamplePlugin.utility.Logger;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Singleton;
 import java.io.File;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Class that handles HikariCP connection pool, jOOQ and Flyway migrations.
  */
 @Singleton
 public class DatabaseHandler implements Reloadable {
+    private static final String DATA_FOLDER = "data";
+    private static final String DATA_FILE_NAME = "database";
+
     private final ExamplePlugin plugin;
     private boolean isConnected = false;
     private HikariDataSource hikariDataSource;
     private DatabaseType database;
     private JooqContext jooqContext;
+    private @Nullable QueryMetrics queryMetrics;
+    private WriteBehindQueue writeBehindQueue;
+    private DatabaseExecutor databaseExecutor;
+    private @Nullable ReplicaRouter replicaRouter;
+    private @Nullable DatabaseMaintenance databaseMaintenance;
 
     /**
      * Instantiates a new Data handler.
@@ -45,6 +62,9 @@ public class DatabaseHandler implements Reloadable {
         try {
             openConnection();
             isConnected = true;
+            startWriteBehindQueue();
+            startDatabaseExecutor();
+            startDatabaseMaintenance();
         } catch (Exception e) {
             Logger.get().error("[DB] Database initialization error: ", e);
         } finally {
@@ -66,6 +86,33 @@ public class DatabaseHandler implements Reloadable {
      */
     @Override
     public void onDisable() {
+        try {
+            if (databaseExecutor != null) {
+                databaseExecutor.shutdown();
+                databaseExecutor = null;
+            }
+        } catch (Exception e) {
+            Logger.get().error("[DB] Error stopping database executor:", e);
+        }
+
+        try {
+            if (writeBehindQueue != null) {
+                writeBehindQueue.shutdown();
+                writeBehindQueue = null;
+            }
+        } catch (Exception e) {
+            Logger.get().error("[DB] Error flushing write-behind queue:", e);
+        }
+
+        try {
+            if (databaseMaintenance != null) {
+                databaseMaintenance.shutdown();
+                databaseMaintenance = null;
+            }
+        } catch (Exception e) {
+            Logger.get().error("[DB] Error stopping database maintenance:", e);
+        }
+
         try {
             closeDatabaseConnection();
             isConnected = false;
@@ -101,6 +148,51 @@ public class DatabaseHandler implements Reloadable {
         return jooqContext;
     }
 
+    /**
+     * Gets the query metrics.
+     *
+     * @return the query metrics or null if disabled in the config
+     */
+    public @Nullable QueryMetrics getQueryMetrics() {
+        return queryMetrics;
+    }
+
+    /**
+     * Gets the write-behind queue.
+     *
+     * @return the write-behind queue
+     */
+    public WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    /**
+     * Gets the executor for asynchronous database work.
+     *
+     * @return the database executor
+     */
+    public DatabaseExecutor getDatabaseExecutor() {
+        return databaseExecutor;
+    }
+
+    /**
+     * Gets the replica router.
+     *
+     * @return the replica router or null if no replicas are configured
+     */
+    public @Nullable ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    /**
+     * Gets the database maintenance scheduler.
+     *
+     * @return the database maintenance or null if the database is not embedded or maintenance is disabled
+     */
+    public @Nullable DatabaseMaintenance getDatabaseMaintenance() {
+        return databaseMaintenance;
+    }
+
     /**
      * Gets a connection from the connection pool.
      *
@@ -119,6 +211,24 @@ public class DatabaseHandler implements Reloadable {
         return connection;
     }
 
+    /**
+     * Gets a connection for read-only work. Uses a healthy replica when replicas are configured, otherwise the
+     * primary connection pool.
+     *
+     * @return the connection
+     * @throws SQLException the sql exception
+     */
+    @NotNull
+    public Connection getReadConnection() throws SQLException {
+        if (replicaRouter != null) {
+            final Connection connection = replicaRouter.getConnection();
+            if (connection != null)
+                return connection;
+        }
+
+        return getConnection();
+    }
+
     /**
      * Creates a connection pool using HikariCP and executes Flyway migrations.
      */
@@ -143,83 +253,12 @@ public class DatabaseHandler implements Reloadable {
         final String username = Cfg.get().get("db.user", "root");
         final String password = Cfg.get().get("db.pass", "");
 
-        final String connectionProperties = switch (db) {
-            case H2 -> DatabaseType.H2.formatJdbcConnectionProperties(
-                Map.of(
-                    "AUTO_SERVER", "TRUE",
-                    "MODE", "MySQL",  // MySQL support mode
-                    "CASE_INSENSITIVE_IDENTIFIERS", "TRUE",
-                    "IGNORECASE", "TRUE"
-                )
-            );
-            case HSQLDB -> DatabaseType.HSQLDB.formatJdbcConnectionProperties(
-                Map.of(
-                    "sql.syntax_mys", "true", // MySQL support mode
-                    // Prevent execution of multiple queries in one Statement
-                    "sql.restrict_exec", true,
-                    // Make the names of generated indexes the same as the names of the constraints
-                    "sql.sys_index_names", true,
-                    /*
-                     * Enforce SQL standards on
-                     * 1.) table and column names
-                     * 2.) ambiguous column references
-                     * 3.) illegal type conversions
-                     */
-                    "sql.enforce_names", true,
-                    "sql.enforce_refs", true,
-                    "sql.enforce_types", true,
-                    // Respect interrupt status during query execution
-                    "hsqldb.tx_interrupt_rollback", true,
-                    // Use CACHED tables by default
-                    "hsqldb.default_table_type", "cached",
-                    // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
-                    "allowMultiQueries", true,
-                    // Help debug in case of exceptions
-                    "dumpQueriesOnException", true
-                )
-            );
-            case MARIADB -> DatabaseType.MARIADB.formatJdbcConnectionProperties(
-                Map.of(
-                    // Performance improvements
-                    "autocommit", false,
-                    "defaultFetchSize", 1000,
-
-                    // Help debug in case of deadlock
-                    "includeInnodbStatusInDeadlockExceptions", true,
-                    "includeThreadDumpInDeadlockExceptions", true,
-
-                    // https://github.com/brettwooldridge/HikariCP/wiki/Rapid-Recovery#mysql
-                    "socketTimeout", 14000L,
-                    // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
-                    "allowMultiQueries", true,
-                    // Help debug in case of exceptions
-                    "dumpQueriesOnException", true
-                )
-            );
-            case MYSQL -> DatabaseType.MYSQL.formatJdbcConnectionProperties(
-                Map.of(
-                    // Performance improvements
-                    "autocommit", false,
-                    "defaultFetchSize", 1000,
-
-                    // Help debug in case of deadlock
-                    "includeInnodbStatusInDeadlockExceptions", true,
-                    "includeThreadDumpInDeadlockExceptions", true,
-
-                    // https://github.com/brettwooldridge/HikariCP/wiki/Rapid-Recovery#mysql
-                    "socketTimeout", 14000L,
-                    // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
-                    "allowMultiQueries", true,
-                    // Help debug in case of exceptions
-                    "dumpQueriesOnException", true
-                )
-            );
-        };
+        final String connectionProperties = formatConnectionProperties(db);
 
         switch (db) {
             case HSQLDB, H2 -> {
-                final String subfolder = "data";
-                final String fileName = "database";
+                final String subfolder = DATA_FOLDER;
+                final String fileName = DATA_FILE_NAME;
                 final String fileExtension = switch (db) {
                     case HSQLDB -> ".hsql";
                     case H2 -> ".mv.db";
@@ -253,30 +292,254 @@ public class DatabaseHandler implements Reloadable {
             }
         }
 
+        applyPoolSettings(hikariConfig, db, Cfg.get().getOrDefault("db.poolsize", 10));
+        hikariConfig.setPoolName("%s-hikari".formatted(ExamplePlugin.getInstance().getName()));
+
+        final long poolStart = System.nanoTime();
+        this.hikariDataSource = new HikariDataSource(hikariConfig);
+        plugin.getStartupTimings().record("pool init", System.nanoTime() - poolStart);
+        applyEmbeddedProfile(db);
+        this.database = db;
+        this.replicaRouter = createReplicaRouter(db, username, password);
+        this.queryMetrics = Cfg.get().getOrDefault("db.query-metrics", true)
+            ? new QueryMetrics(Cfg.get().getOrDefault("db.slow-query-ms", 250))
+            : null;
+        this.jooqContext = new JooqContext(db.getSQLDialect(), hikariDataSource, queryMetrics, Cfg.get().getOrDefault("db.prefix", "example_"));
+
+        final long migrationStart = System.nanoTime();
+        try {
+            new DatabaseMigrationHandler(Cfg.get(), hikariDataSource, db)
+                .migrate();
+        } catch (DatabaseMigrationException e) {
+            Logger.get().error("[DB] Failed to migrate database. Please backup your database and report the issue.", e);
+        } finally {
+            plugin.getStartupTimings().record("migration", System.nanoTime() - migrationStart);
+        }
+    }
+
+    /**
+     * Applies the configured {@link EmbeddedProfile} to the open embedded database and logs the settings in effect.
+     * Runs before the pool is used for anything else.
+     *
+     * @param db the database type
+     */
+    private void applyEmbeddedProfile(DatabaseType db) {
+        final String settingsSql = EmbeddedProfile.getEffectiveSettingsSql(db);
+        if (settingsSql == null)
+            return;
+
+        try (
+            Connection con = hikariDataSource.getConnection();
+            Statement statement = con.createStatement()
+        ) {
+            for (String sql : EmbeddedProfile.fromConfig().getSetupStatements(db)) {
+                statement.execute(sql);
+            }
+
+            final StringJoiner settings = new StringJoiner(", ");
+            try (ResultSet rs = statement.executeQuery(settingsSql)) {
+                while (rs.next()) {
+                    settings.add("%s=%s".formatted(rs.getString(1), rs.getString(2)));
+                }
+            }
+            Logger.get().info("[DB] Embedded storage settings in effect: {}", settings);
+        } catch (SQLException e) {
+            Logger.get().warn("[DB] Failed to apply the embedded storage settings:", e);
+        }
+    }
+
+    /**
+     * Creates and starts the write-behind queue.
+     */
+    private void startWriteBehindQueue() {
+        final int batchSize = Cfg.get().getOrDefault("db.write-behind.batch-size", 500);
+        final int intervalMillis = Cfg.get().getOrDefault("db.write-behind.interval-ms", 2000);
+
+        this.writeBehindQueue = new WriteBehindQueue("%s-write-behind".formatted(plugin.getName()), batchSize, intervalMillis);
+        this.writeBehindQueue.start();
+    }
+
+    /**
+     * Creates the executor for asynchronous database work, sized to the connection pool.
+     */
+    private void startDatabaseExecutor() {
+        this.databaseExecutor = new DatabaseExecutor(this, "%s-db".formatted(plugin.getName()), hikariDataSource.getMaximumPoolSize());
+    }
+
+    /**
+     * Creates and starts the maintenance scheduler for embedded databases.
+     */
+    private void startDatabaseMaintenance() {
+        if (database.getMaintenanceSql().isEmpty() || !Cfg.get().getOrDefault("db.maintenance.enabled", true))
+            return;
+
+        this.databaseMaintenance = new DatabaseMaintenance(
+            hikariDataSource,
+            database,
+            new File(plugin.getDataFolder(), DATA_FOLDER),
+            DATA_FILE_NAME,
+            LocalTime.parse(Cfg.get().getOrDefault("db.maintenance.window-start", "04:00")),
+            LocalTime.parse(Cfg.get().getOrDefault("db.maintenance.window-end", "06:00")),
+            Cfg.get().getOrDefault("db.maintenance.max-players", 5),
+            Cfg.get().getOrDefault("db.maintenance.max-pool-utilisation", 0.5D),
+            Cfg.get().getOrDefault("db.maintenance.compact-on-shutdown", true),
+            "%s-db-maintenance".formatted(plugin.getName())
+        );
+        this.databaseMaintenance.start(Cfg.get().getOrDefault("db.maintenance.check-interval-minutes", 5));
+    }
+
+    /**
+     * Formats the jdbc connection properties for a database type, including the configured {@link EmbeddedProfile} and
+     * {@link StatementProfile}.
+     *
+     * @param db the database type
+     * @return the connection properties string
+     */
+    private static String formatConnectionProperties(DatabaseType db) {
+        final Map<String, Object> properties = new LinkedHashMap<>(switch (db) {
+            case H2 -> Map.of(
+                "AUTO_SERVER", "TRUE",
+                "MODE", "MySQL",  // MySQL support mode
+                "CASE_INSENSITIVE_IDENTIFIERS", "TRUE",
+                "IGNORECASE", "TRUE"
+            );
+            case HSQLDB -> Map.of(
+                "sql.syntax_mys", "true", // MySQL support mode
+                // Prevent execution of multiple queries in one Statement
+                "sql.restrict_exec", true,
+                // Make the names of generated indexes the same as the names of the constraints
+                "sql.sys_index_names", true,
+                /*
+                 * Enforce SQL standards on
+                 * 1.) table and column names
+                 * 2.) ambiguous column references
+                 * 3.) illegal type conversions
+                 */
+                "sql.enforce_names", true,
+                "sql.enforce_refs", true,
+                "sql.enforce_types", true,
+                // Respect interrupt status during query execution
+                "hsqldb.tx_interrupt_rollback", true,
+                // Use CACHED tables by default
+                "hsqldb.default_table_type", "cached",
+                // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
+                "allowMultiQueries", true,
+                // Help debug in case of exceptions
+                "dumpQueriesOnException", true
+            );
+            case MARIADB -> Map.of(
+                // Performance improvements
+                "autocommit", false,
+                "defaultFetchSize", 1000,
+
+                // Help debug in case of deadlock
+                "includeInnodbStatusInDeadlockExceptions", true,
+                "includeThreadDumpInDeadlockExceptions", true,
+
+                // https://github.com/brettwooldridge/HikariCP/wiki/Rapid-Recovery#mysql
+                "socketTimeout", 14000L,
+                // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
+                "allowMultiQueries", true,
+                // Help debug in case of exceptions
+                "dumpQueriesOnException", true
+            );
+            case MYSQL -> Map.of(
+                // Performance improvements
+                "autocommit", false,
+                "defaultFetchSize", 1000,
+                "useCursorFetch", true, // Connector/J ignores the fetch size and buffers whole results without this
+
+                // Help debug in case of deadlock
+                "includeInnodbStatusInDeadlockExceptions", true,
+                "includeThreadDumpInDeadlockExceptions", true,
+
+                // https://github.com/brettwooldridge/HikariCP/wiki/Rapid-Recovery#mysql
+                "socketTimeout", 14000L,
+                // Needed for use with connection init-SQL (hikariConf.setConnectionInitSql)
+                "allowMultiQueries", true,
+                // Help debug in case of exceptions
+                "dumpQueriesOnException", true
+            );
+        });
+        properties.putAll(EmbeddedProfile.fromConfig().getJdbcProperties(db));
+        properties.putAll(StatementProfile.fromConfig().getJdbcProperties(db));
+
+        return db.formatJdbcConnectionProperties(properties);
+    }
+
+    /**
+     * Applies the pool settings shared by the primary and replica pools.
+     *
+     * @param hikariConfig the hikari config
+     * @param db           the database type
+     * @param poolSize     the pool size
+     */
+    private static void applyPoolSettings(HikariConfig hikariConfig, DatabaseType db, int poolSize) {
         hikariConfig.setConnectionTimeout(14000);
         hikariConfig.setMaxLifetime(25000000);
         hikariConfig.setInitializationFailTimeout(-1); // We try to create tables after this anyways which will error if no connection
 
-        final int poolSize = Cfg.get().getOrDefault("db.poolsize", 10);
         hikariConfig.setMaximumPoolSize(poolSize);
         hikariConfig.setMinimumIdle(poolSize);
 
-        hikariConfig.setPoolName("%s-hikari".formatted(ExamplePlugin.getInstance().getName()));
         hikariConfig.setAutoCommit(true);
         hikariConfig.setTransactionIsolation("TRANSACTION_REPEATABLE_READ");
         hikariConfig.setIsolateInternalQueries(true);
         hikariConfig.setConnectionInitSql(db.getConnectionInitSql());
+    }
 
-        this.hikariDataSource = new HikariDataSource(hikariConfig);
-        this.database = db;
-        this.jooqContext = new JooqContext(db.getSQLDialect());
+    /**
+     * Creates read-only pools for the replicas configured in {@code db.replicas.hosts}.
+     *
+     * @param db       the database type
+     * @param username the username, shared with the primary
+     * @param password the password, shared with the primary
+     * @return the replica router or null if no replicas are configured
+     */
+    private @Nullable ReplicaRouter createReplicaRouter(DatabaseType db, String username, String password) {
+        final List<String> hosts = Cfg.get().getStringList("db.replicas.hosts");
+        if (hosts == null || hosts.isEmpty())
+            return null;
+
+        if (!db.equals(DatabaseType.MYSQL) && !db.equals(DatabaseType.MARIADB)) {
+            Logger.get().warn("[DB] Read replicas are only supported for MySQL and MariaDB, ignoring configured replicas.");
+            return null;
+        }
 
-        try {
-            new DatabaseMigrationHandler(Cfg.get(), hikariDataSource, db)
-                .migrate();
-        } catch (DatabaseMigrationException e) {
-            Logger.get().error("[DB] Failed to migrate database. Please backup your database and report the issue.", e);
+        final String database = Cfg.get().get("db.database", "database");
+        final int poolSize = Cfg.get().getOrDefault("db.replicas.poolsize", Cfg.get().getOrDefault("db.poolsize", 10));
+        final List<HikariDataSource> dataSources = new ArrayList<>();
+
+        for (int i = 0; i < hosts.size(); i++) {
+            final HikariConfig replicaConfig = new HikariConfig();
+            replicaConfig.setDataSourceClassName(db.getDataSourceClassName());
+            replicaConfig.addDataSourceProperty("url", "jdbc:%s://%s/%s".formatted(
+                db.getJdbcPrefix(),
+                hosts.get(i), // host:port
+                database + formatConnectionProperties(db)
+            ));
+            replicaConfig.setUsername(username);
+            replicaConfig.setPassword(password);
+            replicaConfig.setKeepaliveTime(0);
+
+            applyPoolSettings(replicaConfig, db, poolSize);
+            replicaConfig.setPoolName("%s-hikari-replica-%d".formatted(plugin.getName(), i + 1));
+            replicaConfig.setReadOnly(true);
+
+            dataSources.add(new HikariDataSource(replicaConfig));
         }
+
+        final ReplicaRouter router = new ReplicaRouter(
+            db,
+            dataSources,
+            ReplicaRouter.Balancing.fromConfig(Cfg.get().getOrDefault("db.replicas.balancing", "round-robin")),
+            Cfg.get().getOrDefault("db.replicas.max-lag-seconds", 10),
+            "%s-replica-health".formatted(plugin.getName())
+        );
+        router.start(Cfg.get().getOrDefault("db.replicas.check-interval-seconds", 5));
+
+        Logger.get().info("[DB] Routing reads to {} replica(s).", dataSources.size());
+        return router;
     }
 
     /**
@@ -295,6 +558,11 @@ public class DatabaseHandler implements Reloadable {
             return;
         }
 
+        if (replicaRouter != null) {
+            replicaRouter.shutdown();
+            replicaRouter = null;
+        }
+
         hikariDataSource.close();
         hikariDataSource = null;
 
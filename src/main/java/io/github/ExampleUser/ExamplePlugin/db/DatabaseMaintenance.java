@@ -0,0 +1,217 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checkpoints and compacts the embedded HSQLDB and H2 databases on a schedule.
+ * <p>
+ * Maintenance runs at most once a day inside a configurable low traffic window on a background thread. A run is
+ * postponed to the next check while too many players are online or the connection pool is busy.
+ */
+public final class DatabaseMaintenance {
+    private static final Duration MIN_RUN_INTERVAL = Duration.ofHours(20);
+
+    private final HikariDataSource dataSource;
+    private final DatabaseType databaseType;
+    private final File dataFolder;
+    private final String filePrefix;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final int maxPlayers;
+    private final double maxPoolUtilisation;
+    private final boolean compactOnShutdown;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Instant lastRun;
+
+    /**
+     * Instantiates a new Database maintenance.
+     *
+     * @param dataSource         the embedded database connection pool
+     * @param databaseType       the database type
+     * @param dataFolder         the folder holding the database files
+     * @param filePrefix         the common prefix of the database file names
+     * @param windowStart        the start of the maintenance window, local time
+     * @param windowEnd          the end of the maintenance window, local time, may be before the start to wrap midnight
+     * @param maxPlayers         runs are postponed while more players are online
+     * @param maxPoolUtilisation runs are postponed while a larger fraction of pooled connections is in use
+     * @param compactOnShutdown  whether the database files are compacted when the plugin is disabled
+     * @param threadName         the name of the maintenance thread
+     */
+    public DatabaseMaintenance(HikariDataSource dataSource, DatabaseType databaseType, File dataFolder, String filePrefix, LocalTime windowStart, LocalTime windowEnd, int maxPlayers, double maxPoolUtilisation, boolean compactOnShutdown, String threadName) {
+        this.dataSource = dataSource;
+        this.databaseType = databaseType;
+        this.dataFolder = dataFolder;
+        this.filePrefix = filePrefix;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.maxPlayers = maxPlayers;
+        this.maxPoolUtilisation = maxPoolUtilisation;
+        this.compactOnShutdown = compactOnShutdown;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules periodic checks of the maintenance window.
+     *
+     * @param checkIntervalMinutes the interval between checks
+     */
+    public void start(long checkIntervalMinutes) {
+        final long interval = Math.max(1L, checkIntervalMinutes);
+        scheduler.scheduleWithFixedDelay(this::runIfDue, interval, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops scheduled maintenance and, when enabled, compacts the database. Must be called after all other database
+     * work has finished since compacting closes the database.
+     */
+    public void shutdown() {
+        scheduler.shutdown(); // Let a running checkpoint finish, interrupting it rolls back
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS))
+                Logger.get().warn("[DB] Timed out waiting for database maintenance to finish.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (compactOnShutdown && !databaseType.getCompactShutdownSql().isEmpty())
+            execute(databaseType.getCompactShutdownSql(), "Compacted");
+    }
+
+    /**
+     * Runs maintenance on the maintenance thread now, ignoring the window and the last run.
+     *
+     * @param force whether the player and pool thresholds are ignored as well
+     * @return a future completing with whether maintenance ran
+     */
+    public @NotNull CompletableFuture<Boolean> runNow(boolean force) {
+        return CompletableFuture.supplyAsync(() -> force ? run() : runIfIdle(), scheduler);
+    }
+
+    private void runIfDue() {
+        if (!isInWindow(LocalTime.now()))
+            return;
+
+        if (lastRun != null && Duration.between(lastRun, Instant.now()).compareTo(MIN_RUN_INTERVAL) < 0)
+            return;
+
+        runIfIdle();
+    }
+
+    private boolean runIfIdle() {
+        final int players = Bukkit.getOnlinePlayers().size();
+        if (players > maxPlayers) {
+            Logger.get().info("[DB] Postponing database maintenance, {} players online (maximum {}).", players, maxPlayers);
+            return false;
+        }
+
+        final double utilisation = getPoolUtilisation();
+        if (utilisation > maxPoolUtilisation) {
+            Logger.get().info("[DB] Postponing database maintenance, connection pool is {}% in use (maximum {}%).", Math.round(utilisation * 100), Math.round(maxPoolUtilisation * 100));
+            return false;
+        }
+
+        return run();
+    }
+
+    private boolean run() {
+        if (!running.compareAndSet(false, true))
+            return false;
+
+        try {
+            final boolean success = execute(databaseType.getMaintenanceSql(), "Checkpointed");
+            if (success)
+                lastRun = Instant.now();
+            return success;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean execute(String sql, String action) {
+        final long sizeBefore = getDataFileSize();
+        final long start = System.nanoTime();
+
+        try (
+            Connection con = dataSource.getConnection();
+            Statement statement = con.createStatement()
+        ) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            Logger.get().error("[DB] Database maintenance '{}' failed:", sql, e);
+            return false;
+        }
+
+        Logger.get().info(
+            "[DB] {} database in {} ms, data files {} KiB -> {} KiB.",
+            action,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+            sizeBefore / 1024L,
+            getDataFileSize() / 1024L
+        );
+        return true;
+    }
+
+    private boolean isInWindow(LocalTime time) {
+        if (windowStart.isBefore(windowEnd))
+            return !time.isBefore(windowStart) && time.isBefore(windowEnd);
+
+        return !time.isBefore(windowStart) || time.isBefore(windowEnd); // Window wraps midnight
+    }
+
+    private double getPoolUtilisation() {
+        final HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null || pool.getTotalConnections() == 0)
+            return 0D;
+
+        return pool.getActiveConnections() / (double) pool.getTotalConnections();
+    }
+
+    /**
+     * Gets the combined size of the database files.
+     *
+     * @return the size in bytes
+     */
+    public long getDataFileSize() {
+        final File[] files = dataFolder.listFiles((dir, name) -> name.startsWith(filePrefix));
+        if (files == null)
+            return 0L;
+
+        long size = 0L;
+        for (File file : files) {
+            size += file.length();
+        }
+        return size;
+    }
+
+    /**
+     * Gets when maintenance last completed.
+     *
+     * @return the instant or null if it has not run yet
+     */
+    public Instant getLastRun() {
+        return lastRun;
+    }
+}
@@ -1,18 +1,50 @@
 package io.github.ExampleUser.ExamplePlugin.db;
 
+import io.github.ExampleUser.ExamplePlugin.db.jooq.UUIDBinaryConverter;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationInvitesRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.SomeListRecord;
+import io.github.ExampleUser.ExamplePlugin.organization.MembershipSnapshot;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationProfile;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
 import io.github.ExampleUser.ExamplePlugin.utility.DB;
 import io.github.ExampleUser.ExamplePlugin.utility.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jooq.BatchBindStep;
+import org.jooq.Condition;
+import org.jooq.Cursor;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
 import org.jooq.Record2;
+import org.jooq.Record3;
 import org.jooq.Result;
+import org.jooq.SelectSeekStep1;
+import org.jooq.SelectSeekStep3;
+import org.jooq.Table;
+import org.jooq.TableRecord;
+import org.jooq.UpdatableRecord;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
 
-import java.nio.ByteBuffer;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATIONS;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_INVITES;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_MEMBERS;
 import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.SOME_LIST;
 
 /**
@@ -32,7 +64,7 @@ public abstract class DatabaseQueries {
 
             context
                 .insertInto(SOME_LIST)
-                .set(SOME_LIST.UUID, DatabaseQueries.convertUUIDToBytes(UUID.randomUUID()))
+                .set(SOME_LIST.UUID, UUID.randomUUID())
                 .set(SOME_LIST.NAME, "testname")
                 .onDuplicateKeyUpdate()
                 .set(SOME_LIST.NAME, "testname")
@@ -43,38 +75,131 @@ public abstract class DatabaseQueries {
     }
 
     /**
-     * Example save all data to database.
+     * Example add data to database without blocking the calling thread.
      * <p>
-     * This method actually is an upsert and inserts or updates entries dependent on whether a duplicate row exists.
+     * The upsert is queued in the {@link WriteBehindQueue} and written on the next flush.
+     *
+     * @param uuid the uuid
+     * @param name the name
+     */
+    public static void queueEntry(UUID uuid, String name) {
+        DB.enqueue(new SomeListRecord(uuid, name));
+    }
+
+    /**
+     * Save a collection of records to the database in bulk.
+     * <p>
+     * Records are grouped by table and upserted in chunks of {@code db.batch-size} rows inside a single transaction,
+     * see {@link #upsertAll(DSLContext, Table, List, int)}.
+     *
+     * @param records the records, may belong to different tables
+     * @return whether all records were saved
      */
-    public static void saveAll() {
+    public static boolean saveAll(Collection<? extends TableRecord<?>> records) {
+        if (records.isEmpty())
+            return true;
+
+        final Map<Table<?>, List<TableRecord<?>>> recordsByTable = new LinkedHashMap<>();
+        for (TableRecord<?> record : records) {
+            recordsByTable.computeIfAbsent(record.getTable(), k -> new ArrayList<>()).add(record);
+        }
+
+        final int chunkSize = Cfg.get().getOrDefault("db.batch-size", 1000);
+
         try (
             @NotNull Connection con = DB.getConnection();
         ) {
             DSLContext context = DB.getContext(con);
 
+            context.transaction(config -> {
+                for (Map.Entry<Table<?>, List<TableRecord<?>>> entry : recordsByTable.entrySet()) {
+                    upsertAll(config.dsl(), entry.getKey(), entry.getValue(), chunkSize);
+                }
+            });
+            return true;
+        } catch (SQLException | DataAccessException e) {
+            Logger.get().error("SQL Query threw an error!", e);
+        }
+        return false;
+    }
+
+    /**
+     * Upsert records belonging to one table in chunks, using the fastest bulk form for the current {@link DatabaseType}.
+     * <p>
+     * MySQL and MariaDB receive multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE} statements. HSQLDB and H2 emulate
+     * multi-row upserts with a {@code MERGE} over a growing {@code UNION ALL}, which is slow to parse, so they instead
+     * receive a single prepared upsert executed as a JDBC batch.
+     * <p>
+     * This does not open a transaction, callers should wrap it in one.
+     *
+     * @param context   the context
+     * @param table     the table all records belong to
+     * @param records   the records
+     * @param chunkSize the maximum amount of rows per statement or batch
+     */
+    public static void upsertAll(DSLContext context, Table<?> table, List<? extends TableRecord<?>> records, int chunkSize) {
+        final Field<?>[] fields = table.fields();
+        final int size = Math.max(1, chunkSize);
+
+        for (int i = 0; i < records.size(); i += size) {
+            final List<? extends TableRecord<?>> chunk = records.subList(i, Math.min(i + size, records.size()));
+
+            if (DB.getDB().prefersMultiRowUpsert()) {
+                context
+                    .insertInto(table)
+                    .columns(fields)
+                    .valuesOfRecords(chunk)
+                    .onDuplicateKeyUpdate()
+                    .setAllToExcluded()
+                    .execute();
+            } else {
+                final BatchBindStep batch = context.batch(
+                    context
+                        .insertInto(table)
+                        .columns(fields)
+                        .values(new Object[fields.length])
+                        .onDuplicateKeyUpdate()
+                        .setAllToExcluded()
+                );
+
+                for (TableRecord<?> record : chunk) {
+                    batch.bind(record.intoArray());
+                }
+
+                batch.execute();
+            }
+        }
+    }
+
+    /**
+     * Deletes records by primary key using JDBC batches.
+     *
+     * @param context   the context, usually of an open transaction
+     * @param records   the records, only their primary key values are used
+     * @param chunkSize the maximum amount of statements per batch
+     */
+    public static void deleteAll(DSLContext context, List<? extends UpdatableRecord<?>> records, int chunkSize) {
+        final int size = Math.max(1, chunkSize);
+
+        for (int i = 0; i < records.size(); i += size) {
             context
-                .insertInto(SOME_LIST)
-                .set(SOME_LIST.UUID, DatabaseQueries.convertUUIDToBytes(UUID.randomUUID()))
-                .set(SOME_LIST.NAME, "testname")
-                .onDuplicateKeyUpdate()
-                .set(SOME_LIST.NAME, "testname")
+                .batchDelete(records.subList(i, Math.min(i + size, records.size())))
                 .execute();
-        } catch (SQLException e) {
-            Logger.get().error("SQL Query threw an error!", e);
         }
     }
 
     /**
      * Example load all data from database.
      * <p>
-     * You should make this method return whatever it is you're grabbing from db.
+     * This materializes the whole table in memory, prefer {@link #streamAll()} or {@link #forEachEntry(Consumer)} for
+     * tables that may grow large.
      *
      * @return the result
+     * @throws SQLException if the query failed, an empty table returns an empty result instead
      */
-    public static @Nullable Result<Record2<String, byte[]>> loadAll() {
+    public static @NotNull Result<Record2<String, UUID>> loadAll() throws SQLException {
         try (
-            Connection con = DB.getConnection();
+            Connection con = DB.getReadConnection();
         ) {
             DSLContext context = DB.getContext(con);
 
@@ -82,10 +207,279 @@ public abstract class DatabaseQueries {
                 .select(SOME_LIST.NAME, SOME_LIST.UUID)
                 .from(SOME_LIST)
                 .fetch();
-        } catch (SQLException e) {
-            Logger.get().error("SQL Query threw an error!", e);
+        } catch (DataAccessException e) {
+            throw new SQLException(e);
         }
-        return null;
+    }
+
+    /**
+     * Example stream all data from database.
+     * <p>
+     * Rows are fetched lazily through a cursor in batches of the driver's default fetch size, so only a window of the
+     * table is held in memory. The pooled connection stays borrowed until the stream is closed, always use this in a
+     * try-with-resources block.
+     *
+     * @return the lazy stream of rows
+     * @throws SQLException if a connection could not be acquired or the query failed
+     */
+    public static @NotNull Stream<Record2<String, UUID>> streamAll() throws SQLException {
+        final Connection con = DB.getReadConnection();
+        try {
+            DSLContext context = DB.getContext(con);
+
+            final Cursor<Record2<String, UUID>> cursor = context
+                .select(SOME_LIST.NAME, SOME_LIST.UUID)
+                .from(SOME_LIST)
+                .fetchLazy();
+
+            return cursor.stream()
+                .onClose(() -> {
+                    try {
+                        con.close();
+                    } catch (SQLException e) {
+                        Logger.get().error("SQL Query threw an error!", e);
+                    }
+                });
+        } catch (RuntimeException e) {
+            try {
+                con.close(); // The stream never took ownership of the connection
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
+            }
+
+            if (e instanceof DataAccessException)
+                throw new SQLException(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Example process all data from database one row at a time.
+     *
+     * @param action the action to run for each row
+     * @throws SQLException if a connection could not be acquired or the query failed
+     */
+    public static void forEachEntry(@NotNull Consumer<? super Record2<String, UUID>> action) throws SQLException {
+        try (
+            Stream<Record2<String, UUID>> stream = streamAll()
+        ) {
+            stream.forEach(action);
+        } catch (DataAccessException e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Loads the organization, membership and pending invites of a player.
+     *
+     * @param context the context
+     * @param player  the player uuid
+     * @return the membership snapshot
+     */
+    public static @NotNull MembershipSnapshot loadMembership(@NotNull DSLContext context, @NotNull UUID player) {
+        final Record membership = context
+            .select()
+            .from(ORGANIZATION_MEMBERS)
+            .join(ORGANIZATIONS).on(ORGANIZATIONS.UUID.eq(ORGANIZATION_MEMBERS.ORGANIZATION_UUID))
+            .where(ORGANIZATION_MEMBERS.PLAYER_UUID.eq(player))
+            .fetchOne();
+
+        final List<OrganizationInvitesRecord> invites = context
+            .selectFrom(ORGANIZATION_INVITES)
+            .where(ORGANIZATION_INVITES.PLAYER_UUID.eq(player))
+            .fetch();
+
+        return new MembershipSnapshot(
+            membership == null ? null : membership.into(ORGANIZATIONS),
+            membership == null ? null : membership.into(ORGANIZATION_MEMBERS),
+            invites
+        );
+    }
+
+    /**
+     * Loads an organization by its name, ignoring case.
+     *
+     * @param context the context
+     * @param name    the name
+     * @return the organization or null if no organization uses the name
+     */
+    public static @Nullable OrganizationsRecord findOrganization(@NotNull DSLContext context, @NotNull String name) {
+        return context
+            .selectFrom(ORGANIZATIONS)
+            .where(DSL.lower(ORGANIZATIONS.NAME).eq(name.toLowerCase(Locale.ROOT)))
+            .fetchOne();
+    }
+
+    /**
+     * Checks if a stored organization uses a name, ignoring case.
+     *
+     * @param context the context
+     * @param name    the name
+     * @param except  the organization to ignore, for example the one being renamed, or null
+     * @return the boolean
+     */
+    public static boolean isOrganizationNameTaken(@NotNull DSLContext context, @NotNull String name, @Nullable UUID except) {
+        Condition condition = DSL.lower(ORGANIZATIONS.NAME).eq(name.toLowerCase(Locale.ROOT));
+        if (except != null)
+            condition = condition.and(ORGANIZATIONS.UUID.ne(except));
+
+        return context.fetchExists(ORGANIZATIONS, condition);
+    }
+
+    /**
+     * Loads the membership of a player.
+     *
+     * @param context the context
+     * @param player  the player uuid
+     * @return the membership or null if the player is not in an organization
+     */
+    public static @Nullable OrganizationMembersRecord loadMember(@NotNull DSLContext context, @NotNull UUID player) {
+        return context
+            .selectFrom(ORGANIZATION_MEMBERS)
+            .where(ORGANIZATION_MEMBERS.PLAYER_UUID.eq(player))
+            .fetchOne();
+    }
+
+    /**
+     * Loads all stored memberships of an organization.
+     *
+     * @param context      the context
+     * @param organization the organization id
+     * @return the members
+     */
+    public static @NotNull Result<OrganizationMembersRecord> loadMembers(@NotNull DSLContext context, @NotNull UUID organization) {
+        return context
+            .selectFrom(ORGANIZATION_MEMBERS)
+            .where(ORGANIZATION_MEMBERS.ORGANIZATION_UUID.eq(organization))
+            .fetch();
+    }
+
+    /**
+     * Loads organizations together with all of their members using two queries.
+     *
+     * @param context       the context
+     * @param organizations the organization ids
+     * @return the profiles by organization id, missing organizations are absent
+     */
+    public static @NotNull Map<UUID, OrganizationProfile> loadOrganizationProfiles(@NotNull DSLContext context, @NotNull Collection<UUID> organizations) {
+        if (organizations.isEmpty())
+            return Map.of();
+
+        final Map<UUID, List<OrganizationMembersRecord>> members = new HashMap<>();
+        context
+            .selectFrom(ORGANIZATION_MEMBERS)
+            .where(ORGANIZATION_MEMBERS.ORGANIZATION_UUID.in(organizations))
+            .orderBy(ORGANIZATION_MEMBERS.RANK.desc(), ORGANIZATION_MEMBERS.JOINED_AT)
+            .fetch()
+            .forEach(member -> members.computeIfAbsent(member.getOrganizationUuid(), id -> new ArrayList<>()).add(member));
+
+        final Map<UUID, OrganizationProfile> profiles = new HashMap<>();
+        for (OrganizationsRecord organization : context.selectFrom(ORGANIZATIONS).where(ORGANIZATIONS.UUID.in(organizations)).fetch()) {
+            profiles.put(organization.getUuid(), new OrganizationProfile(organization, members.getOrDefault(organization.getUuid(), List.of())));
+        }
+        return profiles;
+    }
+
+    /**
+     * Fetches a page of organization ids ordered by name.
+     *
+     * @param context the context
+     * @param offset  the amount of organizations to skip
+     * @param limit   the maximum amount of organizations
+     * @return the organization ids
+     */
+    public static @NotNull List<UUID> fetchOrganizationIdsByName(@NotNull DSLContext context, int offset, int limit) {
+        return context
+            .select(ORGANIZATIONS.UUID)
+            .from(ORGANIZATIONS)
+            .orderBy(ORGANIZATIONS.NAME)
+            .limit(limit)
+            .offset(offset)
+            .fetch(ORGANIZATIONS.UUID);
+    }
+
+    /**
+     * Fetches a page of organizations ordered by name, with their member counts.
+     * <p>
+     * Pages seek past the name of the last organization of the previous page through the unique name index, so deep
+     * pages cost the same as the first.
+     *
+     * @param context the context
+     * @param after   the name of the last organization of the previous page or null for the first page
+     * @param limit   the maximum amount of organizations
+     * @return the organization ids, names and member counts
+     */
+    public static @NotNull Result<Record3<UUID, String, Integer>> fetchOrganizationPage(@NotNull DSLContext context, @Nullable String after, int limit) {
+        final SelectSeekStep1<Record3<UUID, String, Integer>, String> ordered = context
+            .select(
+                ORGANIZATIONS.UUID,
+                ORGANIZATIONS.NAME,
+                DSL.field(DSL.selectCount().from(ORGANIZATION_MEMBERS).where(ORGANIZATION_MEMBERS.ORGANIZATION_UUID.eq(ORGANIZATIONS.UUID)))
+            )
+            .from(ORGANIZATIONS)
+            .orderBy(ORGANIZATIONS.NAME);
+
+        if (after != null)
+            return ordered.seek(after).limit(limit).fetch();
+        return ordered.limit(limit).fetch();
+    }
+
+    /**
+     * Fetches a page of the members of an organization ordered by rank, highest first, and then by join time.
+     * <p>
+     * Pages seek past the last member of the previous page, the player uuid breaks ties between members who joined at
+     * the same time.
+     *
+     * @param context      the context
+     * @param organization the organization id
+     * @param after        the last member of the previous page or null for the first page
+     * @param limit        the maximum amount of members
+     * @return the members
+     */
+    public static @NotNull Result<OrganizationMembersRecord> fetchMemberPage(@NotNull DSLContext context, @NotNull UUID organization, @Nullable OrganizationMembersRecord after, int limit) {
+        final SelectSeekStep3<OrganizationMembersRecord, Integer, Long, UUID> ordered = context
+            .selectFrom(ORGANIZATION_MEMBERS)
+            .where(ORGANIZATION_MEMBERS.ORGANIZATION_UUID.eq(organization))
+            .orderBy(ORGANIZATION_MEMBERS.RANK.desc(), ORGANIZATION_MEMBERS.JOINED_AT, ORGANIZATION_MEMBERS.PLAYER_UUID);
+
+        if (after != null)
+            return ordered.seek(after.getRank(), after.getJoinedAt(), after.getPlayerUuid()).limit(limit).fetch();
+        return ordered.limit(limit).fetch();
+    }
+
+    /**
+     * Fetches one page of a keyset scan over a uuid keyed table, ordered by the key.
+     * <p>
+     * Each page seeks past the last key of the previous page through the primary key index instead of skipping rows
+     * with an offset, so every page costs the same. Bounds split the key space into ranges that can be scanned in
+     * parallel.
+     *
+     * @param context the context
+     * @param table   the table
+     * @param key     the uuid primary key column
+     * @param from    the inclusive lower bound of the range or null for no lower bound
+     * @param to      the exclusive upper bound of the range or null for no upper bound
+     * @param after   the last key of the previous page or null for the first page
+     * @param limit   the maximum amount of rows
+     * @param <R>     the record type
+     * @return the page, smaller than the limit when the range is exhausted
+     */
+    public static <R extends Record> @NotNull Result<R> fetchKeysetPage(@NotNull DSLContext context, @NotNull Table<R> table, @NotNull Field<UUID> key, @Nullable UUID from, @Nullable UUID to, @Nullable UUID after, int limit) {
+        Condition condition = DSL.noCondition();
+        if (after != null) {
+            condition = condition.and(key.gt(after));
+        } else if (from != null) {
+            condition = condition.and(key.ge(from));
+        }
+        if (to != null)
+            condition = condition.and(key.lt(to));
+
+        return context
+            .selectFrom(table)
+            .where(condition)
+            .orderBy(key)
+            .limit(limit)
+            .fetch();
     }
 
     /**
@@ -95,10 +489,7 @@ public abstract class DatabaseQueries {
      * @return the byte array
      */
     public static byte[] convertUUIDToBytes(UUID uuid) {
-        ByteBuffer bb = ByteBuffer.wrap(new byte[16]);
-        bb.putLong(uuid.getMostSignificantBits());
-        bb.putLong(uuid.getLeastSignificantBits());
-        return bb.array();
+        return UUIDBinaryConverter.toBytes(uuid);
     }
 
     /**
@@ -108,9 +499,6 @@ public abstract class DatabaseQueries {
      * @return the uuid
      */
     public static UUID convertBytesToUUID(byte[] bytes) {
-        ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
-        long high = byteBuffer.getLong();
-        long low = byteBuffer.getLong();
-        return new UUID(high, low);
+        return UUIDBinaryConverter.fromBytes(bytes);
     }
 }
@@ -175,6 +175,18 @@ public enum DatabaseType {
         };
     }
 
+    /**
+     * Check if bulk upserts should be sent as multi-row VALUES statements instead of a JDBC batch for this DatabaseType.
+     *
+     * @return boolean
+     */
+    public boolean prefersMultiRowUpsert() {
+        return switch (this) {
+            case HSQLDB, H2 -> false;
+            case MYSQL, MARIADB -> true;
+        };
+    }
+
     /**
      * Gets column suffix for this DatabaseType.
      *
@@ -240,6 +252,84 @@ public enum DatabaseType {
         };
     }
 
+    /**
+     * Gets the statement reporting replication status for this DatabaseType. Only MySQL and MariaDB support replicas.
+     *
+     * @return the replica status sql
+     */
+    public String getReplicaStatusSql() {
+        return switch (this) {
+            case MYSQL -> "SHOW REPLICA STATUS";
+            case MARIADB -> "SHOW SLAVE STATUS";
+            case H2, HSQLDB -> "";
+        };
+    }
+
+    /**
+     * Gets the column of {@link #getReplicaStatusSql()} holding the replication lag in seconds for this DatabaseType.
+     *
+     * @return the replica lag column
+     */
+    public String getReplicaLagColumn() {
+        return switch (this) {
+            case MYSQL -> "Seconds_Behind_Source";
+            case MARIADB -> "Seconds_Behind_Master";
+            case H2, HSQLDB -> "";
+        };
+    }
+
+    /**
+     * Gets the replication status statement of servers older than {@link #getReplicaStatusSql()} supports, MySQL before
+     * 8.0.22 only knows the old names.
+     *
+     * @return the legacy replica status sql
+     */
+    public String getLegacyReplicaStatusSql() {
+        return switch (this) {
+            case MYSQL, MARIADB -> "SHOW SLAVE STATUS";
+            case H2, HSQLDB -> "";
+        };
+    }
+
+    /**
+     * Gets the column of {@link #getLegacyReplicaStatusSql()} holding the replication lag in seconds for this
+     * DatabaseType.
+     *
+     * @return the legacy replica lag column
+     */
+    public String getLegacyReplicaLagColumn() {
+        return switch (this) {
+            case MYSQL, MARIADB -> "Seconds_Behind_Master";
+            case H2, HSQLDB -> "";
+        };
+    }
+
+    /**
+     * Gets the online maintenance statement for this DatabaseType. HSQLDB rewrites its data file, H2 can only compact
+     * while closed so its log is checkpointed and synced instead. Remote databases maintain themselves.
+     *
+     * @return the maintenance sql or an empty string
+     */
+    public String getMaintenanceSql() {
+        return switch (this) {
+            case HSQLDB -> "CHECKPOINT DEFRAG";
+            case H2 -> "CHECKPOINT SYNC";
+            case MYSQL, MARIADB -> "";
+        };
+    }
+
+    /**
+     * Gets the statement closing and compacting the database for this DatabaseType.
+     *
+     * @return the compacting shutdown sql or an empty string
+     */
+    public String getCompactShutdownSql() {
+        return switch (this) {
+            case HSQLDB, H2 -> "SHUTDOWN COMPACT";
+            case MYSQL, MARIADB -> "";
+        };
+    }
+
     /**
      * Gets connection init sql for this DatabaseType.
      *
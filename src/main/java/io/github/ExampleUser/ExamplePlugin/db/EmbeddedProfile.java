@@ -0,0 +1,155 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage and memory settings for the embedded HSQLDB and H2 databases.
+ *
+ * @param cacheRows        the maximum amount of rows HSQLDB keeps in memory for cached tables
+ * @param cacheSizeKb      the memory used for cached rows or pages in kilobytes
+ * @param nioDataFile      whether HSQLDB memory maps its data file
+ * @param nioMaxSizeMb     the data file size up to which HSQLDB memory maps it, in megabytes
+ * @param logSizeMb        the HSQLDB log size triggering an automatic checkpoint, in megabytes
+ * @param writeDelayMillis the delay before committed changes are written to disk
+ * @param compactFillRate  the H2 fill rate below which the file is compacted in the background, 0 to disable
+ */
+public record EmbeddedProfile(int cacheRows, int cacheSizeKb, boolean nioDataFile, int nioMaxSizeMb, int logSizeMb, int writeDelayMillis, int compactFillRate) {
+    /**
+     * Gets the embedded profile from the {@code db.embedded} config section. Individual settings override the
+     * selected preset.
+     *
+     * @return the embedded profile
+     */
+    public static @NotNull EmbeddedProfile fromConfig() {
+        final EmbeddedProfile preset = Preset.fromConfig(Cfg.get().getOrDefault("db.embedded.preset", "balanced")).getProfile();
+
+        return new EmbeddedProfile(
+            Cfg.get().getOrDefault("db.embedded.cache-rows", preset.cacheRows()),
+            Cfg.get().getOrDefault("db.embedded.cache-size-kb", preset.cacheSizeKb()),
+            Cfg.get().getOrDefault("db.embedded.nio-data-file", preset.nioDataFile()),
+            Cfg.get().getOrDefault("db.embedded.nio-max-size-mb", preset.nioMaxSizeMb()),
+            Cfg.get().getOrDefault("db.embedded.log-size-mb", preset.logSizeMb()),
+            Cfg.get().getOrDefault("db.embedded.write-delay-ms", preset.writeDelayMillis()),
+            Cfg.get().getOrDefault("db.embedded.compact-fill-rate", preset.compactFillRate())
+        );
+    }
+
+    /**
+     * Gets the jdbc connection properties implementing this profile for a database type.
+     *
+     * @param db the database type
+     * @return the connection properties, empty for remote databases
+     */
+    public @NotNull Map<String, Object> getJdbcProperties(@NotNull DatabaseType db) {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+
+        switch (db) {
+            case HSQLDB -> {
+                properties.put("hsqldb.cache_rows", cacheRows);
+                properties.put("hsqldb.cache_size", cacheSizeKb);
+                properties.put("hsqldb.nio_data_file", nioDataFile);
+                properties.put("hsqldb.nio_max_size", nioMaxSizeMb);
+                properties.put("hsqldb.log_size", logSizeMb); // Checkpoint frequency, a larger log means fewer checkpoints
+                properties.put("hsqldb.write_delay_millis", writeDelayMillis);
+            }
+            case H2 -> {
+                properties.put("CACHE_SIZE", cacheSizeKb);
+                properties.put("WRITE_DELAY", writeDelayMillis);
+                properties.put("AUTO_COMPACT_FILL_RATE", compactFillRate);
+            }
+            case MYSQL, MARIADB -> {
+                // Memory is managed by the database server
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Gets the statements applying this profile to an open database. HSQLDB only reads its storage properties from the
+     * url when the database is created, so existing databases are updated with these statements on every start. H2
+     * applies its url settings whenever the database is opened.
+     *
+     * @param db the database type
+     * @return the statements, empty if none are needed
+     */
+    public @NotNull List<String> getSetupStatements(@NotNull DatabaseType db) {
+        if (!db.equals(DatabaseType.HSQLDB))
+            return List.of();
+
+        return List.of(
+            "SET FILES CACHE ROWS %d".formatted(cacheRows),
+            "SET FILES CACHE SIZE %d".formatted(cacheSizeKb),
+            "SET FILES NIO %s".formatted(nioDataFile ? "TRUE" : "FALSE"),
+            "SET FILES NIO SIZE %d".formatted(nioMaxSizeMb),
+            "SET FILES LOG SIZE %d".formatted(logSizeMb),
+            "SET FILES WRITE DELAY %d MILLIS".formatted(writeDelayMillis)
+        );
+    }
+
+    /**
+     * Gets the query listing the storage settings in effect as rows of name and value.
+     *
+     * @param db the database type
+     * @return the query or null for remote databases
+     */
+    public static @Nullable String getEffectiveSettingsSql(@NotNull DatabaseType db) {
+        return switch (db) {
+            case HSQLDB -> "SELECT PROPERTY_NAME, PROPERTY_VALUE FROM INFORMATION_SCHEMA.SYSTEM_PROPERTIES WHERE PROPERTY_NAME IN ('hsqldb.cache_rows', 'hsqldb.cache_size', 'hsqldb.nio_data_file', 'hsqldb.nio_max_size', 'hsqldb.log_size', 'hsqldb.write_delay_millis')";
+            case H2 -> "SELECT SETTING_NAME, SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME IN ('CACHE_SIZE', 'WRITE_DELAY', 'AUTO_COMPACT_FILL_RATE')";
+            case MYSQL, MARIADB -> null;
+        };
+    }
+
+    /**
+     * Built-in embedded storage presets.
+     */
+    public enum Preset {
+        /**
+         * Small caches and no memory mapping, for servers with little memory to spare.
+         */
+        LOW_MEMORY(new EmbeddedProfile(10_000, 4_096, false, 64, 10, 500, 90)),
+        /**
+         * Moderate caches close to the HSQLDB defaults.
+         */
+        BALANCED(new EmbeddedProfile(50_000, 10_000, true, 256, 50, 500, 90)),
+        /**
+         * Large caches, memory mapping and less frequent checkpoints and disk writes.
+         */
+        THROUGHPUT(new EmbeddedProfile(200_000, 65_536, true, 1_024, 200, 2_000, 0));
+
+        private final EmbeddedProfile profile;
+
+        Preset(EmbeddedProfile profile) {
+            this.profile = profile;
+        }
+
+        /**
+         * Gets the profile of this preset.
+         *
+         * @return the profile
+         */
+        public EmbeddedProfile getProfile() {
+            return profile;
+        }
+
+        /**
+         * Gets a preset from its config name like {@code low-memory}.
+         *
+         * @param name the name
+         * @return the preset, balanced if the name is unknown
+         */
+        public static @NotNull Preset fromConfig(String name) {
+            for (Preset preset : values()) {
+                if (preset.name().replace('_', '-').equalsIgnoreCase(name))
+                    return preset;
+            }
+            return BALANCED;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only work to MySQL/MariaDB replica pools.
+ * <p>
+ * Replicas are health checked periodically. A replica that cannot be reached, has stopped replicating, lags behind
+ * the primary by more than the configured amount, does not report its lag or is not configured as a replica at all is
+ * skipped until a later check succeeds. When no replica is healthy reads return {@code null} from
+ * {@link #getConnection()} and callers fall back to the primary.
+ */
+public final class ReplicaRouter {
+    private static final long NOT_REPLICATING = -1L;
+    private static final long NOT_A_REPLICA = -2L;
+    private final DatabaseType databaseType;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final long maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * Instantiates a new Replica router.
+     *
+     * @param databaseType  the database type of the primary and replicas
+     * @param dataSources   the replica pools, in configuration order
+     * @param balancing     the balancing strategy
+     * @param maxLagSeconds the maximum replication lag before a replica is skipped
+     * @param threadName    the name of the health check thread
+     */
+    public ReplicaRouter(DatabaseType databaseType, List<HikariDataSource> dataSources, Balancing balancing, long maxLagSeconds, String threadName) {
+        this.databaseType = databaseType;
+        this.replicas = dataSources.stream().map(Replica::new).toList();
+        this.balancing = balancing;
+        this.maxLagSeconds = maxLagSeconds;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules health checks, starting immediately on the health check thread. Reads go to the primary until a replica
+     * passed its first check.
+     *
+     * @param intervalSeconds the interval between health checks
+     */
+    public void start(long intervalSeconds) {
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0L, Math.max(1L, intervalSeconds), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops health checks and closes all replica pools.
+     */
+    public void shutdown() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (!replica.dataSource.isClosed())
+                replica.dataSource.close();
+        }
+    }
+
+    /**
+     * Gets a connection from a healthy replica.
+     *
+     * @return the connection or null if no replica is healthy
+     */
+    public @Nullable Connection getConnection() {
+        final Replica replica = selectReplica();
+        if (replica == null)
+            return null;
+
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markUnhealthy(replica, e.getMessage());
+            return null;
+        }
+    }
+
+    private @Nullable Replica selectReplica() {
+        return switch (balancing) {
+            case ROUND_ROBIN -> {
+                final int size = replicas.size();
+                final int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+                for (int i = 0; i < size; i++) {
+                    final Replica replica = replicas.get((start + i) % size);
+                    if (replica.healthy)
+                        yield replica;
+                }
+                yield null;
+            }
+            case LEAST_CONNECTIONS -> {
+                Replica best = null;
+                int bestActive = Integer.MAX_VALUE;
+                for (Replica replica : replicas) {
+                    if (!replica.healthy)
+                        continue;
+
+                    final HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+                    final int active = pool == null ? 0 : pool.getActiveConnections();
+                    if (active < bestActive) {
+                        best = replica;
+                        bestActive = active;
+                    }
+                }
+                yield best;
+            }
+        };
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            try (
+                Connection con = replica.dataSource.getConnection();
+                Statement statement = con.createStatement()
+            ) {
+                final long lag = queryLag(replica, statement);
+                if (lag == NOT_A_REPLICA) {
+                    markUnhealthy(replica, "not configured as a replica");
+                } else if (lag == NOT_REPLICATING) {
+                    markUnhealthy(replica, "replication is not running");
+                } else if (lag > maxLagSeconds) {
+                    markUnhealthy(replica, "replication lag of %d seconds".formatted(lag));
+                } else {
+                    markHealthy(replica);
+                }
+            } catch (SQLException e) {
+                markUnhealthy(replica, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Queries the replication lag of a replica. Falls back to the legacy status statement for servers that do not know
+     * the current one, and remembers which statement worked.
+     *
+     * @return the lag in seconds, {@link #NOT_A_REPLICA} if the server is not configured as a replica, or
+     * {@link #NOT_REPLICATING} if replication is stopped
+     * @throws SQLException if the lag could not be read, usually a missing REPLICATION CLIENT grant
+     */
+    private long queryLag(Replica replica, Statement statement) throws SQLException {
+        if (!replica.legacyStatus) {
+            try {
+                return queryLag(statement, databaseType.getReplicaStatusSql(), databaseType.getReplicaLagColumn());
+            } catch (SQLException e) {
+                replica.legacyStatus = true;
+            }
+        }
+
+        try {
+            return queryLag(statement, databaseType.getLegacyReplicaStatusSql(), databaseType.getLegacyReplicaLagColumn());
+        } catch (SQLException e) {
+            replica.legacyStatus = false; // Retry both on the next check, the grant may have been fixed
+            throw new SQLException("unable to read replication lag: " + e.getMessage(), e);
+        }
+    }
+
+    private static long queryLag(Statement statement, String sql, String lagColumn) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next())
+                return NOT_A_REPLICA; // Standalone or reset with RESET REPLICA ALL, its data may be arbitrarily stale
+
+            final long lag = rs.getLong(lagColumn);
+            return rs.wasNull() ? NOT_REPLICATING : lag;
+        }
+    }
+
+    private void markHealthy(Replica replica) {
+        if (!replica.healthy)
+            Logger.get().info("[DB] Replica {} is healthy, routing reads to it.", replica.name);
+        replica.healthy = true;
+    }
+
+    private void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy)
+            Logger.get().warn("[DB] Replica {} is unhealthy ({}), routing its reads to the primary.", replica.name, reason);
+        replica.healthy = false;
+    }
+
+    /**
+     * Gets the amount of replicas currently receiving reads.
+     *
+     * @return the healthy replica count
+     */
+    public int getHealthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Gets the amount of configured replicas.
+     *
+     * @return the replica count
+     */
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    /**
+     * Strategy for spreading reads over healthy replicas.
+     */
+    public enum Balancing {
+        /**
+         * Cycle through replicas in order.
+         */
+        ROUND_ROBIN,
+        /**
+         * Pick the replica with the fewest borrowed connections.
+         */
+        LEAST_CONNECTIONS;
+
+        /**
+         * Gets balancing from its config name like {@code round-robin}.
+         *
+         * @param name the name
+         * @return the balancing, round robin if the name is unknown
+         */
+        public static @NotNull Balancing fromConfig(String name) {
+            for (Balancing balancing : values()) {
+                if (balancing.name().replace('_', '-').equalsIgnoreCase(name))
+                    return balancing;
+            }
+            return ROUND_ROBIN;
+        }
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final String name;
+        private volatile boolean healthy = false;
+        private boolean legacyStatus = false; // Only used by the health check thread
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Driver level statement execution settings, prepared statement caching, server side prepares and batch rewriting.
+ *
+ * @param enabled        whether the profile is applied at all, when false driver defaults are used
+ * @param cacheSize      the amount of prepared statements cached per connection
+ * @param cacheSqlLimit  the maximum length of sql that is cached
+ * @param serverPrepare  whether statements are prepared on the server so repeated queries skip parsing
+ * @param rewriteBatches whether JDBC batches are sent as multi-row statements or bulk commands
+ */
+public record StatementProfile(boolean enabled, int cacheSize, int cacheSqlLimit, boolean serverPrepare, boolean rewriteBatches) {
+    /**
+     * Gets the statement profile from the {@code db.statements} config section.
+     *
+     * @return the statement profile
+     */
+    public static @NotNull StatementProfile fromConfig() {
+        return new StatementProfile(
+            Cfg.get().getOrDefault("db.statements.enabled", true),
+            Cfg.get().getOrDefault("db.statements.cache-size", 250),
+            Cfg.get().getOrDefault("db.statements.cache-sql-limit", 2048),
+            Cfg.get().getOrDefault("db.statements.server-prepare", true),
+            Cfg.get().getOrDefault("db.statements.rewrite-batches", true)
+        );
+    }
+
+    /**
+     * Gets the jdbc connection properties implementing this profile for a database type.
+     *
+     * @param db the database type
+     * @return the connection properties, empty if the profile is disabled or the driver has no such settings
+     */
+    public @NotNull Map<String, Object> getJdbcProperties(@NotNull DatabaseType db) {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        if (!enabled)
+            return properties;
+
+        switch (db) {
+            case MYSQL -> {
+                properties.put("cachePrepStmts", true);
+                properties.put("prepStmtCacheSize", cacheSize);
+                properties.put("prepStmtCacheSqlLimit", cacheSqlLimit);
+                properties.put("useServerPrepStmts", serverPrepare);
+                properties.put("rewriteBatchedStatements", rewriteBatches);
+
+                // Avoid round trips for state the driver can track itself
+                properties.put("cacheResultSetMetadata", true);
+                properties.put("cacheServerConfiguration", true);
+                properties.put("useLocalSessionState", true);
+                properties.put("elideSetAutoCommits", true);
+                properties.put("maintainTimeStats", false);
+            }
+            case MARIADB -> {
+                // MariaDB Connector/J 3 has no rewriteBatchedStatements, batches use the COM_STMT_BULK_EXECUTE command instead
+                properties.put("cachePrepStmts", true);
+                properties.put("prepStmtCacheSize", cacheSize);
+                properties.put("useServerPrepStmts", serverPrepare);
+                properties.put("useBulkStmts", rewriteBatches);
+            }
+            case H2 -> properties.put("QUERY_CACHE_SIZE", cacheSize); // Parsed statements cached per session
+            case HSQLDB -> {
+                // HSQLDB always caches compiled statements per session and has no driver settings for it
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.ExampleUser.ExamplePlugin.db;
+
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.jooq.Table;
+import org.jooq.UpdatableRecord;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue for upserts. Records are enqueued without blocking, merged by primary key and periodically flushed
+ * to the database as bulk upserts on a background thread.
+ * <p>
+ * Records must not be modified after they have been enqueued, enqueue a new record for the same primary key instead.
+ */
+public final class WriteBehindQueue {
+    private final ConcurrentHashMap<PendingKey, UpdatableRecord<?>> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final ScheduledExecutorService executor;
+    private final int batchSize;
+    private final long intervalMillis;
+    private volatile boolean running = false;
+
+    // Metrics
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    /**
+     * Instantiates a new Write-behind queue.
+     *
+     * @param threadName     the name of the background writer thread
+     * @param batchSize      the maximum amount of rows per upsert statement
+     * @param intervalMillis the interval between flushes in milliseconds
+     */
+    public WriteBehindQueue(String threadName, int batchSize, long intervalMillis) {
+        this.batchSize = Math.max(1, batchSize);
+        this.intervalMillis = Math.max(50L, intervalMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the background writer.
+     */
+    public void start() {
+        if (running)
+            return;
+
+        running = true;
+        executor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background writer and synchronously flushes all pending records. Must be called before closing the
+     * connection pool.
+     */
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+                Logger.get().warn("[DB] Write-behind writer did not stop in time, flushing on the current thread.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushQuietly();
+
+        if (!pending.isEmpty())
+            Logger.get().error("[DB] {} queued rows could not be written to the database during shutdown!", pending.size());
+    }
+
+    /**
+     * Enqueue a record to be upserted. If a record with the same primary key is already queued it is replaced.
+     *
+     * @param record the record
+     */
+    public void enqueue(@NotNull UpdatableRecord<?> record) {
+        if (pending.put(PendingKey.of(record), record) != null)
+            merged.increment();
+        enqueued.increment();
+
+        if (running && pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false); // Raced shutdown, which flushes the pending records itself
+            }
+        }
+    }
+
+    /**
+     * Flush all pending records to the database on the calling thread.
+     *
+     * @throws SQLException the sql exception
+     */
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            if (pending.isEmpty())
+                return;
+
+            final Map<Table<?>, List<UpdatableRecord<?>>> drained = drain();
+            final long start = System.nanoTime();
+
+            try (Connection con = DB.getConnection()) {
+                final DSLContext context = DB.getContext(con);
+                context.transaction(config -> {
+                    for (Map.Entry<Table<?>, List<UpdatableRecord<?>>> entry : drained.entrySet()) {
+                        DatabaseQueries.upsertAll(config.dsl(), entry.getKey(), entry.getValue(), batchSize);
+                    }
+                });
+            } catch (SQLException | DataAccessException e) {
+                requeue(drained);
+                failedFlushes.increment();
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+            }
+
+            final long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            totalFlushNanos.add(elapsed);
+            lastFlushNanos.set(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            drained.values().forEach(records -> flushedRows.add(records.size()));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            Logger.get().error("[DB] Failed to flush write-behind queue, rows will be retried on the next flush.", e);
+        }
+    }
+
+    /**
+     * Removes all pending records from the queue, grouped by table.
+     *
+     * @return the drained records
+     */
+    private Map<Table<?>, List<UpdatableRecord<?>>> drain() {
+        final Map<Table<?>, List<UpdatableRecord<?>>> drained = new HashMap<>();
+        for (Map.Entry<PendingKey, UpdatableRecord<?>> entry : pending.entrySet()) {
+            // Only remove the exact record we read, a concurrent enqueue for the same key will survive until the next flush
+            if (pending.remove(entry.getKey(), entry.getValue()))
+                drained.computeIfAbsent(entry.getKey().table(), k -> new ArrayList<>()).add(entry.getValue());
+        }
+        return drained;
+    }
+
+    /**
+     * Puts records back into the queue after a failed flush, without replacing records enqueued in the meantime.
+     *
+     * @param drained the drained records
+     */
+    private void requeue(Map<Table<?>, List<UpdatableRecord<?>>> drained) {
+        drained.values().forEach(records -> records.forEach(record -> pending.putIfAbsent(PendingKey.of(record), record)));
+    }
+
+    /**
+     * Gets the amount of rows waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    /**
+     * Gets the total amount of enqueued records.
+     *
+     * @return the enqueued count
+     */
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * Gets the amount of enqueued records that replaced an already queued record with the same primary key.
+     *
+     * @return the merged count
+     */
+    public long getMergedCount() {
+        return merged.sum();
+    }
+
+    /**
+     * Gets the total amount of rows written to the database.
+     *
+     * @return the flushed row count
+     */
+    public long getFlushedRowCount() {
+        return flushedRows.sum();
+    }
+
+    /**
+     * Gets the amount of successful flushes.
+     *
+     * @return the flush count
+     */
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * Gets the amount of failed flushes.
+     *
+     * @return the failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushes.sum();
+    }
+
+    /**
+     * Gets the duration of the last successful flush.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getLastFlushMillis() {
+        return lastFlushNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets the longest duration of a successful flush.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets the average duration of a successful flush.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getAverageFlushMillis() {
+        final long count = flushes.sum();
+        return count == 0 ? 0D : totalFlushNanos.sum() / (double) count / 1_000_000D;
+    }
+
+    /**
+     * Identifies a queued row by table and primary key values.
+     */
+    private record PendingKey(Table<?> table, Object[] key) {
+        static PendingKey of(UpdatableRecord<?> record) {
+            return new PendingKey(record.getTable(), record.key().intoArray());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PendingKey other)) return false;
+            return table.equals(other.table) && Arrays.deepEquals(key, other.key); // deepEquals compares byte[] keys by content
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * table.hashCode() + Arrays.deepHashCode(key);
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package io.github.ExampleUser.ExamplePlugin.db.jooq;
 
-import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import org.jetbrains.annotations.Nullable;
 import org.jooq.*;
 import org.jooq.conf.*;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.tools.JooqLogger;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.util.regex.Pattern;
 
@@ -18,62 +19,74 @@ public final class JooqContext {
 		JooqLogger.globalThreshold(Log.Level.ERROR); // Silence JOOQ warnings
 	}
 
-	private static final String TABLE_PREFIX = Cfg.get().getOrDefault("db.prefix", "example_"); // The table prefix as grabbed from config
 	private static final Pattern MATCH_ALL_EXCEPT_INFORMATION_SCHEMA = Pattern.compile("^(?!INFORMATION_SCHEMA)(.*?)$");
 	private static final Pattern MATCH_ALL = Pattern.compile("^(.*?)$");
-	private static final String REPLACEMENT = "%s$0".formatted(TABLE_PREFIX); //
-	private final SQLDialect dialect;
+	private final Configuration configuration;
+	private final DSLContext context;
 
     /**
      * Instantiates a new Jooq context.
+     * <p>
+     * The configuration is built once and reused for every context created from this instance, which lets jOOQ reuse
+     * its internal caches between queries.
      *
-	 * @param dialect the getSQLDialect
+	 * @param dialect      the getSQLDialect
+	 * @param dataSource   the pooled data source backing {@link #getContext()}
+	 * @param queryMetrics the query metrics to record into, or null to not install any execute listeners
+	 * @param tablePrefix  the table prefix from {@code db.prefix}
      */
-    public JooqContext(SQLDialect dialect) {
-		this.dialect = dialect;
+    public JooqContext(SQLDialect dialect, DataSource dataSource, @Nullable QueryMetrics queryMetrics, String tablePrefix) {
+		this.configuration = new DefaultConfiguration()
+				.set(dataSource)
+				.set(dialect)
+				.set(createSettings(tablePrefix)) // Shared by every context, never modified after creation
+				.set(queryMetrics == null ? new ExecuteListenerProvider[0] : new ExecuteListenerProvider[]{queryMetrics.createListenerProvider()});
+		this.context = configuration.dsl();
 	}
 
     /**
-     * Create DSL Context.
+     * Create DSL Context bound to a single connection. Derived from the shared configuration, so only a lightweight
+     * wrapper is allocated per call.
      *
      * @param connection the connection
      * @return the dsl context
      */
     public DSLContext createContext(Connection connection) {
-		record SimpleConnectionProvider(Connection connection) implements ConnectionProvider {
-
-			@Override
-			public Connection acquire() throws DataAccessException {
-				return connection;
-			}
-
-			@Override
-			public void release(Connection connection) throws DataAccessException {}
-		}
-		return createWith(new SimpleConnectionProvider(connection));
+		return configuration.derive(new SimpleConnectionProvider(connection)).dsl();
 	}
 
-	/**
-     * Applies default configuration
+    /**
+     * Gets the shared DSL Context backed by the connection pool. Connections are borrowed per query or transaction,
+     * the context is thread-safe.
      *
-     * @param connectionProvider A connection lifecycle handler API.
-     * @return DSLContext
+     * @return the dsl context
      */
-	private DSLContext createWith(ConnectionProvider connectionProvider) {
-		return new DefaultConfiguration()
-				.set(connectionProvider)
-				.set(dialect)
-				.set(createSettings())
-				.set(new ExecuteListenerProvider[0])
-				.dsl();
+    public DSLContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Connection provider handing out one already borrowed connection, the caller is responsible for closing it.
+	 *
+	 * @param connection the connection
+	 */
+	private record SimpleConnectionProvider(Connection connection) implements ConnectionProvider {
+		@Override
+		public Connection acquire() throws DataAccessException {
+			return connection;
+		}
+
+		@Override
+		public void release(Connection connection) throws DataAccessException {}
 	}
 
     /**
      * Returns base settings for DSL Contexts.
      *
+     * @param tablePrefix the table prefix
      * @return Settings
      */
-	private Settings createSettings() {
+	private static Settings createSettings(String tablePrefix) {
 		return new Settings()
 				.withBackslashEscaping(BackslashEscaping.OFF)
 				.withRenderSchema(false)
@@ -82,7 +95,7 @@ public final class JooqContext {
 								.withInputExpression(MATCH_ALL_EXCEPT_INFORMATION_SCHEMA)
 								.withTables(new MappedTable()
 										.withInputExpression(MATCH_ALL)
-										.withOutput(REPLACEMENT)
+										.withOutput("%s$0".formatted(tablePrefix))
 								)
 						)
 				)
@@ -0,0 +1,151 @@
+package io.github.ExampleUser.ExamplePlugin.db.jooq;
+
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.ExecuteListenerProvider;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Collects per statement latency histograms for render, execute and fetch phases of jOOQ queries.
+ * <p>
+ * Statements are keyed by their normalized SQL, runs of bind placeholders are collapsed so multi-row inserts and
+ * {@code IN} lists of different sizes share one entry.
+ */
+public final class QueryMetrics {
+    private static final int MAX_STATEMENTS = 512; // Upper bound on tracked distinct statements
+    private static final String OVERFLOW_KEY = "<other statements>";
+    private static final Pattern PLACEHOLDER_RUN = Pattern.compile("\\?(?:[\\s,()]*\\?)+");
+
+    private final ConcurrentHashMap<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> normalized = new ConcurrentHashMap<>();
+    private final long slowQueryNanos;
+
+    /**
+     * Instantiates new Query metrics.
+     *
+     * @param slowQueryMillis statements executing longer than this are logged, a negative value disables logging
+     */
+    public QueryMetrics(long slowQueryMillis) {
+        this.slowQueryNanos = slowQueryMillis < 0 ? Long.MAX_VALUE : slowQueryMillis * 1_000_000L;
+    }
+
+    /**
+     * Creates a listener provider recording into these metrics. A new listener is provided per execution so timings
+     * can be kept in plain fields.
+     *
+     * @return the execute listener provider
+     */
+    public ExecuteListenerProvider createListenerProvider() {
+        return () -> new QueryMetricsListener(this);
+    }
+
+    /**
+     * Gets the threshold above which executions are logged.
+     *
+     * @return the threshold in nanoseconds
+     */
+    long getSlowQueryNanos() {
+        return slowQueryNanos;
+    }
+
+    /**
+     * Gets or creates the stats for a statement.
+     *
+     * @param sql the rendered sql
+     * @return the stats
+     */
+    @NotNull
+    StatementStats getStats(@NotNull String sql) {
+        String key = normalized.get(sql);
+        if (key == null) {
+            key = sql.indexOf('?') >= 0 ? PLACEHOLDER_RUN.matcher(sql).replaceAll("?..") : sql;
+            if (normalized.size() < MAX_STATEMENTS * 4)
+                normalized.put(sql, key);
+        }
+
+        final StatementStats stats = statements.get(key);
+        if (stats != null)
+            return stats;
+
+        if (statements.size() >= MAX_STATEMENTS)
+            return statements.computeIfAbsent(OVERFLOW_KEY, StatementStats::new);
+
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /**
+     * Gets the statements with the highest mean execution time.
+     *
+     * @param limit the maximum amount of statements
+     * @return the slowest statements, slowest first
+     */
+    public List<StatementStats> getSlowest(int limit) {
+        return statements.values().stream()
+            .filter(stats -> stats.getExecute().getCount() > 0)
+            .sorted(Comparator.comparingDouble((StatementStats stats) -> stats.getExecute().getMeanMillis()).reversed())
+            .limit(Math.max(0, limit))
+            .toList();
+    }
+
+    /**
+     * Discards all recorded statistics.
+     */
+    public void reset() {
+        statements.clear();
+        normalized.clear();
+    }
+
+    /**
+     * Latency histograms for a single normalized statement.
+     */
+    public static final class StatementStats {
+        private final String sql;
+        private final LatencyHistogram render = new LatencyHistogram();
+        private final LatencyHistogram execute = new LatencyHistogram();
+        private final LatencyHistogram fetch = new LatencyHistogram();
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        /**
+         * Gets the normalized sql.
+         *
+         * @return the sql
+         */
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Gets the render phase histogram.
+         *
+         * @return the histogram
+         */
+        public LatencyHistogram getRender() {
+            return render;
+        }
+
+        /**
+         * Gets the execute phase histogram.
+         *
+         * @return the histogram
+         */
+        public LatencyHistogram getExecute() {
+            return execute;
+        }
+
+        /**
+         * Gets the fetch phase histogram.
+         *
+         * @return the histogram
+         */
+        public LatencyHistogram getFetch() {
+            return fetch;
+        }
+    }
+}
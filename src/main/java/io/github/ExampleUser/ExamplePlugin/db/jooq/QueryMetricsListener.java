@@ -0,0 +1,99 @@
+package io.github.ExampleUser.ExamplePlugin.db.jooq;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Query;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Execute listener timing a single query execution. Instances are not shared between executions.
+ */
+final class QueryMetricsListener implements ExecuteListener {
+    private static final long serialVersionUID = 1L;
+
+    private final QueryMetrics metrics;
+    private long renderStart;
+    private long renderNanos = -1;
+    private long executeStart;
+    private long executeNanos = -1;
+    private long fetchStart;
+    private long fetchNanos = -1;
+
+    QueryMetricsListener(QueryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        renderStart = System.nanoTime();
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        renderNanos = System.nanoTime() - renderStart;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        executeNanos = System.nanoTime() - executeStart;
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        fetchStart = System.nanoTime();
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        fetchNanos = System.nanoTime() - fetchStart;
+    }
+
+    @Override
+    public void end(ExecuteContext ctx) {
+        final String sql = ctx.sql();
+        if (sql == null)
+            return;
+
+        final QueryMetrics.StatementStats stats = metrics.getStats(sql);
+        if (renderNanos >= 0)
+            stats.getRender().record(renderNanos);
+        if (executeNanos >= 0)
+            stats.getExecute().record(executeNanos);
+        if (fetchNanos >= 0)
+            stats.getFetch().record(fetchNanos);
+
+        if (executeNanos >= metrics.getSlowQueryNanos())
+            logSlowQuery(ctx, sql);
+    }
+
+    private void logSlowQuery(ExecuteContext ctx, String sql) {
+        final Query query = ctx.query();
+        final int batchSize = ctx.batchQueries().length;
+        final String binds = query != null ? formatBindValues(query.getBindValues()) : "[batch of %d]".formatted(batchSize);
+
+        Logger.get().warn(
+            "[DB] Slow query took {} ms on thread '{}': {} with bind values {}",
+            "%.2f".formatted(executeNanos / 1_000_000D),
+            Thread.currentThread().getName(),
+            sql,
+            binds.length() > 1024 ? binds.substring(0, 1024) + "..." : binds
+        );
+    }
+
+    private static String formatBindValues(List<Object> values) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Object value : values) {
+            joiner.add(value instanceof byte[] bytes ? "0x" + HexFormat.of().formatHex(bytes) : String.valueOf(value));
+        }
+        return joiner.toString();
+    }
+}
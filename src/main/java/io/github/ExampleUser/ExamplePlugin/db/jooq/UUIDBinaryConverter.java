@@ -0,0 +1,95 @@
+package io.github.ExampleUser.ExamplePlugin.db.jooq;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.Converter;
+
+import java.util.UUID;
+
+/**
+ * Converts {@code BINARY(16)} columns to {@link UUID}s. Applied to generated uuid fields through a forced type in the
+ * jOOQ code generation config.
+ * <p>
+ * Bytes are big endian, most significant bits first, matching the layout of {@code UUID_TO_BIN} without swapping and
+ * HSQLDB's native {@code UUID} type.
+ */
+public final class UUIDBinaryConverter implements Converter<byte[], UUID> {
+    private static final long serialVersionUID = 1L;
+    private static final int UUID_BYTES = 16;
+
+    @Override
+    public UUID from(byte[] databaseObject) {
+        return fromBytes(databaseObject);
+    }
+
+    @Override
+    public byte[] to(UUID userObject) {
+        return toBytes(userObject);
+    }
+
+    @Override
+    public Class<byte[]> fromType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<UUID> toType() {
+        return UUID.class;
+    }
+
+    /**
+     * Convert byte array to uuid.
+     *
+     * @param bytes the byte array, must hold 16 bytes
+     * @return the uuid
+     */
+    @Contract("null -> null; !null -> !null")
+    public static @Nullable UUID fromBytes(byte @Nullable [] bytes) {
+        if (bytes == null)
+            return null;
+
+        if (bytes.length != UUID_BYTES)
+            throw new IllegalArgumentException("Expected %d bytes for a uuid but got %d".formatted(UUID_BYTES, bytes.length));
+
+        return new UUID(readLong(bytes, 0), readLong(bytes, 8));
+    }
+
+    /**
+     * Convert uuid to an array of bytes.
+     *
+     * @param uuid the uuid
+     * @return the byte array
+     */
+    @Contract("null -> null; !null -> !null")
+    public static byte @Nullable [] toBytes(@Nullable UUID uuid) {
+        if (uuid == null)
+            return null;
+
+        final byte[] bytes = new byte[UUID_BYTES];
+        writeLong(bytes, 0, uuid.getMostSignificantBits());
+        writeLong(bytes, 8, uuid.getLeastSignificantBits());
+        return bytes;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFFL) << 56
+            | (bytes[offset + 1] & 0xFFL) << 48
+            | (bytes[offset + 2] & 0xFFL) << 40
+            | (bytes[offset + 3] & 0xFFL) << 32
+            | (bytes[offset + 4] & 0xFFL) << 24
+            | (bytes[offset + 5] & 0xFFL) << 16
+            | (bytes[offset + 6] & 0xFFL) << 8
+            | (bytes[offset + 7] & 0xFFL);
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        bytes[offset] = (byte) (value >>> 56);
+        bytes[offset + 1] = (byte) (value >>> 48);
+        bytes[offset + 2] = (byte) (value >>> 40);
+        bytes[offset + 3] = (byte) (value >>> 32);
+        bytes[offset + 4] = (byte) (value >>> 24);
+        bytes[offset + 5] = (byte) (value >>> 16);
+        bytes[offset + 6] = (byte) (value >>> 8);
+        bytes[offset + 7] = (byte) value;
+    }
+}
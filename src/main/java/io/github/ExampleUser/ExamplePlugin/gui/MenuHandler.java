@@ -0,0 +1,119 @@
+package io.github.ExampleUser.ExamplePlugin.gui;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import io.github.ExampleUser.ExamplePlugin.utility.Scheduler;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A class to handle paginated menus.
+ * <p>
+ * Holds the rendered pages of all {@link PageSource}s in a cache shared by all viewers. A page is fetched and rendered
+ * off the main thread the first time it is requested, concurrent requests for the same page share one fetch, and the
+ * page is kept for a short time so flipping back and forth or opening the same menu again needs no query.
+ */
+public class MenuHandler implements Reloadable {
+    private final ExamplePlugin plugin;
+    private AsyncCache<PageKey, MenuPage<?, ?>> pages;
+
+    /**
+     * Instantiates a new Menu handler.
+     *
+     * @param plugin the plugin instance
+     */
+    public MenuHandler(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        pages = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(Math.max(1, Cfg.get().getOrDefault("organizations.menus.page-cache-seconds", 30))))
+            .maximumSize(Cfg.get().getOrDefault("organizations.menus.page-cache-size", 500))
+            .recordStats()
+            .buildAsync();
+    }
+
+    @Override
+    public void onDisable() {
+        if (pages != null)
+            pages.synchronous().invalidateAll();
+    }
+
+    /**
+     * Gets a page of a source, fetching and rendering it unless it is cached.
+     *
+     * @param source the source
+     * @param after  the key the page starts after or null for the first page
+     * @param <K>    the key type
+     * @param <T>    the entry type
+     * @return the page, failed if the source could not be fetched
+     */
+    @SuppressWarnings("unchecked")
+    public <K, T> @NotNull CompletableFuture<MenuPage<K, T>> getPage(@NotNull PageSource<K, T> source, @Nullable K after) {
+        final CompletableFuture<? extends MenuPage<?, ?>> page = pages.get(new PageKey(source.getId(), after), (key, executor) -> load(source, after));
+        return (CompletableFuture<MenuPage<K, T>>) page;
+    }
+
+    private static <K, T> CompletableFuture<MenuPage<?, ?>> load(PageSource<K, T> source, @Nullable K after) {
+        return source.fetch(after, PagedMenu.PAGE_SIZE + 1) // One extra entry tells if there is a next page
+            .thenApplyAsync(entries -> {
+                final List<T> shown = List.copyOf(entries.subList(0, Math.min(PagedMenu.PAGE_SIZE, entries.size())));
+                final List<ItemStack> items = new ArrayList<>(shown.size());
+                for (T entry : shown) {
+                    items.add(source.render(entry));
+                }
+
+                final K next = entries.size() > PagedMenu.PAGE_SIZE ? source.keyOf(shown.get(shown.size() - 1)) : null;
+                return new MenuPage<>(shown, List.copyOf(items), next);
+            }, Scheduler.get().getAsyncExecutor());
+    }
+
+    /**
+     * Forgets the cached pages of a source, for example after its entries changed.
+     *
+     * @param source the source id
+     */
+    public void invalidate(@NotNull String source) {
+        if (pages == null)
+            return;
+
+        pages.synchronous().asMap().keySet().removeIf(key -> key.source().equals(source));
+    }
+
+    /**
+     * Gets the page cache statistics.
+     *
+     * @return the cache stats
+     */
+    public @NotNull CacheStats getStats() {
+        return pages.synchronous().stats();
+    }
+
+    /**
+     * Gets the amount of cached pages.
+     *
+     * @return the page count
+     */
+    public long getCachedPageCount() {
+        return pages.synchronous().estimatedSize();
+    }
+
+    private record PageKey(String source, @Nullable Object after) {
+    }
+}
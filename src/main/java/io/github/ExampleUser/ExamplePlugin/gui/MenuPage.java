@@ -0,0 +1,27 @@
+package io.github.ExampleUser.ExamplePlugin.gui;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A rendered page of a {@link PagedMenu}. Items are templates shared by all viewers and must be copied before use.
+ *
+ * @param entries the entries
+ * @param items   the rendered item of every entry
+ * @param next    the key the next page starts after or null if this is the last page
+ * @param <K>     the key type
+ * @param <T>     the entry type
+ */
+public record MenuPage<K, T>(@NotNull List<T> entries, @NotNull List<ItemStack> items, @Nullable K next) {
+    /**
+     * Returns if there is a page after this one.
+     *
+     * @return the boolean
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
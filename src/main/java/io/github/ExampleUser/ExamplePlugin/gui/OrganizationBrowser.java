@@ -0,0 +1,152 @@
+package io.github.ExampleUser.ExamplePlugin.gui;
+
+import dev.triumphteam.gui.builder.item.ItemBuilder;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.organization.Rank;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Menus to browse all organizations and the members of an organization.
+ */
+public final class OrganizationBrowser {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneId.systemDefault());
+    private static final String ORGANIZATIONS_SOURCE = "organizations";
+    private static final String MEMBERS_SOURCE = "members:";
+
+    private OrganizationBrowser() {
+    }
+
+    /**
+     * Opens the menu of all organizations ordered by name.
+     *
+     * @param viewer the viewer
+     */
+    public static void openOrganizations(@NotNull Player viewer) {
+        new PagedMenu<>(ExamplePlugin.getInstance().getMenuHandler(), new OrganizationSource(), viewer, Messages.get("menu.organizations.title")).open();
+    }
+
+    /**
+     * Opens the menu of the members of an organization ordered by rank.
+     *
+     * @param viewer       the viewer
+     * @param organization the organization id
+     * @param name         the organization name
+     */
+    public static void openMembers(@NotNull Player viewer, @NotNull UUID organization, @NotNull String name) {
+        new PagedMenu<>(ExamplePlugin.getInstance().getMenuHandler(), new MemberSource(organization), viewer, Messages.get("menu.members.title", "organization", name)).open();
+    }
+
+    /**
+     * Forgets the cached pages showing organizations whose stored rows or memberships changed. The organization menu
+     * shows member counts, so it is forgotten for any change.
+     *
+     * @param organizations the changed organization ids
+     */
+    public static void invalidate(@NotNull Collection<UUID> organizations) {
+        if (organizations.isEmpty())
+            return;
+
+        final MenuHandler menus = ExamplePlugin.getInstance().getMenuHandler();
+        menus.invalidate(ORGANIZATIONS_SOURCE);
+        for (UUID organization : organizations) {
+            menus.invalidate(MEMBERS_SOURCE + organization);
+        }
+    }
+
+    private record OrganizationEntry(UUID id, String name, int members) {
+    }
+
+    private static final class OrganizationSource implements PageSource<String, OrganizationEntry> {
+        @Override
+        public @NotNull String getId() {
+            return ORGANIZATIONS_SOURCE;
+        }
+
+        @Override
+        public @NotNull CompletableFuture<List<OrganizationEntry>> fetch(@Nullable String after, int limit) {
+            return DB.supplyAsync(context -> {
+                final List<OrganizationEntry> entries = new ArrayList<>(limit);
+                DatabaseQueries.fetchOrganizationPage(context, after, limit)
+                    .forEach(row -> entries.add(new OrganizationEntry(row.value1(), row.value2(), row.value3())));
+                return entries;
+            });
+        }
+
+        @Override
+        public @NotNull String keyOf(@NotNull OrganizationEntry entry) {
+            return entry.name();
+        }
+
+        @Override
+        public @NotNull ItemStack render(@NotNull OrganizationEntry entry) {
+            return ItemBuilder.from(Material.WHITE_BANNER)
+                .name(PagedMenu.label("menu.organizations.name", "organization", entry.name()))
+                .lore(
+                    PagedMenu.label("menu.organizations.members", "members", entry.members()),
+                    PagedMenu.label("menu.organizations.click")
+                )
+                .build();
+        }
+
+        @Override
+        public void onClick(@NotNull Player viewer, @NotNull OrganizationEntry entry) {
+            openMembers(viewer, entry.id(), entry.name());
+        }
+    }
+
+    private static final class MemberSource implements PageSource<OrganizationMembersRecord, OrganizationMembersRecord> {
+        private final UUID organization;
+
+        private MemberSource(UUID organization) {
+            this.organization = organization;
+        }
+
+        @Override
+        public @NotNull String getId() {
+            return MEMBERS_SOURCE + organization;
+        }
+
+        @Override
+        public @NotNull CompletableFuture<List<OrganizationMembersRecord>> fetch(@Nullable OrganizationMembersRecord after, int limit) {
+            return DB.supplyAsync(context -> DatabaseQueries.fetchMemberPage(context, organization, after, limit));
+        }
+
+        @Override
+        public @NotNull OrganizationMembersRecord keyOf(@NotNull OrganizationMembersRecord entry) {
+            return entry;
+        }
+
+        @Override
+        public @NotNull ItemStack render(@NotNull OrganizationMembersRecord entry) {
+            final OfflinePlayer player = Bukkit.getOfflinePlayer(entry.getPlayerUuid());
+            final Rank rank = ExamplePlugin.getInstance().getOrganizationRegistry().getRankManager().getTable().getRank(entry.getRank());
+            return ItemBuilder.skull()
+                .owner(player)
+                .name(PagedMenu.label("menu.members.name", "player", player.getName() != null ? player.getName() : entry.getPlayerUuid().toString()))
+                .lore(
+                    PagedMenu.label("menu.members.rank", "rank", rank != null ? rank.name() : String.valueOf(entry.getRank())),
+                    PagedMenu.label("menu.members.joined", "date", DATE_FORMAT.format(Instant.ofEpochMilli(entry.getJoinedAt())))
+                )
+                .build();
+        }
+    }
+}
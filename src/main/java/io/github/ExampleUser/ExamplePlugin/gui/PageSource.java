@@ -0,0 +1,58 @@
+package io.github.ExampleUser.ExamplePlugin.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The entries shown by a {@link PagedMenu}, fetched one page at a time with keyset pagination.
+ *
+ * @param <K> the key type, the position after which the next page starts
+ * @param <T> the entry type
+ */
+public interface PageSource<K, T> {
+    /**
+     * Gets the id of this source, rendered pages are cached under it and shared by all viewers.
+     *
+     * @return the id
+     */
+    @NotNull String getId();
+
+    /**
+     * Fetches the entries following a key, off the main thread.
+     *
+     * @param after the key of the last entry of the previous page or null for the first page
+     * @param limit the maximum amount of entries
+     * @return the entries in order
+     */
+    @NotNull CompletableFuture<List<T>> fetch(@Nullable K after, int limit);
+
+    /**
+     * Gets the key of an entry, the next page starts after it.
+     *
+     * @param entry the entry
+     * @return the key
+     */
+    @NotNull K keyOf(@NotNull T entry);
+
+    /**
+     * Renders the item of an entry. Called off the main thread, must not touch the world.
+     *
+     * @param entry the entry
+     * @return the item
+     */
+    @NotNull ItemStack render(@NotNull T entry);
+
+    /**
+     * Called on the viewer's thread when an entry is clicked.
+     *
+     * @param viewer the viewer
+     * @param entry  the entry
+     */
+    default void onClick(@NotNull Player viewer, @NotNull T entry) {
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.ExampleUser.ExamplePlugin.gui;
+
+import dev.triumphteam.gui.builder.item.ItemBuilder;
+import dev.triumphteam.gui.guis.Gui;
+import dev.triumphteam.gui.guis.GuiItem;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.Messages;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A chest menu showing the entries of a {@link PageSource} one page at a time.
+ * <p>
+ * Only the shown page is fetched, through the {@link MenuHandler}'s page cache, and the following page is prefetched in
+ * the background so flipping forward is usually answered from the cache. The keys of visited pages are remembered, so
+ * flipping back never queries from the start. All methods must be called on the viewer's thread.
+ *
+ * @param <K> the key type
+ * @param <T> the entry type
+ */
+public final class PagedMenu<K, T> {
+    /**
+     * The amount of entries per page, five rows above the navigation row.
+     */
+    public static final int PAGE_SIZE = 45;
+    private static final int PREVIOUS_SLOT = 45;
+    private static final int INDICATOR_SLOT = 49;
+    private static final int NEXT_SLOT = 53;
+
+    private final MenuHandler handler;
+    private final PageSource<K, T> source;
+    private final Player viewer;
+    private final Gui gui;
+    private final Component previousLabel;
+    private final Component nextLabel;
+    private final List<K> cursors = new ArrayList<>(); // The key every visited page starts after, null for the first page
+    private int page;
+    private int generation; // Drops pages that arrive after the viewer flipped again
+    private boolean closed;
+
+    /**
+     * Instantiates a new Paged menu.
+     *
+     * @param handler the menu handler
+     * @param source  the source of the entries
+     * @param viewer  the viewer
+     * @param title   the title
+     */
+    public PagedMenu(@NotNull MenuHandler handler, @NotNull PageSource<K, T> source, @NotNull Player viewer, @NotNull Component title) {
+        this.handler = handler;
+        this.source = source;
+        this.viewer = viewer;
+        this.gui = Gui.gui()
+            .title(title)
+            .rows(6)
+            .disableAllInteractions()
+            .create();
+        this.previousLabel = label("menu.previous");
+        this.nextLabel = label("menu.next");
+        gui.setCloseGuiAction(event -> closed = true);
+        cursors.add(null);
+    }
+
+    /**
+     * Opens the menu on its first page.
+     */
+    public void open() {
+        gui.setItem(INDICATOR_SLOT, indicator(label("menu.loading")));
+        gui.open(viewer);
+        show(0);
+    }
+
+    private void show(int index) {
+        final int requested = ++generation;
+        final CompletableFuture<MenuPage<K, T>> future = handler.getPage(source, cursors.get(index));
+        if (future.isDone() && !future.isCompletedExceptionally()) { // Cached or prefetched, no need to wait a tick
+            display(index, future.join());
+            return;
+        }
+
+        DB.sync(future, viewer).whenComplete((result, throwable) -> {
+            if (closed || requested != generation)
+                return;
+
+            if (throwable != null) {
+                Logger.get().error("[Organizations] Failed to load page {} of menu {}:", index + 1, source.getId(), throwable);
+                viewer.sendMessage(Messages.get("menu.load-failed"));
+                gui.close(viewer);
+                return;
+            }
+            display(index, result);
+        });
+    }
+
+    private void display(int index, MenuPage<K, T> result) {
+        page = index;
+        final List<ItemStack> items = result.items();
+        for (int slot = 0; slot < PAGE_SIZE; slot++) {
+            if (slot >= items.size()) {
+                gui.removeItem(slot);
+                continue;
+            }
+
+            final T entry = result.entries().get(slot);
+            gui.setItem(slot, new GuiItem(items.get(slot).clone(), event -> source.onClick(viewer, entry))); // The template is shared
+        }
+
+        if (index > 0) {
+            gui.setItem(PREVIOUS_SLOT, navigation(previousLabel, index - 1));
+        } else {
+            gui.removeItem(PREVIOUS_SLOT);
+        }
+
+        if (result.hasNext()) {
+            if (cursors.size() == index + 1)
+                cursors.add(result.next());
+            gui.setItem(NEXT_SLOT, navigation(nextLabel, index + 1));
+            handler.getPage(source, result.next()); // Prefetch
+        } else {
+            gui.removeItem(NEXT_SLOT);
+        }
+
+        gui.setItem(INDICATOR_SLOT, indicator(items.isEmpty() ? label("menu.empty") : label("menu.page", "page", index + 1)));
+        gui.update();
+    }
+
+    private GuiItem navigation(Component name, int target) {
+        return ItemBuilder.from(Material.ARROW)
+            .name(name)
+            .asGuiItem(event -> {
+                if (target != page)
+                    show(target);
+            });
+    }
+
+    private static GuiItem indicator(Component name) {
+        return ItemBuilder.from(Material.PAPER)
+            .name(name)
+            .asGuiItem();
+    }
+
+    /**
+     * Renders a message from messages.yml as an item name or lore line.
+     *
+     * @param key          the message key
+     * @param placeholders alternating placeholder names and values
+     * @return the component
+     */
+    static Component label(String key, Object... placeholders) {
+        return Messages.get(key, placeholders).decoration(TextDecoration.ITALIC, false); // Item names and lore are italic by default
+    }
+}
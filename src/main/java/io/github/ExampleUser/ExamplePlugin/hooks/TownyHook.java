@@ -0,0 +1,371 @@
+package io.github.ExampleUser.ExamplePlugin.hooks;
+
+import com.palmergames.bukkit.towny.TownyAPI;
+import com.palmergames.bukkit.towny.object.Nation;
+import com.palmergames.bukkit.towny.object.Resident;
+import com.palmergames.bukkit.towny.object.Town;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.organization.MembershipListener;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationMember;
+import io.github.ExampleUser.ExamplePlugin.organization.OrganizationRegistry;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.UUIDMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hook to interface with <a href="https://github.com/TownyAdvanced/Towny">Towny</a>.
+ * <p>
+ * Keeps an index of the town and nation of every loaded organization member, grouped by town and nation and then by
+ * organization, so questions like "which members of my organization are in my nation" or "which organizations have
+ * members in this town" are answered in time proportional to the result. The index is built once when the plugin or
+ * Towny loads and then kept up to date by Towny's events and membership changes, Towny is never queried per lookup.
+ * Writes are serialized, reads never block.
+ */
+public class TownyHook implements Reloadable, MembershipListener {
+    private final ExamplePlugin plugin;
+    private final Object lock = new Object();
+    private final UUIDMap<Placement> placements = new UUIDMap<>();
+    private final Map<UUID, UUID> nationsByTown = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<UUID, Set<UUID>>> membersByTown = new ConcurrentHashMap<>(); // Town, organization, players
+    private final Map<UUID, Map<UUID, Set<UUID>>> membersByNation = new ConcurrentHashMap<>(); // Nation, organization, players
+
+    /**
+     * Instantiates a new Towny hook.
+     *
+     * @param plugin the plugin instance
+     */
+    public TownyHook(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        if (!isTownyLoaded()) return;
+
+        plugin.getOrganizationRegistry().addMembershipListener(this);
+        rebuild();
+    }
+
+    @Override
+    public void onDisable() {
+        if (!isTownyLoaded()) return;
+
+        plugin.getOrganizationRegistry().removeMembershipListener(this);
+        synchronized (lock) {
+            clear();
+        }
+    }
+
+    /**
+     * Check if Towny is present on the server.
+     *
+     * @return the boolean
+     */
+    public boolean isTownyLoaded() {
+        return plugin.getServer().getPluginManager().isPluginEnabled("Towny");
+    }
+
+    /**
+     * Rebuilds the index from Towny's data, for all organization members loaded in the registry.
+     */
+    public void rebuild() {
+        final long start = System.nanoTime();
+        final TownyAPI towny = TownyAPI.getInstance();
+        final OrganizationRegistry registry = plugin.getOrganizationRegistry();
+
+        synchronized (lock) {
+            clear();
+            for (Town town : towny.getTowns()) {
+                final Nation nation = town.getNationOrNull();
+                if (nation != null)
+                    nationsByTown.put(town.getUUID(), nation.getUUID());
+            }
+
+            registry.forEachMember(member -> { // One pass over the members, grouped by organization in place()
+                final Resident resident = towny.getResident(member.getPlayer());
+                final Town town = resident == null ? null : resident.getTownOrNull();
+                place(member.getPlayer(), member.getOrganization().getId(), town == null ? null : town.getUUID());
+            });
+        }
+
+        Logger.get().info("[Organizations] Indexed the towns of {} organization members in {} ms.", placements.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @Override
+    public void onMembershipChange(@NotNull UUID player, @Nullable OrganizationMember previous, @Nullable OrganizationMember current) {
+        if (previous == current)
+            return; // Rank change
+
+        synchronized (lock) {
+            if (current == null) {
+                unplace(player);
+                return;
+            }
+
+            final Placement placement = placements.get(player);
+            final UUID town = placement != null ? placement.town() : lookupTown(player);
+            place(player, current.getOrganization().getId(), town);
+        }
+    }
+
+    private static @Nullable UUID lookupTown(UUID player) {
+        final Resident resident = TownyAPI.getInstance().getResident(player);
+        final Town town = resident == null ? null : resident.getTownOrNull();
+        return town == null ? null : town.getUUID();
+    }
+
+    /**
+     * Records that a resident joined a town.
+     *
+     * @param player the player uuid
+     * @param town   the town uuid
+     */
+    public void onResidentJoinTown(@NotNull UUID player, @NotNull UUID town) {
+        synchronized (lock) {
+            final Placement placement = placements.get(player);
+            if (placement != null)
+                place(player, placement.organization(), town);
+        }
+    }
+
+    /**
+     * Records that a resident left a town.
+     *
+     * @param player the player uuid
+     * @param town   the town uuid
+     */
+    public void onResidentLeaveTown(@NotNull UUID player, @NotNull UUID town) {
+        synchronized (lock) {
+            final Placement placement = placements.get(player);
+            if (placement != null && town.equals(placement.town()))
+                place(player, placement.organization(), null);
+        }
+    }
+
+    /**
+     * Records that a town joined or left a nation, moving its members with it.
+     *
+     * @param town   the town uuid
+     * @param nation the nation uuid or null if the town left its nation
+     */
+    public void onTownNationChange(@NotNull UUID town, @Nullable UUID nation) {
+        synchronized (lock) {
+            final UUID previous = nation == null ? nationsByTown.remove(town) : nationsByTown.put(town, nation);
+            if (previous != null && previous.equals(nation))
+                return;
+
+            final Map<UUID, Set<UUID>> townMembers = membersByTown.get(town);
+            if (townMembers == null)
+                return;
+
+            townMembers.forEach((organization, players) -> {
+                for (UUID player : players) {
+                    if (previous != null)
+                        remove(membersByNation, previous, organization, player);
+                    if (nation != null)
+                        add(membersByNation, nation, organization, player);
+                }
+            });
+        }
+    }
+
+    /**
+     * Records that a town was deleted, its members no longer have a town.
+     *
+     * @param town the town uuid
+     */
+    public void onTownDelete(@NotNull UUID town) {
+        synchronized (lock) {
+            final Map<UUID, Set<UUID>> townMembers = membersByTown.get(town);
+            if (townMembers != null) {
+                townMembers.forEach((organization, players) -> {
+                    for (UUID player : Set.copyOf(players)) {
+                        place(player, organization, null);
+                    }
+                });
+            }
+            nationsByTown.remove(town);
+        }
+    }
+
+    /**
+     * Records that a nation was deleted, its towns no longer have a nation.
+     *
+     * @param nation the nation uuid
+     */
+    public void onNationDelete(@NotNull UUID nation) {
+        synchronized (lock) {
+            for (Map.Entry<UUID, UUID> entry : Set.copyOf(nationsByTown.entrySet())) {
+                if (entry.getValue().equals(nation))
+                    onTownNationChange(entry.getKey(), null);
+            }
+        }
+    }
+
+    private void place(UUID player, UUID organization, @Nullable UUID town) {
+        unplace(player);
+        placements.put(player, new Placement(organization, town));
+        if (town == null)
+            return;
+
+        add(membersByTown, town, organization, player);
+        final UUID nation = nationsByTown.get(town);
+        if (nation != null)
+            add(membersByNation, nation, organization, player);
+    }
+
+    private void unplace(UUID player) {
+        final Placement placement = placements.remove(player);
+        if (placement == null || placement.town() == null)
+            return;
+
+        remove(membersByTown, placement.town(), placement.organization(), player);
+        final UUID nation = nationsByTown.get(placement.town());
+        if (nation != null)
+            remove(membersByNation, nation, placement.organization(), player);
+    }
+
+    private static void add(Map<UUID, Map<UUID, Set<UUID>>> index, UUID group, UUID organization, UUID player) {
+        index.computeIfAbsent(group, ignored -> new ConcurrentHashMap<>())
+            .computeIfAbsent(organization, ignored -> ConcurrentHashMap.newKeySet())
+            .add(player);
+    }
+
+    private static void remove(Map<UUID, Map<UUID, Set<UUID>>> index, UUID group, UUID organization, UUID player) {
+        final Map<UUID, Set<UUID>> organizations = index.get(group);
+        if (organizations == null)
+            return;
+
+        final Set<UUID> players = organizations.get(organization);
+        if (players == null || !players.remove(player) || !players.isEmpty())
+            return;
+
+        organizations.remove(organization);
+        if (organizations.isEmpty())
+            index.remove(group);
+    }
+
+    private void clear() {
+        placements.clear();
+        nationsByTown.clear();
+        membersByTown.clear();
+        membersByNation.clear();
+    }
+
+    /**
+     * Gets the town of an organization member.
+     *
+     * @param player the player uuid
+     * @return the town uuid or null if the player is not in a town or not a loaded organization member
+     */
+    public @Nullable UUID getTown(@NotNull UUID player) {
+        final Placement placement = placements.get(player);
+        return placement == null ? null : placement.town();
+    }
+
+    /**
+     * Gets the nation of an organization member.
+     *
+     * @param player the player uuid
+     * @return the nation uuid or null if the player is not in a nation or not a loaded organization member
+     */
+    public @Nullable UUID getNation(@NotNull UUID player) {
+        final UUID town = getTown(player);
+        return town == null ? null : nationsByTown.get(town);
+    }
+
+    /**
+     * Gets the members of an organization that reside in a town.
+     *
+     * @param organization the organization id
+     * @param town         the town uuid
+     * @return a snapshot of the player uuids
+     */
+    public @NotNull Set<UUID> getMembersInTown(@NotNull UUID organization, @NotNull UUID town) {
+        return getMembers(membersByTown, town, organization);
+    }
+
+    /**
+     * Gets the members of an organization that reside in a nation.
+     *
+     * @param organization the organization id
+     * @param nation       the nation uuid
+     * @return a snapshot of the player uuids
+     */
+    public @NotNull Set<UUID> getMembersInNation(@NotNull UUID organization, @NotNull UUID nation) {
+        return getMembers(membersByNation, nation, organization);
+    }
+
+    /**
+     * Gets the organizations with members residing in a town.
+     *
+     * @param town the town uuid
+     * @return a snapshot of the organization ids
+     */
+    public @NotNull Set<UUID> getOrganizationsInTown(@NotNull UUID town) {
+        return getOrganizations(membersByTown, town);
+    }
+
+    /**
+     * Gets the organizations with members residing in a nation.
+     *
+     * @param nation the nation uuid
+     * @return a snapshot of the organization ids
+     */
+    public @NotNull Set<UUID> getOrganizationsInNation(@NotNull UUID nation) {
+        return getOrganizations(membersByNation, nation);
+    }
+
+    private static Set<UUID> getMembers(Map<UUID, Map<UUID, Set<UUID>>> index, UUID group, UUID organization) {
+        final Map<UUID, Set<UUID>> organizations = index.get(group);
+        final Set<UUID> players = organizations == null ? null : organizations.get(organization);
+        return players == null ? Set.of() : Set.copyOf(players);
+    }
+
+    private static Set<UUID> getOrganizations(Map<UUID, Map<UUID, Set<UUID>>> index, UUID group) {
+        final Map<UUID, Set<UUID>> organizations = index.get(group);
+        return organizations == null ? Set.of() : Set.copyOf(organizations.keySet());
+    }
+
+    /**
+     * Gets the amount of indexed organization members.
+     *
+     * @return the member count
+     */
+    public int getIndexedMemberCount() {
+        return placements.size();
+    }
+
+    /**
+     * Gets the amount of indexed towns with organization members.
+     *
+     * @return the town count
+     */
+    public int getIndexedTownCount() {
+        return membersByTown.size();
+    }
+
+    /**
+     * Gets the amount of indexed nations with organization members.
+     *
+     * @return the nation count
+     */
+    public int getIndexedNationCount() {
+        return membersByNation.size();
+    }
+
+    private record Placement(UUID organization, @Nullable UUID town) {
+    }
+}
@@ -27,6 +27,10 @@ public class ListenerHandler implements Reloadable {
         // Register listeners here
         //plugin.getServer().getPluginManager().registerEvents(new PlayerJoinListener(plugin), plugin);
         plugin.getServer().getPluginManager().registerEvents(new VaultListener(), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new MembershipPreloadListener(plugin.getOrganizationRegistry().getMembershipLoader()), plugin);
+        plugin.getServer().getPluginManager().registerEvents(new OrganizationChatListener(plugin.getOrganizationChat()), plugin);
+        if (ExamplePlugin.getTownyHook().isTownyLoaded())
+            plugin.getServer().getPluginManager().registerEvents(new TownyListener(ExamplePlugin.getTownyHook()), plugin);
     }
 
     @Override
@@ -0,0 +1,47 @@
+package io.github.ExampleUser.ExamplePlugin.listener;
+
+import io.github.ExampleUser.ExamplePlugin.organization.MembershipLoader;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Loads organization data of players while they log in and unloads it after they quit.
+ */
+public class MembershipPreloadListener implements Listener {
+    private final MembershipLoader membershipLoader;
+
+    /**
+     * Instantiates a new Membership preload listener.
+     *
+     * @param membershipLoader the membership loader
+     */
+    public MembershipPreloadListener(MembershipLoader membershipLoader) {
+        this.membershipLoader = membershipLoader;
+    }
+
+    /**
+     * Load the data of an allowed login, the login waits until it is loaded or the timeout elapses.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED)
+            return;
+
+        membershipLoader.preload(e.getUniqueId());
+    }
+
+    /**
+     * Schedule the data of a player to be unloaded after the grace period.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        membershipLoader.scheduleUnload(e.getPlayer().getUniqueId());
+    }
+}
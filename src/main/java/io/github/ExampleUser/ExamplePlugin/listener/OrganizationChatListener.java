@@ -0,0 +1,59 @@
+package io.github.ExampleUser.ExamplePlugin.listener;
+
+import io.github.ExampleUser.ExamplePlugin.chat.OrganizationChat;
+import io.papermc.paper.event.player.AsyncChatEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Keeps organization chat channels up to date and redirects chat of players who toggled organization chat.
+ */
+public class OrganizationChatListener implements Listener {
+    private final OrganizationChat organizationChat;
+
+    /**
+     * Instantiates a new Organization chat listener.
+     *
+     * @param organizationChat the organization chat
+     */
+    public OrganizationChatListener(OrganizationChat organizationChat) {
+        this.organizationChat = organizationChat;
+    }
+
+    /**
+     * Add the player to the channel of their organization.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        organizationChat.onJoin(e.getPlayer());
+    }
+
+    /**
+     * Remove the player from their channel.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        organizationChat.onQuit(e.getPlayer());
+    }
+
+    /**
+     * Send the message to the organization instead of public chat if the player toggled organization chat.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
+    public void onChat(AsyncChatEvent e) {
+        if (!organizationChat.isToggled(e.getPlayer().getUniqueId()))
+            return;
+
+        if (organizationChat.send(e.getPlayer(), e.message()))
+            e.setCancelled(true);
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.ExampleUser.ExamplePlugin.listener;
+
+import com.palmergames.bukkit.towny.event.DeleteNationEvent;
+import com.palmergames.bukkit.towny.event.DeleteTownEvent;
+import com.palmergames.bukkit.towny.event.NationAddTownEvent;
+import com.palmergames.bukkit.towny.event.NationRemoveTownEvent;
+import com.palmergames.bukkit.towny.event.NewNationEvent;
+import com.palmergames.bukkit.towny.event.NewTownEvent;
+import com.palmergames.bukkit.towny.event.TownAddResidentEvent;
+import com.palmergames.bukkit.towny.event.TownRemoveResidentEvent;
+import com.palmergames.bukkit.towny.event.TownyLoadedDatabaseEvent;
+import com.palmergames.bukkit.towny.object.Resident;
+import io.github.ExampleUser.ExamplePlugin.hooks.TownyHook;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * Event Listener for the Towny Hook {@link TownyHook}, applies town and nation changes to its index.
+ */
+public class TownyListener implements Listener {
+    private final TownyHook townyHook;
+
+    /**
+     * Instantiates a new Towny listener.
+     *
+     * @param townyHook the towny hook
+     */
+    public TownyListener(TownyHook townyHook) {
+        this.townyHook = townyHook;
+    }
+
+    /**
+     * Rebuild the index after Towny (re)loaded its data.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTownyLoaded(TownyLoadedDatabaseEvent e) {
+        townyHook.rebuild();
+    }
+
+    /**
+     * Index the mayor of a new town, founding a town adds no resident through {@link TownAddResidentEvent}.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNewTown(NewTownEvent e) {
+        final Resident mayor = e.getTown().getMayor();
+        if (mayor != null)
+            townyHook.onResidentJoinTown(mayor.getUUID(), e.getTown().getUUID());
+    }
+
+    /**
+     * Index the capital of a new nation.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNewNation(NewNationEvent e) {
+        if (e.getNation().getCapital() != null)
+            townyHook.onTownNationChange(e.getNation().getCapital().getUUID(), e.getNation().getUUID());
+    }
+
+    /**
+     * Index the new town of a resident.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTownAddResident(TownAddResidentEvent e) {
+        townyHook.onResidentJoinTown(e.getResident().getUUID(), e.getTown().getUUID());
+    }
+
+    /**
+     * Remove the town of a resident who left it.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTownRemoveResident(TownRemoveResidentEvent e) {
+        townyHook.onResidentLeaveTown(e.getResident().getUUID(), e.getTown().getUUID());
+    }
+
+    /**
+     * Move the members of a town into its new nation.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNationAddTown(NationAddTownEvent e) {
+        townyHook.onTownNationChange(e.getTown().getUUID(), e.getNation().getUUID());
+    }
+
+    /**
+     * Remove the members of a town from the nation it left.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onNationRemoveTown(NationRemoveTownEvent e) {
+        townyHook.onTownNationChange(e.getTown().getUUID(), null);
+    }
+
+    /**
+     * Remove the town of all residents of a deleted town.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeleteTown(DeleteTownEvent e) {
+        townyHook.onTownDelete(e.getTownUUID());
+    }
+
+    /**
+     * Remove the nation of all towns of a deleted nation.
+     *
+     * @param e event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeleteNation(DeleteNationEvent e) {
+        townyHook.onNationDelete(e.getNationUUID());
+    }
+}
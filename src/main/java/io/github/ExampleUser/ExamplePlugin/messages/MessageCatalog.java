@@ -0,0 +1,56 @@
+package io.github.ExampleUser.ExamplePlugin.messages;
+
+import com.github.milkdrinkers.Crate.Config;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable set of compiled messages by key. A reload builds a new catalog instead of changing this one, so readers
+ * always see either the old or the new messages and never a mix.
+ */
+public final class MessageCatalog {
+    static final MessageCatalog EMPTY = new MessageCatalog(Map.of());
+
+    private final Map<String, MessageTemplate> templates;
+
+    private MessageCatalog(Map<String, MessageTemplate> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Compiles every message of a messages file, keyed by its path like {@code organization.not-member}.
+     *
+     * @param file the messages file
+     * @return the catalog
+     */
+    public static @NotNull MessageCatalog load(@NotNull Config file) {
+        final Map<String, MessageTemplate> templates = new HashMap<>();
+        for (String key : file.keySet()) {
+            if (file.get(key) instanceof String message)
+                templates.put(key, MessageTemplate.compile(message));
+        }
+        return new MessageCatalog(Map.copyOf(templates));
+    }
+
+    /**
+     * Gets a message.
+     *
+     * @param key the key
+     * @return the template or null if there is no message with the key
+     */
+    public @Nullable MessageTemplate get(@NotNull String key) {
+        return templates.get(key);
+    }
+
+    /**
+     * Gets the amount of messages.
+     *
+     * @return the message count
+     */
+    public int size() {
+        return templates.size();
+    }
+}
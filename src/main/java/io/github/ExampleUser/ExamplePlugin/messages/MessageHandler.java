@@ -0,0 +1,93 @@
+package io.github.ExampleUser.ExamplePlugin.messages;
+
+import com.github.milkdrinkers.Crate.Config;
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class that generates/loads the messages file and provides its compiled messages.
+ * <p>
+ * Messages are compiled into {@link MessageTemplate}s once when the file is loaded, sending a message only fills in its
+ * placeholders. Reloading compiles a complete new {@link MessageCatalog} and then swaps it in with a single write.
+ */
+public class MessageHandler implements Reloadable {
+    private final ExamplePlugin plugin;
+    private final Set<String> missingKeys = ConcurrentHashMap.newKeySet(); // Reported once per reload
+    private Config file;
+    private volatile MessageCatalog catalog = MessageCatalog.EMPTY;
+
+    /**
+     * Instantiates a new Message handler.
+     *
+     * @param plugin the plugin instance
+     */
+    public MessageHandler(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+        file = new Config("messages", plugin.getDataFolder().getPath(), plugin.getResource("messages.yml")); // Create a messages file from the template in our resources folder
+    }
+
+    @Override
+    public void onEnable() {
+        compile();
+    }
+
+    @Override
+    public void onDisable() {
+    }
+
+    /**
+     * Reloads the messages file from disk and swaps in its messages.
+     *
+     * @return the amount of loaded messages
+     */
+    public int reload() {
+        file.forceReload();
+        return compile();
+    }
+
+    private int compile() {
+        final long start = System.nanoTime();
+        final MessageCatalog loaded = MessageCatalog.load(file);
+        catalog = loaded;
+        missingKeys.clear();
+        Logger.get().info("[Organizations] Compiled {} messages in {} ms.", loaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return loaded.size();
+    }
+
+    /**
+     * Renders a message.
+     *
+     * @param key          the message key
+     * @param placeholders alternating placeholder names and values
+     * @return the component, the key itself if the message does not exist
+     */
+    public @NotNull Component render(@NotNull String key, @NotNull Object... placeholders) {
+        final MessageTemplate template = catalog.get(key);
+        if (template == null) {
+            if (missingKeys.add(key))
+                Logger.get().warn("[Organizations] The message {} is missing from messages.yml.", key);
+            return Component.text(key);
+        }
+        return template.render(placeholders);
+    }
+
+    /**
+     * Gets the current messages.
+     *
+     * @return the catalog
+     */
+    public @NotNull MessageCatalog getCatalog() {
+        return catalog;
+    }
+}
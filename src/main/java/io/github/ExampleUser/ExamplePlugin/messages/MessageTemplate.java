@@ -0,0 +1,143 @@
+package io.github.ExampleUser.ExamplePlugin.messages;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A message parsed once from MiniMessage into a component tree.
+ * <p>
+ * Every tag that is not a standard MiniMessage tag, like {@code <player>}, becomes a slot in the tree. Rendering copies
+ * only the parts of the tree leading to slots and inserts the placeholder values there, the MiniMessage string is never
+ * parsed again. Messages without slots are rendered without copying anything. Slots are also filled in hover texts,
+ * but not in click actions since those are plain strings.
+ */
+public final class MessageTemplate {
+    private static final String SLOT_PREFIX = "\u0000slot:"; // Never a real translation key
+    private static final TagResolver STANDARD = TagResolver.standard();
+
+    private final String source;
+    private final Component component;
+    private final Set<String> slots;
+
+    private MessageTemplate(String source, Component component, Set<String> slots) {
+        this.source = source;
+        this.component = component;
+        this.slots = slots;
+    }
+
+    /**
+     * Parses a message.
+     *
+     * @param source the message in MiniMessage format
+     * @return the template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull String source) {
+        final Set<String> slots = new LinkedHashSet<>();
+        final Component component = MiniMessage.miniMessage().deserialize(source, new SlotResolver(slots));
+        return new MessageTemplate(source, component, Collections.unmodifiableSet(slots));
+    }
+
+    /**
+     * Renders the message.
+     *
+     * @param placeholders alternating placeholder names and values, values are inserted as components if they are
+     *                     {@link ComponentLike} and as unparsed text otherwise
+     * @return the component
+     */
+    public @NotNull Component render(@NotNull Object... placeholders) {
+        if (slots.isEmpty())
+            return component;
+
+        return fill(component, placeholders);
+    }
+
+    private static Component fill(Component component, Object[] placeholders) {
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(SLOT_PREFIX)) {
+            final String name = translatable.key().substring(SLOT_PREFIX.length());
+            return lookup(name, placeholders).applyFallbackStyle(component.style());
+        }
+
+        Component result = component;
+        final HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null && hover.value() instanceof Component text) {
+            final Component filled = fill(text, placeholders);
+            if (filled != text)
+                result = result.hoverEvent(HoverEvent.showText(filled));
+        }
+
+        final List<Component> children = component.children();
+        List<Component> filledChildren = null; // Only copied once a child changed
+        for (int i = 0; i < children.size(); i++) {
+            final Component child = children.get(i);
+            final Component filled = fill(child, placeholders);
+            if (filled != child && filledChildren == null)
+                filledChildren = new ArrayList<>(children.subList(0, i));
+            if (filledChildren != null)
+                filledChildren.add(filled);
+        }
+        return filledChildren == null ? result : result.children(filledChildren);
+    }
+
+    private static Component lookup(String name, Object[] placeholders) {
+        for (int i = 0; i + 1 < placeholders.length; i += 2) {
+            if (!name.equals(placeholders[i]))
+                continue;
+
+            final Object value = placeholders[i + 1];
+            return value instanceof ComponentLike like ? like.asComponent() : Component.text(String.valueOf(value));
+        }
+        return Component.text("<" + name + ">"); // Missing placeholders stay visible
+    }
+
+    /**
+     * Gets the message in MiniMessage format.
+     *
+     * @return the source
+     */
+    public @NotNull String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the names of the placeholders used in the message.
+     *
+     * @return the slot names
+     */
+    public @NotNull Set<String> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Resolves every tag that is not a standard tag to a slot.
+     */
+    private record SlotResolver(Set<String> slots) implements TagResolver {
+        @Override
+        public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+            if (STANDARD.has(name))
+                return null;
+
+            slots.add(name);
+            return Tag.selfClosingInserting(Component.translatable(SLOT_PREFIX + name));
+        }
+
+        @Override
+        public boolean has(@NotNull String name) {
+            return !STANDARD.has(name);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Listener for memberships added to or removed from the {@link OrganizationRegistry}.
+ * <p>
+ * Called on the thread that changed the membership, which may be a database thread while players are loaded.
+ * Implementations must be thread safe and must not block.
+ */
+@FunctionalInterface
+public interface MembershipListener {
+    /**
+     * Called after the membership of a player was added, removed or had its rank changed. Both members are the same
+     * instance for rank changes.
+     *
+     * @param player   the player uuid
+     * @param previous the previous membership or null if the player was not in a loaded organization
+     * @param current  the current membership or null if the player is no longer in a loaded organization
+     */
+    void onMembershipChange(@NotNull UUID player, @Nullable OrganizationMember previous, @Nullable OrganizationMember current);
+}
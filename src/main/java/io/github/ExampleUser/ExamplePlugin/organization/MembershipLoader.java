@@ -0,0 +1,305 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationInvitesRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.LatencyHistogram;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.Scheduler;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads the organization data of players into the {@link OrganizationRegistry} before they join and unloads it a
+ * while after they quit.
+ * <p>
+ * Concurrent loads of the same player share one database query, so a quick reconnect never loads twice. Data of a
+ * player who reconnects within the grace period is still loaded and counts as a cache hit. Only organizations this
+ * loader registered are unregistered again, organizations from the startup preload stay loaded.
+ */
+public final class MembershipLoader {
+    private static final long TICKS_PER_SECOND = 20L;
+
+    private final ExamplePlugin plugin;
+    private final OrganizationRegistry registry;
+    private final long timeoutMillis;
+    private final long unloadGraceSeconds;
+    private final Set<UUID> loaded = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ScheduledTask> pendingUnloads = new ConcurrentHashMap<>();
+    private final Set<UUID> registeredOrganizations = ConcurrentHashMap.newKeySet();
+    private final Object unloadLock = new Object(); // Orders unloads against the loaded check of preloads
+
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    /**
+     * Instantiates a new Membership loader.
+     *
+     * @param plugin             the plugin instance
+     * @param registry           the registry to load into
+     * @param timeoutMillis      the maximum time a login waits for its data
+     * @param unloadGraceSeconds the time data is kept after a player quits
+     */
+    public MembershipLoader(ExamplePlugin plugin, OrganizationRegistry registry, long timeoutMillis, long unloadGraceSeconds) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.timeoutMillis = timeoutMillis;
+        this.unloadGraceSeconds = unloadGraceSeconds;
+    }
+
+    /**
+     * Loads the data of players who are already online, for example after a reload.
+     */
+    public void start() {
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            load(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Cancels pending unloads.
+     */
+    public void shutdown() {
+        pendingUnloads.values().forEach(ScheduledTask::cancel);
+        pendingUnloads.clear();
+        loaded.clear();
+        registeredOrganizations.clear();
+    }
+
+    /**
+     * Loads the data of a player, blocking for at most the configured timeout. Must not be called on the main
+     * thread. If the timeout elapses the load finishes in the background.
+     *
+     * @param player the player uuid
+     */
+    public void preload(@NotNull UUID player) {
+        final boolean hit;
+        synchronized (unloadLock) { // An unload either finished before this or finds itself cancelled
+            cancelUnload(player);
+            hit = loaded.contains(player);
+        }
+
+        if (hit) {
+            hits.increment();
+            return;
+        }
+        misses.increment();
+
+        try {
+            load(player).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            Logger.get().warn("[Organizations] Loading data of {} took longer than {} ms, continuing in the background.", player, timeoutMillis);
+        } catch (ExecutionException e) {
+            Logger.get().error("[Organizations] Failed to load data of {}:", player, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loads the data of a player asynchronously, joining a load already in progress.
+     *
+     * @param player the player uuid
+     * @return the future completing when the data is in the registry
+     */
+    public @NotNull CompletableFuture<Void> load(@NotNull UUID player) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final CompletableFuture<Void> existing = loading.putIfAbsent(player, future);
+        if (existing != null)
+            return existing;
+
+        final long start = System.nanoTime();
+        final CompletableFuture<MembershipSnapshot> query;
+        try {
+            query = DB.supplyAsync(context -> DatabaseQueries.loadMembership(context, player));
+        } catch (RuntimeException e) {
+            loading.remove(player, future);
+            failures.increment();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        query
+            .thenAccept(snapshot -> {
+                apply(player, snapshot);
+                loaded.add(player);
+                loadLatency.record(System.nanoTime() - start);
+            })
+            .whenComplete((result, throwable) -> {
+                loading.remove(player, future);
+                if (throwable != null) {
+                    failures.increment();
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(null);
+                }
+            });
+        return future;
+    }
+
+    private void apply(UUID player, MembershipSnapshot snapshot) {
+        final OrganizationChangeTracker changeTracker = registry.getChangeTracker();
+        final List<OrganizationInvite> invites = new ArrayList<>(snapshot.invites().size());
+        for (OrganizationInvitesRecord invite : snapshot.invites()) {
+            if (changeTracker.isDeletePending(invite.getOrganizationUuid()))
+                continue; // Disbanded, the invite is deleted with the organization
+
+            invites.add(new OrganizationInvite(invite.getOrganizationUuid(), invite.getPlayerUuid(), invite.getInviterUuid(), invite.getCreatedAt()));
+        }
+        registry.setInvites(player, invites);
+
+        final OrganizationsRecord organizationRecord = snapshot.organization();
+        final OrganizationMembersRecord memberRecord = snapshot.member();
+        if (organizationRecord == null || memberRecord == null || changeTracker.isDeletePending(organizationRecord.getUuid()))
+            return;
+
+        final Organization organization = register(organizationRecord);
+        if (organization == null) {
+            Logger.get().warn("[Organizations] Could not load organization {} of {}, its name is used by another organization.", organizationRecord.getName(), player);
+            return;
+        }
+
+        registry.addMember(organization, player, memberRecord.getRank(), memberRecord.getJoinedAt()); // Keeps a member already in memory, it may have unsaved changes
+    }
+
+    /**
+     * Gets a registered organization or registers it from its stored row. Organizations registered here are
+     * unregistered again once their last loaded member was unloaded.
+     *
+     * @param record the stored organization
+     * @return the organization or null if it was disbanded or its name is used by another registered organization
+     */
+    public @Nullable Organization register(@NotNull OrganizationsRecord record) {
+        final Organization registered = registry.getOrganization(record.getUuid());
+        if (registered != null)
+            return registered;
+
+        if (registry.getChangeTracker().isDeletePending(record.getUuid()))
+            return null; // The row was read before the delete was written
+
+        final Organization created = new Organization(record.getUuid(), record.getName(), record.getCreatedAt());
+        if (registry.register(created)) {
+            registeredOrganizations.add(created.getId());
+            return created;
+        }
+        return registry.getOrganization(record.getUuid());
+    }
+
+    /**
+     * Schedules the data of a player to be unloaded after the grace period.
+     *
+     * @param player the player uuid
+     */
+    public void scheduleUnload(@NotNull UUID player) {
+        final ScheduledTask task = Scheduler.get().runGlobalLater(() -> unload(player), unloadGraceSeconds * TICKS_PER_SECOND);
+        final ScheduledTask previous = pendingUnloads.put(player, task);
+        if (previous != null)
+            previous.cancel();
+    }
+
+    private void cancelUnload(UUID player) {
+        final ScheduledTask task = pendingUnloads.remove(player);
+        if (task != null)
+            task.cancel();
+    }
+
+    private void unload(UUID player) {
+        synchronized (unloadLock) {
+            if (pendingUnloads.remove(player) == null)
+                return; // Cancelled by a preload, which already counted the data as loaded
+
+            // Online players are only known after login, a load in progress covers the time before
+            if (plugin.getServer().getPlayer(player) != null || loading.containsKey(player))
+                return;
+
+            loaded.remove(player);
+            registry.setInvites(player, List.of());
+
+            final OrganizationMember member = registry.removeMember(player);
+            if (member == null)
+                return;
+
+            final Organization organization = member.getOrganization();
+            if (organization.getMemberCount() == 0 && registeredOrganizations.remove(organization.getId()))
+                registry.unregister(organization);
+        }
+    }
+
+    /**
+     * Returns if the data of a player is loaded.
+     *
+     * @param player the player uuid
+     * @return the boolean
+     */
+    public boolean isLoaded(@NotNull UUID player) {
+        return loaded.contains(player);
+    }
+
+    /**
+     * Gets the amount of players whose data is loaded.
+     *
+     * @return the loaded player count
+     */
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Gets the load latency histogram, measured from scheduling the query to the data being in the registry.
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+
+    /**
+     * Gets the fraction of logins whose data was still loaded.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0D : hitCount / (double) total;
+    }
+
+    /**
+     * Gets the amount of logins that did not wait for their data because the timeout elapsed.
+     *
+     * @return the timeout count
+     */
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Gets the amount of failed loads.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+}
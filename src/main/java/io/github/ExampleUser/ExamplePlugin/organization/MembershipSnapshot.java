@@ -0,0 +1,19 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationInvitesRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The organization data of a single player as loaded from the database.
+ *
+ * @param organization the organization of the player or null if the player is not in one
+ * @param member       the membership of the player or null if the player is not in an organization
+ * @param invites      the pending invites of the player
+ */
+public record MembershipSnapshot(@Nullable OrganizationsRecord organization, @Nullable OrganizationMembersRecord member, @NotNull List<OrganizationInvitesRecord> invites) {
+}
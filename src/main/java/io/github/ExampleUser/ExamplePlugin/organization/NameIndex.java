@@ -0,0 +1,97 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.utility.UUIDMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A case-insensitive prefix index of names, used for command suggestions.
+ * <p>
+ * Names are kept sorted by their lower case form, so the names starting with a prefix are a contiguous range found in
+ * logarithmic time and completing a prefix costs {@code O(log n + limit)} regardless of the amount of names. Every name
+ * is owned by a uuid and keyed together with it, so two owners may share a name. Updates are incremental and lock only
+ * the affected owner, lookups never block.
+ */
+public final class NameIndex {
+    private static final char SEPARATOR = '\u0000'; // Sorts before every character, a name sorts before its extensions
+    private static final char MAX_CHAR = '\uFFFF'; // Sorts after every character, bounds the range of a prefix
+
+    private final ConcurrentSkipListMap<String, String> names = new ConcurrentSkipListMap<>(); // Key, name
+    private final UUIDMap<String> keys = new UUIDMap<>(); // Owner, key
+
+    /**
+     * Adds a name or replaces the previous name of its owner.
+     *
+     * @param owner the owner uuid
+     * @param name  the name
+     */
+    public void put(@NotNull UUID owner, @NotNull String name) {
+        final String key = normalize(name) + SEPARATOR + owner;
+        keys.compute(owner, previous -> {
+            if (previous != null && !previous.equals(key))
+                names.remove(previous);
+            names.put(key, name);
+            return key;
+        });
+    }
+
+    /**
+     * Removes the name of an owner.
+     *
+     * @param owner the owner uuid
+     */
+    public void remove(@NotNull UUID owner) {
+        keys.compute(owner, previous -> {
+            if (previous != null)
+                names.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Gets the names starting with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix the prefix
+     * @param limit  the maximum amount of names
+     * @return the names
+     */
+    public @NotNull List<String> complete(@NotNull String prefix, int limit) {
+        final String from = normalize(prefix);
+        final ConcurrentNavigableMap<String, String> range = names.subMap(from, true, from + MAX_CHAR, false);
+
+        final List<String> matches = new ArrayList<>(Math.min(limit, 16));
+        for (String name : range.values()) {
+            if (matches.size() >= limit)
+                break;
+            matches.add(name);
+        }
+        return matches;
+    }
+
+    /**
+     * Gets the amount of indexed names.
+     *
+     * @return the name count
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Removes all names.
+     */
+    public void clear() {
+        keys.clear();
+        names.clear();
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
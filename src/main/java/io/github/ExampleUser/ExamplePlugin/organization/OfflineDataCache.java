@@ -0,0 +1,181 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Second tier cache for organization data of offline players, in front of the database.
+ * <p>
+ * The {@link OrganizationRegistry} holds the data of online players, this cache holds what is looked up for players
+ * who are not loaded, such as organization info and member lists. Entries are bounded by weight, one unit per
+ * organization and member row, and expire after they were not accessed for a while. Caffeine's W-TinyLFU admission
+ * only admits new entries that are used more often than the entries they would evict, so a one-off scan like
+ * {@code /org list} cannot flush the frequently used entries. Loads run on the database executor and concurrent
+ * lookups of the same key share one load.
+ * <p>
+ * Entries are invalidated after the {@link OrganizationChangeTracker} wrote changes to them, so cached data is never
+ * older than the database.
+ */
+public final class OfflineDataCache {
+    private final OrganizationRegistry registry;
+    private final AsyncLoadingCache<UUID, Optional<OrganizationProfile>> organizations;
+    private final AsyncLoadingCache<UUID, Optional<OrganizationMembersRecord>> members;
+
+    /**
+     * Instantiates a new Offline data cache.
+     *
+     * @param registry          the registry holding the data of online players
+     * @param maximumWeight     the maximum amount of cached organization and member rows
+     * @param maximumPlayers    the maximum amount of cached player memberships
+     * @param expireAfterAccess the time after which entries that were not accessed are evicted
+     */
+    public OfflineDataCache(OrganizationRegistry registry, long maximumWeight, long maximumPlayers, Duration expireAfterAccess) {
+        this.registry = registry;
+        this.organizations = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((UUID id, Optional<OrganizationProfile> profile) -> 1 + profile.map(p -> p.members().size()).orElse(0))
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .buildAsync(new ProfileLoader());
+        this.members = Caffeine.newBuilder()
+            .maximumSize(maximumPlayers)
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .buildAsync((UUID player, Executor executor) -> DB.supplyAsync(context -> Optional.ofNullable(DatabaseQueries.loadMember(context, player))));
+    }
+
+    /**
+     * Gets an organization with all of its members.
+     *
+     * @param organization the organization id
+     * @return the future profile, empty if the organization does not exist
+     */
+    public @NotNull CompletableFuture<Optional<OrganizationProfile>> getOrganization(@NotNull UUID organization) {
+        return organizations.get(organization);
+    }
+
+    /**
+     * Gets multiple organizations, loading all missing ones with a single query.
+     *
+     * @param ids the organization ids
+     * @return the future profiles by organization id, missing organizations are absent
+     */
+    public @NotNull CompletableFuture<Map<UUID, OrganizationProfile>> getOrganizations(@NotNull Collection<UUID> ids) {
+        return organizations.getAll(ids).thenApply(loaded -> {
+            final Map<UUID, OrganizationProfile> profiles = new HashMap<>(loaded.size());
+            loaded.forEach((id, profile) -> profile.ifPresent(p -> profiles.put(id, p)));
+            return profiles;
+        });
+    }
+
+    /**
+     * Gets the organization of a player, using the registry for loaded players.
+     *
+     * @param player the player uuid
+     * @return the future profile, empty if the player is not in an organization
+     */
+    public @NotNull CompletableFuture<Optional<OrganizationProfile>> getOrganizationOf(@NotNull UUID player) {
+        final OrganizationMember member = registry.getMember(player);
+        if (member != null)
+            return getOrganization(member.getOrganization().getId());
+
+        return members.get(player).thenCompose(record -> record.isPresent()
+            ? getOrganization(record.get().getOrganizationUuid())
+            : CompletableFuture.completedFuture(Optional.empty())
+        );
+    }
+
+    /**
+     * Evicts cached data that was changed in the database.
+     *
+     * @param changedOrganizations the ids of changed organizations
+     * @param changedPlayers       the uuids of players whose membership changed
+     */
+    public void invalidate(@NotNull Set<UUID> changedOrganizations, @NotNull Set<UUID> changedPlayers) {
+        if (!changedOrganizations.isEmpty())
+            organizations.synchronous().invalidateAll(changedOrganizations);
+        if (!changedPlayers.isEmpty())
+            members.synchronous().invalidateAll(changedPlayers);
+    }
+
+    /**
+     * Evicts all cached data.
+     */
+    public void invalidateAll() {
+        organizations.synchronous().invalidateAll();
+        members.synchronous().invalidateAll();
+    }
+
+    /**
+     * Gets the statistics of the organization cache.
+     *
+     * @return the stats
+     */
+    public CacheStats getOrganizationStats() {
+        return organizations.synchronous().stats();
+    }
+
+    /**
+     * Gets the statistics of the player membership cache.
+     *
+     * @return the stats
+     */
+    public CacheStats getMemberStats() {
+        return members.synchronous().stats();
+    }
+
+    /**
+     * Gets the approximate amount of cached organizations.
+     *
+     * @return the organization count
+     */
+    public long getOrganizationCount() {
+        return organizations.synchronous().estimatedSize();
+    }
+
+    /**
+     * Gets the approximate amount of cached player memberships.
+     *
+     * @return the member count
+     */
+    public long getMemberCount() {
+        return members.synchronous().estimatedSize();
+    }
+
+    private static final class ProfileLoader implements AsyncCacheLoader<UUID, Optional<OrganizationProfile>> {
+        @Override
+        public CompletableFuture<? extends Optional<OrganizationProfile>> asyncLoad(UUID key, Executor executor) {
+            return DB.supplyAsync(context -> Optional.ofNullable(DatabaseQueries.loadOrganizationProfiles(context, List.of(key)).get(key)));
+        }
+
+        @Override
+        public CompletableFuture<? extends Map<? extends UUID, ? extends Optional<OrganizationProfile>>> asyncLoadAll(Set<? extends UUID> keys, Executor executor) {
+            final List<UUID> ids = List.copyOf(keys);
+            return DB.supplyAsync(context -> {
+                final Map<UUID, OrganizationProfile> loaded = DatabaseQueries.loadOrganizationProfiles(context, ids);
+                final Map<UUID, Optional<OrganizationProfile>> profiles = new HashMap<>(ids.size());
+                for (UUID id : ids) {
+                    profiles.put(id, Optional.ofNullable(loaded.get(id)));
+                }
+                return profiles;
+            });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An organization. Memberships are indexed by the {@link OrganizationRegistry}.
+ */
+public final class Organization extends TrackedEntity {
+    private final UUID id;
+    private volatile String name;
+    private final long createdAt;
+    private final AtomicInteger memberCount = new AtomicInteger();
+
+    /**
+     * Instantiates a new Organization.
+     *
+     * @param id        the id
+     * @param name      the name
+     * @param createdAt the creation time in epoch milliseconds
+     */
+    public Organization(@NotNull UUID id, @NotNull String name, long createdAt) {
+        this.id = id;
+        this.name = name;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Gets id.
+     *
+     * @return the id
+     */
+    public @NotNull UUID getId() {
+        return id;
+    }
+
+    /**
+     * Gets name.
+     *
+     * @return the name
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+
+    /**
+     * Sets name. Use {@link OrganizationRegistry#rename(Organization, String)} for registered organizations so the
+     * name index stays up to date.
+     *
+     * @param name the name
+     */
+    void setName(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets creation time.
+     *
+     * @return the creation time in epoch milliseconds
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets the amount of members.
+     *
+     * @return the member count
+     */
+    public int getMemberCount() {
+        return memberCount.get();
+    }
+
+    /**
+     * Gets the member counter, only modified through the registry.
+     *
+     * @return the member counter
+     */
+    AtomicInteger getMemberCounter() {
+        return memberCount;
+    }
+}
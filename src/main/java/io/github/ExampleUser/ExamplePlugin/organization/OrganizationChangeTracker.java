@@ -0,0 +1,427 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationInvitesRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import io.github.ExampleUser.ExamplePlugin.gui.OrganizationBrowser;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATIONS;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_INVITES;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_MEMBERS;
+
+/**
+ * Persists changes to the organization model incrementally.
+ * <p>
+ * Entities carry a dirty bit and are queued the first time they change. A periodic flush on a background thread
+ * writes the current state of queued entities as batched upserts and turns deleted entities into batched deletes, so
+ * only rows that actually changed are written. Rows are deleted before they are upserted, in foreign key order, so an
+ * entity removed and added again within one interval ends up stored.
+ */
+public final class OrganizationChangeTracker {
+    private final Queue<Organization> organizations = new ConcurrentLinkedQueue<>();
+    private final Queue<OrganizationMember> members = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<InviteKey, PendingInvite> invites = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingDeletes = ConcurrentHashMap.newKeySet(); // Organizations whose rows are not deleted yet
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService executor;
+    private final OfflineDataCache offlineCache;
+    private final int batchSize;
+    private final long intervalMillis;
+
+    // Metrics
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder writtenRows = new LongAdder();
+    private final AtomicLong lastFlushRows = new AtomicLong();
+    private final AtomicLong lastFlushNanos = new AtomicLong();
+
+    /**
+     * Instantiates a new Organization change tracker.
+     *
+     * @param threadName     the name of the background flush thread
+     * @param offlineCache   the cache to evict written rows from
+     * @param batchSize      the maximum amount of rows per statement or batch
+     * @param intervalMillis the interval between flushes in milliseconds
+     */
+    public OrganizationChangeTracker(String threadName, OfflineDataCache offlineCache, int batchSize, long intervalMillis) {
+        this.offlineCache = offlineCache;
+        this.batchSize = Math.max(1, batchSize);
+        this.intervalMillis = Math.max(50L, intervalMillis);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts periodic flushing.
+     */
+    public void start() {
+        executor.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic flushing and synchronously flushes all remaining changes. Must be called before the database
+     * connection pool is closed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS))
+                Logger.get().warn("[Organizations] Change flush did not stop in time, flushing on the current thread.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        flushQuietly();
+
+        final int remaining = getPendingCount();
+        if (remaining > 0)
+            Logger.get().error("[Organizations] {} changed rows could not be written to the database during shutdown!", remaining);
+    }
+
+    /**
+     * Queues an organization to be written.
+     *
+     * @param organization the organization
+     */
+    public void markDirty(@NotNull Organization organization) {
+        if (organization.markDirty())
+            organizations.add(organization);
+    }
+
+    /**
+     * Queues an organization to be deleted, its members and invites are deleted with it. Queued invite changes of the
+     * organization are dropped, the database removes its invites with it. Until the delete is written the organization
+     * is reported by {@link #isDeletePending(UUID)}.
+     *
+     * @param organization the organization
+     */
+    public void markDeleted(@NotNull Organization organization) {
+        pendingDeletes.add(organization.getId());
+        if (organization.markDeleted())
+            organizations.add(organization);
+        invites.keySet().removeIf(key -> key.organization().equals(organization.getId()));
+    }
+
+    /**
+     * Queues a membership to be written.
+     *
+     * @param member the member
+     */
+    public void markDirty(@NotNull OrganizationMember member) {
+        if (member.markDirty())
+            members.add(member);
+    }
+
+    /**
+     * Queues a membership to be deleted.
+     *
+     * @param member the member
+     */
+    public void markDeleted(@NotNull OrganizationMember member) {
+        if (member.markDeleted())
+            members.add(member);
+    }
+
+    /**
+     * Queues an invite to be written, replacing a queued deletion of the same invite. The invite is not written if its
+     * organization is deleted before the next flush.
+     *
+     * @param organization the organization the player is invited to
+     * @param invite       the invite
+     */
+    public void inviteCreated(@NotNull Organization organization, @NotNull OrganizationInvite invite) {
+        invites.put(InviteKey.of(invite), new PendingInvite(organization, invite, false));
+    }
+
+    /**
+     * Queues an invite to be deleted, replacing a queued write of the same invite.
+     *
+     * @param invite the invite
+     */
+    public void inviteRemoved(@NotNull OrganizationInvite invite) {
+        invites.put(InviteKey.of(invite), new PendingInvite(null, invite, true));
+    }
+
+    /**
+     * Flush all queued changes to the database on the calling thread.
+     *
+     * @throws SQLException the sql exception
+     */
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            final List<Organization> drainedOrganizations = drain(organizations);
+            final List<OrganizationMember> drainedMembers = drain(members);
+            final Map<InviteKey, PendingInvite> drainedInvites = drainInvites();
+            if (drainedOrganizations.isEmpty() && drainedMembers.isEmpty() && drainedInvites.isEmpty())
+                return;
+
+            final List<OrganizationsRecord> organizationUpserts = new ArrayList<>();
+            final List<OrganizationsRecord> organizationDeletes = new ArrayList<>();
+            for (Organization organization : drainedOrganizations) {
+                if (organization.isDeleted()) {
+                    organizationDeletes.add(new OrganizationsRecord(organization.getId(), organization.getName(), organization.getCreatedAt()));
+                } else {
+                    organizationUpserts.add(new OrganizationsRecord(organization.getId(), organization.getName(), organization.getCreatedAt()));
+                }
+            }
+
+            final List<OrganizationMembersRecord> memberUpserts = new ArrayList<>();
+            final List<OrganizationMembersRecord> memberDeletes = new ArrayList<>();
+            for (OrganizationMember member : drainedMembers) {
+                final OrganizationMembersRecord record = new OrganizationMembersRecord(member.getPlayer(), member.getOrganization().getId(), member.getRank(), member.getJoinedAt());
+                if (member.isDeleted()) {
+                    memberDeletes.add(record);
+                } else if (!member.getOrganization().isDeleted()) {
+                    memberUpserts.add(record);
+                }
+            }
+
+            final List<OrganizationInvitesRecord> inviteUpserts = new ArrayList<>();
+            final List<OrganizationInvitesRecord> inviteDeletes = new ArrayList<>();
+            for (PendingInvite pending : drainedInvites.values()) {
+                final OrganizationInvite invite = pending.invite();
+                final OrganizationInvitesRecord record = new OrganizationInvitesRecord(invite.organization(), invite.player(), invite.inviter(), invite.createdAt());
+                if (pending.deleted()) {
+                    inviteDeletes.add(record);
+                } else if (pending.organization() != null && !pending.organization().isDeleted()) {
+                    inviteUpserts.add(record); // Invites of a deleted organization would violate its foreign key
+                }
+            }
+
+            final long start = System.nanoTime();
+            try (Connection con = DB.getConnection()) {
+                final DSLContext context = DB.getContext(con);
+                context.transaction(config -> {
+                    final DSLContext transaction = config.dsl();
+                    DatabaseQueries.deleteAll(transaction, memberDeletes, batchSize);
+                    DatabaseQueries.deleteAll(transaction, inviteDeletes, batchSize);
+                    DatabaseQueries.deleteAll(transaction, organizationDeletes, batchSize);
+                    DatabaseQueries.upsertAll(transaction, ORGANIZATIONS, organizationUpserts, batchSize);
+                    DatabaseQueries.upsertAll(transaction, ORGANIZATION_MEMBERS, memberUpserts, batchSize);
+                    DatabaseQueries.upsertAll(transaction, ORGANIZATION_INVITES, inviteUpserts, batchSize);
+                });
+            } catch (SQLException | DataAccessException e) {
+                requeue(drainedOrganizations, drainedMembers, drainedInvites);
+                failedFlushes.increment();
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+            }
+
+            final long rows = organizationUpserts.size() + organizationDeletes.size()
+                + memberUpserts.size() + memberDeletes.size()
+                + inviteUpserts.size() + inviteDeletes.size();
+            for (OrganizationsRecord deleted : organizationDeletes) {
+                pendingDeletes.remove(deleted.getUuid());
+            }
+            evict(drainedOrganizations, drainedMembers);
+            flushes.increment();
+            writtenRows.add(rows);
+            lastFlushRows.set(rows);
+            lastFlushNanos.set(System.nanoTime() - start);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the queued changes of some organizations on the calling thread, without touching other queued changes,
+     * so rows referencing them can be written. Organizations that are still dirty afterwards may not be stored yet.
+     *
+     * @param referenced the organizations
+     * @throws SQLException the sql exception
+     */
+    public void flushOrganizations(@NotNull Collection<Organization> referenced) throws SQLException {
+        flushLock.lock(); // While held no flush is between draining and writing, clean organizations are stored
+        try {
+            final List<Organization> drained = new ArrayList<>();
+            for (Organization organization : referenced) {
+                if (organization.isDirty() && !organization.isDeleted() && organizations.remove(organization)) {
+                    organization.clearDirty();
+                    drained.add(organization);
+                }
+            }
+            if (drained.isEmpty())
+                return;
+
+            final List<OrganizationsRecord> upserts = new ArrayList<>(drained.size());
+            for (Organization organization : drained) {
+                upserts.add(new OrganizationsRecord(organization.getId(), organization.getName(), organization.getCreatedAt()));
+            }
+
+            try (Connection con = DB.getConnection()) {
+                DatabaseQueries.upsertAll(DB.getContext(con), ORGANIZATIONS, upserts, batchSize);
+            } catch (SQLException | DataAccessException e) {
+                drained.forEach(this::markDirty);
+                failedFlushes.increment();
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+            }
+
+            evict(drained, List.of());
+            writtenRows.add(upserts.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Evicts written organizations and memberships from the offline cache and the menu page cache so they do not keep
+     * serving the old rows.
+     */
+    private void evict(List<Organization> writtenOrganizations, List<OrganizationMember> writtenMembers) {
+        final Set<UUID> changedOrganizations = new HashSet<>();
+        final Set<UUID> changedPlayers = new HashSet<>();
+        for (Organization organization : writtenOrganizations) {
+            changedOrganizations.add(organization.getId());
+        }
+        for (OrganizationMember member : writtenMembers) {
+            changedOrganizations.add(member.getOrganization().getId());
+            changedPlayers.add(member.getPlayer());
+        }
+        offlineCache.invalidate(changedOrganizations, changedPlayers);
+        OrganizationBrowser.invalidate(changedOrganizations);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            Logger.get().error("[Organizations] Failed to write organization changes, they will be retried on the next flush.", e);
+        }
+    }
+
+    /**
+     * Removes all queued entities and clears their dirty bit, changes made from here on queue them again.
+     */
+    private static <T extends TrackedEntity> List<T> drain(Queue<T> queue) {
+        final List<T> drained = new ArrayList<>();
+        T entity;
+        while ((entity = queue.poll()) != null) {
+            entity.clearDirty();
+            drained.add(entity);
+        }
+        return drained;
+    }
+
+    private Map<InviteKey, PendingInvite> drainInvites() {
+        final Map<InviteKey, PendingInvite> drained = new HashMap<>();
+        for (Map.Entry<InviteKey, PendingInvite> entry : invites.entrySet()) {
+            // Only remove the exact change we read, a newer change to the same invite survives until the next flush
+            if (invites.remove(entry.getKey(), entry.getValue()))
+                drained.put(entry.getKey(), entry.getValue());
+        }
+        return drained;
+    }
+
+    /**
+     * Queues drained changes again after a failed flush, without replacing changes made in the meantime.
+     */
+    private void requeue(List<Organization> drainedOrganizations, List<OrganizationMember> drainedMembers, Map<InviteKey, PendingInvite> drainedInvites) {
+        drainedOrganizations.forEach(this::markDirty);
+        drainedMembers.forEach(this::markDirty);
+        drainedInvites.forEach(invites::putIfAbsent);
+    }
+
+    /**
+     * Returns if an organization was disbanded but its row is still in the database. Rows loaded from the database in
+     * the meantime must not register the organization again, or a later change would write it back.
+     *
+     * @param organization the organization id
+     * @return the boolean
+     */
+    public boolean isDeletePending(@NotNull UUID organization) {
+        return pendingDeletes.contains(organization);
+    }
+
+    /**
+     * Gets the amount of queued changes.
+     *
+     * @return the pending count
+     */
+    public int getPendingCount() {
+        return organizations.size() + members.size() + invites.size();
+    }
+
+    /**
+     * Gets the total amount of rows written or deleted.
+     *
+     * @return the written row count
+     */
+    public long getWrittenRowCount() {
+        return writtenRows.sum();
+    }
+
+    /**
+     * Gets the amount of rows written or deleted by the last flush.
+     *
+     * @return the row count
+     */
+    public long getLastFlushRowCount() {
+        return lastFlushRows.get();
+    }
+
+    /**
+     * Gets the duration of the last flush.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getLastFlushMillis() {
+        return lastFlushNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets the amount of completed flushes that wrote changes.
+     *
+     * @return the flush count
+     */
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * Gets the amount of failed flushes.
+     *
+     * @return the failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushes.sum();
+    }
+
+    private record InviteKey(UUID organization, UUID player) {
+        private static InviteKey of(OrganizationInvite invite) {
+            return new InviteKey(invite.organization(), invite.player());
+        }
+    }
+
+    private record PendingInvite(@Nullable Organization organization, OrganizationInvite invite, boolean deleted) {
+    }
+}
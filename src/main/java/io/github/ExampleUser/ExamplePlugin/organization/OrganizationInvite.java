@@ -0,0 +1,16 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A pending invite of a player to an organization.
+ *
+ * @param organization the organization id
+ * @param player       the invited player uuid
+ * @param inviter      the uuid of the player who sent the invite
+ * @param createdAt    the creation time in epoch milliseconds
+ */
+public record OrganizationInvite(@NotNull UUID organization, @NotNull UUID player, @NotNull UUID inviter, long createdAt) {
+}
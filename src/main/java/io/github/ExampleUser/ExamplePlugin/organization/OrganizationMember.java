@@ -0,0 +1,89 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * A player's membership of an organization.
+ * <p>
+ * The player uuid is kept as two {@code long} fields instead of a {@link UUID} to keep the object small.
+ */
+public final class OrganizationMember extends TrackedEntity {
+    private final Organization organization;
+    private final long playerMost;
+    private final long playerLeast;
+    private final long joinedAt;
+    private volatile int rank;
+
+    /**
+     * Instantiates a new Organization member.
+     *
+     * @param organization the organization
+     * @param player       the player uuid
+     * @param rank         the rank
+     * @param joinedAt     the join time in epoch milliseconds
+     */
+    public OrganizationMember(@NotNull Organization organization, @NotNull UUID player, int rank, long joinedAt) {
+        this.organization = organization;
+        this.playerMost = player.getMostSignificantBits();
+        this.playerLeast = player.getLeastSignificantBits();
+        this.rank = rank;
+        this.joinedAt = joinedAt;
+    }
+
+    /**
+     * Gets organization.
+     *
+     * @return the organization
+     */
+    public @NotNull Organization getOrganization() {
+        return organization;
+    }
+
+    /**
+     * Gets player uuid.
+     *
+     * @return the player uuid
+     */
+    public @NotNull UUID getPlayer() {
+        return new UUID(playerMost, playerLeast);
+    }
+
+    /**
+     * Returns if this membership belongs to a player.
+     *
+     * @param player the player uuid
+     * @return the boolean
+     */
+    public boolean isPlayer(@NotNull UUID player) {
+        return player.getMostSignificantBits() == playerMost && player.getLeastSignificantBits() == playerLeast;
+    }
+
+    /**
+     * Gets join time.
+     *
+     * @return the join time in epoch milliseconds
+     */
+    public long getJoinedAt() {
+        return joinedAt;
+    }
+
+    /**
+     * Gets rank.
+     *
+     * @return the rank
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Sets rank. Use {@link OrganizationRegistry#setRank(OrganizationMember, int)} to persist the change.
+     *
+     * @param rank the rank
+     */
+    void setRank(int rank) {
+        this.rank = rank;
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Actions within an organization that require a rank permission. Each permission owns one bit, so the permissions of a
+ * rank compile to a single {@code long}.
+ */
+public enum OrganizationPermission {
+    INVITE,
+    KICK,
+    DEPOSIT,
+    WITHDRAW,
+    MANAGE_RANKS,
+    RENAME,
+    DISBAND;
+
+    private static final OrganizationPermission[] VALUES = values();
+
+    private final long bit = 1L << ordinal();
+
+    /**
+     * Gets the bit of this permission.
+     *
+     * @return the bit
+     */
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * Returns if a bitset contains this permission.
+     *
+     * @param permissions the bitset
+     * @return the boolean
+     */
+    public boolean isIn(long permissions) {
+        return (permissions & bit) != 0L;
+    }
+
+    /**
+     * Compiles permissions to a bitset.
+     *
+     * @param permissions the permissions
+     * @return the bitset
+     */
+    public static long toBits(@NotNull Collection<OrganizationPermission> permissions) {
+        long bits = 0L;
+        for (OrganizationPermission permission : permissions) {
+            bits |= permission.bit;
+        }
+        return bits;
+    }
+
+    /**
+     * Expands a bitset to the permissions it contains.
+     *
+     * @param bits the bitset
+     * @return the permissions
+     */
+    public static @NotNull EnumSet<OrganizationPermission> fromBits(long bits) {
+        final EnumSet<OrganizationPermission> permissions = EnumSet.noneOf(OrganizationPermission.class);
+        for (OrganizationPermission permission : VALUES) {
+            if (permission.isIn(bits))
+                permissions.add(permission);
+        }
+        return permissions;
+    }
+
+    /**
+     * Gets a permission by its case-insensitive name.
+     *
+     * @param name the name, with dashes or underscores
+     * @return the permission or null if there is none with that name
+     */
+    public static @Nullable OrganizationPermission fromName(@NotNull String name) {
+        final String normalized = name.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+        for (OrganizationPermission permission : VALUES) {
+            if (permission.name().equals(normalized))
+                return permission;
+        }
+        return null;
+    }
+}
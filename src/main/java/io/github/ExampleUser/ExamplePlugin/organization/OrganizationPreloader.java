@@ -0,0 +1,181 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseQueries;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATIONS;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_MEMBERS;
+
+/**
+ * Warms the {@link OrganizationRegistry} on startup by loading organizations and memberships, including their ranks.
+ * <p>
+ * The uuid key space is split into ranges by the first key byte and every range is scanned with keyset pagination on
+ * its own database thread, so the scan is spread across the connection pool. Loading stops once the time budget is
+ * spent, data that was not preloaded is loaded lazily by the {@link MembershipLoader} when players join.
+ */
+public final class OrganizationPreloader {
+    private static final int KEY_SPACE = 256; // Ranges are split on the first byte of the key
+
+    private final OrganizationRegistry registry;
+    private final int partitions;
+    private final int pageSize;
+    private final long budgetMillis;
+    private final boolean loadMembers;
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final LongAdder loadedOrganizations = new LongAdder();
+    private final LongAdder loadedMembers = new LongAdder();
+    private final LongAdder skippedRows = new LongAdder();
+
+    /**
+     * Instantiates a new Organization preloader.
+     *
+     * @param registry     the registry to load into
+     * @param partitions   the amount of key ranges scanned in parallel
+     * @param pageSize     the amount of rows per page
+     * @param budgetMillis the time after which preloading stops
+     * @param loadMembers  whether memberships are preloaded after organizations
+     */
+    public OrganizationPreloader(OrganizationRegistry registry, int partitions, int pageSize, long budgetMillis, boolean loadMembers) {
+        this.registry = registry;
+        this.partitions = Math.max(1, Math.min(KEY_SPACE, partitions));
+        this.pageSize = Math.max(1, pageSize);
+        this.budgetMillis = Math.max(0L, budgetMillis);
+        this.loadMembers = loadMembers;
+    }
+
+    /**
+     * Preloads organizations, then memberships, blocking for at most the time budget. Scans still running when the
+     * budget is spent stop after their current page.
+     *
+     * @return whether everything was loaded within the budget
+     */
+    public boolean preload() {
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+
+        boolean complete = scan(ORGANIZATIONS, ORGANIZATIONS.UUID, this::applyOrganization, deadline);
+        if (complete && loadMembers)
+            complete = scan(ORGANIZATION_MEMBERS, ORGANIZATION_MEMBERS.PLAYER_UUID, this::applyMember, deadline);
+
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (complete) {
+            Logger.get().info("[Organizations] Preloaded {} organizations and {} members in {} ms using {} parallel scans.", loadedOrganizations.sum(), loadedMembers.sum(), elapsedMillis, partitions);
+        } else {
+            Logger.get().warn("[Organizations] Preloaded {} organizations and {} members before the {} ms budget ran out, the rest is loaded when players join.", loadedOrganizations.sum(), loadedMembers.sum(), budgetMillis);
+        }
+
+        if (skippedRows.sum() > 0)
+            Logger.get().warn("[Organizations] Skipped {} rows during preload, their organization could not be loaded or its name is used by another organization.", skippedRows.sum());
+
+        return complete;
+    }
+
+    private <R extends Record> boolean scan(Table<R> table, Field<UUID> key, Consumer<R> action, long deadline) {
+        final List<CompletableFuture<Void>> scans = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            final UUID from = i == 0 ? null : getBound(i);
+            final UUID to = i == partitions - 1 ? null : getBound(i + 1);
+            scans.add(DB.runAsync(context -> scanRange(context, table, key, from, to, action, deadline)));
+        }
+
+        try {
+            CompletableFuture.allOf(scans.toArray(CompletableFuture[]::new)).get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            stopped.set(true);
+        } catch (ExecutionException e) {
+            stopped.set(true);
+            Logger.get().error("[Organizations] Failed to preload {}:", table.getName(), e.getCause());
+        } catch (InterruptedException e) {
+            stopped.set(true);
+            Thread.currentThread().interrupt();
+        }
+
+        return !stopped.get();
+    }
+
+    private <R extends Record> void scanRange(DSLContext context, Table<R> table, Field<UUID> key, @Nullable UUID from, @Nullable UUID to, Consumer<R> action, long deadline) {
+        UUID after = null;
+        while (!stopped.get()) {
+            if (System.nanoTime() - deadline >= 0) {
+                stopped.set(true);
+                return;
+            }
+
+            final Result<R> page = DatabaseQueries.fetchKeysetPage(context, table, key, from, to, after, pageSize);
+            page.forEach(action);
+
+            if (page.size() < pageSize)
+                return;
+
+            after = page.get(page.size() - 1).get(key);
+        }
+    }
+
+    /**
+     * Gets the lowest uuid of a key range. Keys compare as unsigned bytes, the most significant byte first.
+     */
+    private UUID getBound(int partition) {
+        final long firstByte = (long) partition * KEY_SPACE / partitions;
+        return new UUID(firstByte << 56, 0L);
+    }
+
+    private void applyOrganization(OrganizationsRecord record) {
+        if (registry.getOrganization(record.getUuid()) != null)
+            return;
+
+        if (registry.register(new Organization(record.getUuid(), record.getName(), record.getCreatedAt()))) {
+            loadedOrganizations.increment();
+        } else {
+            skippedRows.increment();
+        }
+    }
+
+    private void applyMember(OrganizationMembersRecord record) {
+        final Organization organization = registry.getOrganization(record.getOrganizationUuid());
+        if (organization == null) {
+            skippedRows.increment();
+            return;
+        }
+
+        if (registry.addMember(organization, record.getPlayerUuid(), record.getRank(), record.getJoinedAt()) != null)
+            loadedMembers.increment();
+    }
+
+    /**
+     * Gets the amount of preloaded organizations.
+     *
+     * @return the organization count
+     */
+    public long getLoadedOrganizationCount() {
+        return loadedOrganizations.sum();
+    }
+
+    /**
+     * Gets the amount of preloaded memberships.
+     *
+     * @return the member count
+     */
+    public long getLoadedMemberCount() {
+        return loadedMembers.sum();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationsRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * An organization and all of its members as loaded from the database, used for lookups of offline data.
+ *
+ * @param organization the organization
+ * @param members      the members ordered by rank, highest first
+ */
+public record OrganizationProfile(@NotNull OrganizationsRecord organization, @NotNull List<OrganizationMembersRecord> members) {
+}
@@ -0,0 +1,631 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationMembersRecord;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import io.github.ExampleUser.ExamplePlugin.utility.Scheduler;
+import io.github.ExampleUser.ExamplePlugin.utility.UUIDMap;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * In-memory registry of organizations and their members.
+ * <p>
+ * Organizations and memberships are indexed by uuid in {@link UUIDMap}s, reads never block and writes only lock the
+ * stripe of the affected uuid. A player is a member of at most one organization, so a single player index holds all
+ * memberships. Organizations keep no member index of their own to keep the footprint between roughly 70 and
+ * 110 bytes per member depending on table occupancy.
+ * <p>
+ * Organization names and the names of loaded members are kept in {@link NameIndex}es for command suggestions. Member
+ * names are resolved off the calling thread, since the name of an offline player may have to be read from disk.
+ */
+public class OrganizationRegistry implements Reloadable {
+    private static final int MEMBER_BYTES = 48; // Object header, organization reference, three longs, rank and change state
+    private static final int ORGANIZATION_BYTES = 96; // Organization, its counter and name
+
+    private final ExamplePlugin plugin;
+    private final UUIDMap<Organization> organizations = new UUIDMap<>();
+    private final UUIDMap<OrganizationMember> members = new UUIDMap<>(Runtime.getRuntime().availableProcessors() * 2, 1024);
+    private final ConcurrentHashMap<String, Organization> organizationsByName = new ConcurrentHashMap<>();
+    private final UUIDMap<List<OrganizationInvite>> invites = new UUIDMap<>();
+    private final List<MembershipListener> membershipListeners = new CopyOnWriteArrayList<>();
+    private final NameIndex organizationNames = new NameIndex();
+    private final NameIndex memberNames = new NameIndex();
+    private final Queue<UUID> unresolvedNames = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean resolvingNames = new AtomicBoolean();
+    private OfflineDataCache offlineCache;
+    private OrganizationChangeTracker changeTracker;
+    private RankManager rankManager;
+    private MembershipLoader membershipLoader;
+
+    /**
+     * Instantiates a new Organization registry.
+     *
+     * @param plugin the plugin instance
+     */
+    public OrganizationRegistry(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        rankManager = new RankManager(
+            this,
+            RankTable.fromConfig(),
+            Cfg.get().getOrDefault("organizations.vault-groups.enabled", false)
+                ? new VaultGroupMirror("%s-vault-groups".formatted(plugin.getName()))
+                : null
+        );
+
+        offlineCache = new OfflineDataCache(
+            this,
+            Cfg.get().getOrDefault("organizations.cache.maximum-weight", 50000),
+            Cfg.get().getOrDefault("organizations.cache.maximum-players", 10000),
+            Duration.ofMinutes(Cfg.get().getOrDefault("organizations.cache.expire-after-access-minutes", 10))
+        );
+
+        changeTracker = new OrganizationChangeTracker(
+            "%s-organization-writer".formatted(plugin.getName()),
+            offlineCache,
+            Cfg.get().getOrDefault("db.batch-size", 1000),
+            Cfg.get().getOrDefault("organizations.persistence.flush-interval-ms", 5000)
+        );
+        changeTracker.start();
+
+        preload();
+
+        membershipLoader = new MembershipLoader(
+            plugin,
+            this,
+            Cfg.get().getOrDefault("organizations.preload.timeout-ms", 2000),
+            Cfg.get().getOrDefault("organizations.preload.unload-grace-seconds", 300)
+        );
+        membershipLoader.start();
+    }
+
+    /**
+     * Warms the registry with a parallel preload within the configured time budget and records its duration.
+     */
+    private void preload() {
+        if (!plugin.getDataHandler().isConnected() || !Cfg.get().getOrDefault("organizations.preload.startup.enabled", true))
+            return;
+
+        final int partitions = Cfg.get().getOrDefault("organizations.preload.startup.partitions", 0);
+        final long start = System.nanoTime();
+        new OrganizationPreloader(
+            this,
+            partitions > 0 ? partitions : Cfg.get().getOrDefault("db.poolsize", 10),
+            Cfg.get().getOrDefault("organizations.preload.startup.page-size", 1000),
+            Cfg.get().getOrDefault("organizations.preload.startup.budget-ms", 5000),
+            Cfg.get().getOrDefault("organizations.preload.startup.members", true)
+        ).preload();
+        plugin.getStartupTimings().record("preload", System.nanoTime() - start);
+    }
+
+    @Override
+    public void onDisable() {
+        if (membershipLoader != null) {
+            membershipLoader.shutdown();
+            membershipLoader = null;
+        }
+
+        if (changeTracker != null) {
+            changeTracker.shutdown();
+            changeTracker = null;
+        }
+
+        if (rankManager != null) {
+            rankManager.shutdown();
+            rankManager = null;
+        }
+
+        if (offlineCache != null) {
+            offlineCache.invalidateAll();
+            offlineCache = null;
+        }
+
+        invites.clear();
+        unresolvedNames.clear();
+        organizationNames.clear();
+        memberNames.clear();
+        organizationsByName.clear();
+        organizations.clear();
+        members.clear();
+    }
+
+    private static String normalizeName(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the cache for organization data of offline players.
+     *
+     * @return the offline data cache
+     */
+    public OfflineDataCache getOfflineCache() {
+        return offlineCache;
+    }
+
+    /**
+     * Gets the rank manager.
+     *
+     * @return the rank manager
+     */
+    public RankManager getRankManager() {
+        return rankManager;
+    }
+
+    /**
+     * Gets the change tracker.
+     *
+     * @return the change tracker
+     */
+    public OrganizationChangeTracker getChangeTracker() {
+        return changeTracker;
+    }
+
+    /**
+     * Gets the membership loader.
+     *
+     * @return the membership loader
+     */
+    public MembershipLoader getMembershipLoader() {
+        return membershipLoader;
+    }
+
+    /**
+     * Gets the name index of all registered organizations.
+     *
+     * @return the organization names
+     */
+    public @NotNull NameIndex getOrganizationNames() {
+        return organizationNames;
+    }
+
+    /**
+     * Gets the name index of all loaded members. Names of members loaded while offline appear once they are resolved.
+     *
+     * @return the member names
+     */
+    public @NotNull NameIndex getMemberNames() {
+        return memberNames;
+    }
+
+    /**
+     * Gets an organization by id.
+     *
+     * @param id the id
+     * @return the organization or null
+     */
+    public @Nullable Organization getOrganization(@NotNull UUID id) {
+        return organizations.get(id);
+    }
+
+    /**
+     * Gets an organization by name, ignoring case.
+     *
+     * @param name the name
+     * @return the organization or null
+     */
+    public @Nullable Organization getOrganization(@NotNull String name) {
+        return organizationsByName.get(normalizeName(name));
+    }
+
+    /**
+     * Gets a snapshot of all organizations.
+     *
+     * @return the organizations
+     */
+    public @NotNull List<Organization> getOrganizations() {
+        return organizations.values();
+    }
+
+    /**
+     * Gets the membership of a player.
+     *
+     * @param player the player uuid
+     * @return the member or null if the player is not in an organization
+     */
+    public @Nullable OrganizationMember getMember(@NotNull UUID player) {
+        return members.get(player);
+    }
+
+    /**
+     * Gets the organization of a player.
+     *
+     * @param player the player uuid
+     * @return the organization or null if the player is not in an organization
+     */
+    public @Nullable Organization getOrganizationOf(@NotNull UUID player) {
+        final OrganizationMember member = members.get(player);
+        return member == null ? null : member.getOrganization();
+    }
+
+    /**
+     * Gets a snapshot of the members of an organization. Scans all memberships, avoid calling this per tick.
+     *
+     * @param organization the organization
+     * @return the members
+     */
+    public @NotNull List<OrganizationMember> getMembers(@NotNull Organization organization) {
+        final List<OrganizationMember> result = new ArrayList<>(organization.getMemberCount());
+        members.forEach(member -> {
+            if (member.getOrganization() == organization)
+                result.add(member);
+        });
+        return result;
+    }
+
+    /**
+     * Runs an action for every loaded membership across all organizations, in a single pass over the memberships.
+     *
+     * @param action the action
+     */
+    public void forEachMember(@NotNull Consumer<? super OrganizationMember> action) {
+        members.forEach(action);
+    }
+
+    /**
+     * Registers an organization.
+     *
+     * @param organization the organization
+     * @return false if an organization with the same id or name is already registered
+     */
+    public boolean register(@NotNull Organization organization) {
+        final String name = normalizeName(organization.getName());
+        if (organizationsByName.putIfAbsent(name, organization) != null)
+            return false;
+
+        if (organizations.putIfAbsent(organization.getId(), organization) != null) {
+            organizationsByName.remove(name, organization);
+            return false;
+        }
+        organizationNames.put(organization.getId(), organization.getName());
+        return true;
+    }
+
+    /**
+     * Unregisters an organization and removes its memberships.
+     *
+     * @param organization the organization
+     */
+    public void unregister(@NotNull Organization organization) {
+        if (!organizations.remove(organization.getId(), organization))
+            return;
+
+        organizationsByName.remove(normalizeName(organization.getName()), organization);
+        organizationNames.remove(organization.getId());
+        for (OrganizationMember member : getMembers(organization)) {
+            if (members.remove(member.getPlayer(), member)) {
+                organization.getMemberCounter().decrementAndGet();
+                memberNames.remove(member.getPlayer());
+                fireMembershipChange(member.getPlayer(), member, null);
+            }
+        }
+    }
+
+    /**
+     * Creates, registers and persists a new organization.
+     *
+     * @param name the name
+     * @return the organization or null if the name is already used
+     */
+    public @Nullable Organization createOrganization(@NotNull String name) {
+        final Organization organization = new Organization(UUID.randomUUID(), name, System.currentTimeMillis());
+        if (!register(organization))
+            return null;
+
+        changeTracker.markDirty(organization);
+        return organization;
+    }
+
+    /**
+     * Unregisters and deletes an organization including its memberships and invites. Vault groups are removed for the
+     * loaded members and for the stored members that are not loaded.
+     *
+     * @param organization  the organization
+     * @param storedMembers the stored memberships of the organization, read before the delete is queued
+     */
+    public void disband(@NotNull Organization organization, @NotNull Collection<OrganizationMembersRecord> storedMembers) {
+        final Set<UUID> loaded = new HashSet<>();
+        for (OrganizationMember member : getMembers(organization)) {
+            loaded.add(member.getPlayer());
+            rankManager.onRankChange(member.getPlayer(), member.getRank(), null);
+        }
+        for (OrganizationMembersRecord member : storedMembers) {
+            if (!loaded.contains(member.getPlayerUuid()))
+                rankManager.onRankChange(member.getPlayerUuid(), member.getRank(), null);
+        }
+        unregister(organization);
+        changeTracker.markDeleted(organization);
+    }
+
+    /**
+     * Renames a registered organization and persists the change.
+     *
+     * @param organization the organization
+     * @param name         the new name
+     * @return false if another organization already uses the name
+     */
+    public boolean rename(@NotNull Organization organization, @NotNull String name) {
+        final String oldName = normalizeName(organization.getName());
+        final String newName = normalizeName(name);
+        if (!oldName.equals(newName) && organizationsByName.putIfAbsent(newName, organization) != null)
+            return false;
+
+        organization.setName(name);
+        if (!oldName.equals(newName))
+            organizationsByName.remove(oldName, organization);
+        organizationNames.put(organization.getId(), name);
+        changeTracker.markDirty(organization);
+        return true;
+    }
+
+    /**
+     * Adds a player to an organization.
+     *
+     * @param organization the organization
+     * @param player       the player uuid
+     * @param rank         the rank
+     * @param joinedAt     the join time in epoch milliseconds
+     * @return the member or null if the player already is in an organization
+     */
+    public @Nullable OrganizationMember addMember(@NotNull Organization organization, @NotNull UUID player, int rank, long joinedAt) {
+        final OrganizationMember member = new OrganizationMember(organization, player, rank, joinedAt);
+        if (members.putIfAbsent(player, member) != null)
+            return null;
+
+        organization.getMemberCounter().incrementAndGet();
+        indexMemberName(player);
+        fireMembershipChange(player, null, member);
+        return member;
+    }
+
+    /**
+     * Removes a player from their organization.
+     *
+     * @param player the player uuid
+     * @return the removed member or null if the player was not in an organization
+     */
+    public @Nullable OrganizationMember removeMember(@NotNull UUID player) {
+        final OrganizationMember member = members.remove(player);
+        if (member != null) {
+            member.getOrganization().getMemberCounter().decrementAndGet();
+            memberNames.remove(player);
+            fireMembershipChange(player, member, null);
+        }
+        return member;
+    }
+
+    private void indexMemberName(UUID player) {
+        final Player online = plugin.getServer().getPlayer(player);
+        if (online != null) {
+            memberNames.put(player, online.getName());
+            return;
+        }
+
+        unresolvedNames.add(player);
+        if (resolvingNames.compareAndSet(false, true))
+            Scheduler.get().runAsync(this::resolveNames);
+    }
+
+    /**
+     * Resolves the names of members loaded while offline, in one task however many members were loaded at once.
+     */
+    private void resolveNames() {
+        do {
+            UUID player;
+            while ((player = unresolvedNames.poll()) != null) {
+                final String name = plugin.getServer().getOfflinePlayer(player).getName();
+                if (name == null)
+                    continue;
+
+                memberNames.put(player, name);
+                if (!members.containsKey(player)) // Removed while resolving
+                    memberNames.remove(player);
+            }
+            resolvingNames.set(false);
+        } while (!unresolvedNames.isEmpty() && resolvingNames.compareAndSet(false, true));
+    }
+
+    /**
+     * Adds a player to an organization and persists the membership.
+     *
+     * @param organization the organization
+     * @param player       the player uuid
+     * @param rank         the rank
+     * @return the member or null if the player already is in an organization
+     */
+    public @Nullable OrganizationMember join(@NotNull Organization organization, @NotNull UUID player, int rank) {
+        final OrganizationMember member = addMember(organization, player, rank, System.currentTimeMillis());
+        if (member != null) {
+            changeTracker.markDirty(member);
+            rankManager.onRankChange(player, null, rank);
+        }
+        return member;
+    }
+
+    /**
+     * Removes a player from their organization and deletes the membership.
+     *
+     * @param player the player uuid
+     * @return the removed member or null if the player was not in an organization
+     */
+    public @Nullable OrganizationMember leave(@NotNull UUID player) {
+        final OrganizationMember member = removeMember(player);
+        if (member != null) {
+            changeTracker.markDeleted(member);
+            rankManager.onRankChange(player, member.getRank(), null);
+        }
+        return member;
+    }
+
+    /**
+     * Changes the rank of a member and persists the change.
+     *
+     * @param member the member
+     * @param rank   the rank
+     */
+    public void setRank(@NotNull OrganizationMember member, int rank) {
+        final int previous = member.getRank();
+        member.setRank(rank);
+        changeTracker.markDirty(member);
+        rankManager.onRankChange(member.getPlayer(), previous, rank);
+        fireMembershipChange(member.getPlayer(), member, member);
+    }
+
+    /**
+     * Adds a listener that is notified when memberships change.
+     *
+     * @param listener the listener
+     */
+    public void addMembershipListener(@NotNull MembershipListener listener) {
+        membershipListeners.add(listener);
+    }
+
+    /**
+     * Removes a membership listener.
+     *
+     * @param listener the listener
+     */
+    public void removeMembershipListener(@NotNull MembershipListener listener) {
+        membershipListeners.remove(listener);
+    }
+
+    private void fireMembershipChange(UUID player, @Nullable OrganizationMember previous, @Nullable OrganizationMember current) {
+        for (MembershipListener listener : membershipListeners) {
+            listener.onMembershipChange(player, previous, current);
+        }
+    }
+
+    /**
+     * Adds or replaces an invite of a player and persists it.
+     *
+     * @param invite the invite
+     * @return false if the organization of the invite is not registered
+     */
+    public boolean addInvite(@NotNull OrganizationInvite invite) {
+        final Organization organization = getOrganization(invite.organization());
+        if (organization == null)
+            return false;
+
+        invites.compute(invite.player(), current -> {
+            final List<OrganizationInvite> updated = new ArrayList<>();
+            if (current != null) {
+                for (OrganizationInvite existing : current) {
+                    if (!existing.organization().equals(invite.organization()))
+                        updated.add(existing);
+                }
+            }
+            updated.add(invite);
+            return List.copyOf(updated);
+        });
+        changeTracker.inviteCreated(organization, invite);
+        return true;
+    }
+
+    /**
+     * Removes an invite of a player and deletes it.
+     *
+     * @param player       the player uuid
+     * @param organization the organization id
+     * @return the removed invite or null if there was none
+     */
+    public @Nullable OrganizationInvite removeInvite(@NotNull UUID player, @NotNull UUID organization) {
+        final OrganizationInvite[] removed = new OrganizationInvite[1];
+        invites.compute(player, current -> {
+            if (current == null)
+                return null;
+
+            final List<OrganizationInvite> updated = new ArrayList<>(current.size());
+            for (OrganizationInvite existing : current) {
+                if (existing.organization().equals(organization)) {
+                    removed[0] = existing;
+                } else {
+                    updated.add(existing);
+                }
+            }
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+
+        if (removed[0] != null)
+            changeTracker.inviteRemoved(removed[0]);
+        return removed[0];
+    }
+
+    /**
+     * Gets the pending invites of a player.
+     *
+     * @param player the player uuid
+     * @return the invites, empty if there are none or the player is not loaded
+     */
+    public @NotNull List<OrganizationInvite> getInvites(@NotNull UUID player) {
+        final List<OrganizationInvite> playerInvites = invites.get(player);
+        return playerInvites == null ? List.of() : playerInvites;
+    }
+
+    /**
+     * Replaces the pending invites of a player.
+     *
+     * @param player        the player uuid
+     * @param playerInvites the invites
+     */
+    public void setInvites(@NotNull UUID player, @NotNull List<OrganizationInvite> playerInvites) {
+        if (playerInvites.isEmpty()) {
+            invites.remove(player);
+        } else {
+            invites.put(player, List.copyOf(playerInvites));
+        }
+    }
+
+    /**
+     * Gets the amount of registered organizations.
+     *
+     * @return the organization count
+     */
+    public int getOrganizationCount() {
+        return organizations.size();
+    }
+
+    /**
+     * Gets the amount of memberships across all organizations.
+     *
+     * @return the member count
+     */
+    public int getMemberCount() {
+        return members.size();
+    }
+
+    /**
+     * Gets the estimated memory retained by the registry, including the organization and member objects.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateFootprintBytes() {
+        return organizations.estimateFootprintBytes()
+            + members.estimateFootprintBytes()
+            + (long) organizations.size() * ORGANIZATION_BYTES
+            + (long) members.size() * MEMBER_BYTES;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A rank of the organization rank ladder with its compiled permissions.
+ *
+ * @param level       the level stored on memberships, higher ranks have higher levels
+ * @param name        the display name
+ * @param permissions the permission bitset, see {@link OrganizationPermission#getBit()}
+ * @param vaultGroup  the permission group members of this rank are added to or null if the rank is not mirrored
+ */
+public record Rank(int level, @NotNull String name, long permissions, @Nullable String vaultGroup) {
+    /**
+     * Returns if this rank grants a permission.
+     *
+     * @param permission the permission
+     * @return the boolean
+     */
+    public boolean has(@NotNull OrganizationPermission permission) {
+        return permission.isIn(permissions);
+    }
+
+    /**
+     * Returns a copy of this rank with other permissions.
+     *
+     * @param bits the permission bitset
+     * @return the rank
+     */
+    public @NotNull Rank withPermissions(long bits) {
+        return new Rank(level, name, bits, vaultGroup);
+    }
+}
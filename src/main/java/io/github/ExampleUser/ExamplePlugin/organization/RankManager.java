@@ -0,0 +1,128 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checks organization permissions of members against the compiled {@link RankTable} and applies rank edits.
+ */
+public final class RankManager {
+    private final OrganizationRegistry registry;
+    private final @Nullable VaultGroupMirror vaultMirror;
+    private volatile RankTable table;
+
+    /**
+     * Instantiates a new Rank manager.
+     *
+     * @param registry    the registry holding the members
+     * @param table       the rank table
+     * @param vaultMirror the mirror of ranks to Vault groups or null if ranks are not mirrored
+     */
+    public RankManager(OrganizationRegistry registry, RankTable table, @Nullable VaultGroupMirror vaultMirror) {
+        this.registry = registry;
+        this.table = table;
+        this.vaultMirror = vaultMirror;
+    }
+
+    /**
+     * Returns if a member has a permission in their organization.
+     *
+     * @param member     the member
+     * @param permission the permission
+     * @return the boolean
+     */
+    public boolean has(@NotNull OrganizationMember member, @NotNull OrganizationPermission permission) {
+        return table.has(member.getRank(), permission);
+    }
+
+    /**
+     * Returns if a loaded player has a permission in their organization.
+     *
+     * @param player     the player uuid
+     * @param permission the permission
+     * @return the boolean, false if the player is not in a loaded organization
+     */
+    public boolean has(@NotNull UUID player, @NotNull OrganizationPermission permission) {
+        final OrganizationMember member = registry.getMember(player);
+        return member != null && has(member, permission);
+    }
+
+    /**
+     * Gets the current rank table.
+     *
+     * @return the rank table
+     */
+    public @NotNull RankTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the rank of a member.
+     *
+     * @param member the member
+     * @return the rank or null if the member's level is not defined
+     */
+    public @Nullable Rank getRank(@NotNull OrganizationMember member) {
+        return table.getRank(member.getRank());
+    }
+
+    /**
+     * Replaces the permissions of a rank and saves the rank ladder to the config. The new bitset applies to all
+     * members of the rank with their next check, other ranks are unaffected.
+     *
+     * @param level       the rank level
+     * @param permissions the permission bitset
+     * @throws IllegalArgumentException if the level is not defined
+     */
+    public synchronized void setPermissions(int level, long permissions) {
+        table = table.withPermissions(level, permissions);
+        save(table);
+    }
+
+    /**
+     * Writes every rank, so a ladder that came from the defaults is saved completely.
+     */
+    private static void save(RankTable table) {
+        for (Rank rank : table.getRanks()) {
+            final String path = "organizations.ranks.%d".formatted(rank.level());
+            final List<String> names = OrganizationPermission.fromBits(rank.permissions()).stream()
+                .map(Enum::name)
+                .toList();
+
+            Cfg.get().set(path + ".name", rank.name());
+            Cfg.get().set(path + ".permissions", names);
+            Cfg.get().set(path + ".vault-group", rank.vaultGroup() == null ? "" : rank.vaultGroup());
+        }
+    }
+
+    /**
+     * Mirrors a rank change of a player to Vault groups if enabled.
+     *
+     * @param player        the player uuid
+     * @param previousLevel the previous rank level or null if the player joined
+     * @param currentLevel  the current rank level or null if the player left
+     */
+    void onRankChange(@NotNull UUID player, @Nullable Integer previousLevel, @Nullable Integer currentLevel) {
+        if (vaultMirror == null)
+            return;
+
+        final RankTable current = table;
+        vaultMirror.update(
+            player,
+            previousLevel == null ? null : current.getRank(previousLevel),
+            currentLevel == null ? null : current.getRank(currentLevel)
+        );
+    }
+
+    /**
+     * Waits for pending Vault group updates.
+     */
+    public void shutdown() {
+        if (vaultMirror != null)
+            vaultMirror.shutdown();
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The compiled organization rank ladder.
+ * <p>
+ * The permissions of every rank are compiled to a bitset once when the ladder is loaded or edited and stored in an
+ * array indexed by rank level. A member's effective permissions are those of its rank, so checking a permission is one
+ * array lookup and one bit test. Tables are immutable, an edit builds a new table that is swapped in atomically.
+ */
+public final class RankTable {
+    private static final int MAX_LEVEL = 255;
+
+    private final Rank[] ranks;
+    private final long[] permissions;
+
+    private RankTable(Rank[] ranks) {
+        this.ranks = ranks;
+        this.permissions = new long[ranks.length];
+        for (int level = 0; level < ranks.length; level++) {
+            permissions[level] = ranks[level] == null ? 0L : ranks[level].permissions();
+        }
+    }
+
+    /**
+     * Gets the rank table from the {@code organizations.ranks} config section, falling back to a member, officer and
+     * leader ladder if the section is empty.
+     *
+     * @return the rank table
+     */
+    public static @NotNull RankTable fromConfig() {
+        final Set<String> levels = Cfg.get().contains("organizations.ranks") ? Cfg.get().singleLayerKeySet("organizations.ranks") : Set.of();
+        final List<Rank> loaded = new ArrayList<>();
+
+        for (String key : levels) {
+            final int level;
+            try {
+                level = Integer.parseInt(key);
+            } catch (NumberFormatException e) {
+                Logger.get().warn("[Organizations] Ignoring rank '{}', rank keys must be levels between 0 and {}.", key, MAX_LEVEL);
+                continue;
+            }
+
+            if (level < 0 || level > MAX_LEVEL) {
+                Logger.get().warn("[Organizations] Ignoring rank '{}', rank keys must be levels between 0 and {}.", key, MAX_LEVEL);
+                continue;
+            }
+
+            final String path = "organizations.ranks." + key;
+            final EnumSet<OrganizationPermission> rankPermissions = EnumSet.noneOf(OrganizationPermission.class);
+            for (String name : Objects.requireNonNullElse(Cfg.get().getStringList(path + ".permissions"), List.<String>of())) {
+                final OrganizationPermission permission = OrganizationPermission.fromName(name);
+                if (permission == null) {
+                    Logger.get().warn("[Organizations] Ignoring unknown permission '{}' of rank {}.", name, level);
+                    continue;
+                }
+                rankPermissions.add(permission);
+            }
+
+            final String vaultGroup = Cfg.get().getOrDefault(path + ".vault-group", "");
+            loaded.add(new Rank(
+                level,
+                Cfg.get().getOrDefault(path + ".name", "Rank " + level),
+                OrganizationPermission.toBits(rankPermissions),
+                vaultGroup.isBlank() ? null : vaultGroup
+            ));
+        }
+
+        if (loaded.isEmpty())
+            return getDefault();
+
+        return of(loaded);
+    }
+
+    /**
+     * Gets the default rank ladder.
+     *
+     * @return the rank table
+     */
+    public static @NotNull RankTable getDefault() {
+        return of(List.of(
+            new Rank(0, "Member", OrganizationPermission.toBits(EnumSet.of(OrganizationPermission.DEPOSIT)), null),
+            new Rank(1, "Officer", OrganizationPermission.toBits(EnumSet.of(OrganizationPermission.INVITE, OrganizationPermission.KICK, OrganizationPermission.DEPOSIT)), null),
+            new Rank(2, "Leader", OrganizationPermission.toBits(EnumSet.allOf(OrganizationPermission.class)), null)
+        ));
+    }
+
+    private static RankTable of(List<Rank> ranks) {
+        int highest = 0;
+        for (Rank rank : ranks) {
+            highest = Math.max(highest, rank.level());
+        }
+
+        final Rank[] byLevel = new Rank[highest + 1];
+        for (Rank rank : ranks) {
+            byLevel[rank.level()] = rank;
+        }
+        return new RankTable(byLevel);
+    }
+
+    /**
+     * Gets the permission bitset of a rank level.
+     *
+     * @param level the rank level
+     * @return the bitset, empty for undefined levels
+     */
+    public long getPermissions(int level) {
+        return level >= 0 && level < permissions.length ? permissions[level] : 0L;
+    }
+
+    /**
+     * Returns if a rank level grants a permission.
+     *
+     * @param level      the rank level
+     * @param permission the permission
+     * @return the boolean
+     */
+    public boolean has(int level, @NotNull OrganizationPermission permission) {
+        return permission.isIn(getPermissions(level));
+    }
+
+    /**
+     * Gets a rank by level.
+     *
+     * @param level the rank level
+     * @return the rank or null if the level is undefined
+     */
+    public @Nullable Rank getRank(int level) {
+        return level >= 0 && level < ranks.length ? ranks[level] : null;
+    }
+
+    /**
+     * Gets all defined ranks from lowest to highest.
+     *
+     * @return the ranks
+     */
+    public @NotNull List<Rank> getRanks() {
+        return Arrays.stream(ranks).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Gets the lowest defined rank, new members join with it.
+     *
+     * @return the lowest rank
+     */
+    public @NotNull Rank getLowest() {
+        return getRanks().get(0);
+    }
+
+    /**
+     * Gets the highest defined rank, founders start with it.
+     *
+     * @return the highest rank
+     */
+    public @NotNull Rank getHighest() {
+        return ranks[ranks.length - 1];
+    }
+
+    /**
+     * Returns a copy of this table with the permissions of one rank replaced, the bitsets of other ranks are unchanged.
+     *
+     * @param level the rank level
+     * @param bits  the permission bitset
+     * @return the new table
+     * @throws IllegalArgumentException if the level is undefined
+     */
+    public @NotNull RankTable withPermissions(int level, long bits) {
+        final Rank rank = getRank(level);
+        if (rank == null)
+            throw new IllegalArgumentException("Rank level %d is not defined".formatted(level));
+
+        final Rank[] copy = ranks.clone();
+        copy[level] = rank.withPermissions(bits);
+        return new RankTable(copy);
+    }
+}
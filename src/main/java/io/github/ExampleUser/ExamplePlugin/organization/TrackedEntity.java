@@ -0,0 +1,59 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Base of organization entities whose changes are persisted by the {@link OrganizationChangeTracker}.
+ * <p>
+ * The change state is a single int field updated with CAS so tracking adds no object per entity.
+ */
+abstract sealed class TrackedEntity permits Organization, OrganizationMember {
+    private static final int DIRTY = 1;
+    private static final int DELETED = 1 << 1;
+    private static final AtomicIntegerFieldUpdater<TrackedEntity> STATE = AtomicIntegerFieldUpdater.newUpdater(TrackedEntity.class, "state");
+
+    private volatile int state;
+
+    /**
+     * Marks this entity as changed.
+     *
+     * @return true if the entity was clean and must be queued for the next flush
+     */
+    boolean markDirty() {
+        return (STATE.getAndUpdate(this, s -> s | DIRTY) & DIRTY) == 0;
+    }
+
+    /**
+     * Marks this entity as deleted.
+     *
+     * @return true if the entity was clean and must be queued for the next flush
+     */
+    boolean markDeleted() {
+        return (STATE.getAndUpdate(this, s -> s | DIRTY | DELETED) & DIRTY) == 0;
+    }
+
+    /**
+     * Clears the dirty bit before the entity is written. Changes made after this mark the entity dirty again.
+     */
+    void clearDirty() {
+        STATE.getAndUpdate(this, s -> s & ~DIRTY);
+    }
+
+    /**
+     * Returns if this entity has changes that are not persisted yet.
+     *
+     * @return the boolean
+     */
+    public boolean isDirty() {
+        return (state & DIRTY) != 0;
+    }
+
+    /**
+     * Returns if this entity was deleted.
+     *
+     * @return the boolean
+     */
+    public boolean isDeleted() {
+        return (state & DELETED) != 0;
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.ExampleUser.ExamplePlugin.organization;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.hooks.VaultHook;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import net.milkbowl.vault.permission.Permission;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mirrors organization ranks to permission groups through Vault.
+ * <p>
+ * Permission plugins may write to their storage when groups change, so updates run on a background thread. A single
+ * thread keeps the updates of a player in order, a promotion followed by a demotion never ends in the wrong group.
+ * Permission checks never go through Vault, see {@link RankTable}.
+ */
+public final class VaultGroupMirror {
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new Vault group mirror.
+     *
+     * @param threadName the name of the background thread
+     */
+    public VaultGroupMirror(String threadName) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Moves a player from the group of one rank to the group of another.
+     *
+     * @param player   the player uuid
+     * @param previous the previous rank or null if the player was not in an organization
+     * @param current  the current rank or null if the player left their organization
+     */
+    public void update(@NotNull UUID player, @Nullable Rank previous, @Nullable Rank current) {
+        final String removeGroup = previous == null ? null : previous.vaultGroup();
+        final String addGroup = current == null ? null : current.vaultGroup();
+        if (removeGroup == null && addGroup == null || removeGroup != null && removeGroup.equals(addGroup))
+            return;
+
+        try {
+            executor.execute(() -> apply(player, removeGroup, addGroup));
+        } catch (RejectedExecutionException e) {
+            Logger.get().warn("[Organizations] Skipped mirroring the rank of {} to Vault, the plugin is shutting down.", player);
+        }
+    }
+
+    private void apply(UUID player, @Nullable String removeGroup, @Nullable String addGroup) {
+        final VaultHook vault = ExamplePlugin.getVaultHook();
+        if (!vault.isVaultLoaded() || !vault.isPermissionsLoaded())
+            return;
+
+        final Permission permissions = vault.getPermissions();
+        if (!permissions.hasGroupSupport())
+            return;
+
+        final OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(player);
+        try {
+            if (removeGroup != null)
+                permissions.playerRemoveGroup(null, offlinePlayer, removeGroup);
+            if (addGroup != null)
+                permissions.playerAddGroup(null, offlinePlayer, addGroup);
+        } catch (RuntimeException e) {
+            Logger.get().error("[Organizations] Failed to mirror the rank of {} to Vault:", player, e);
+        }
+    }
+
+    /**
+     * Stops accepting updates and waits for queued updates to finish.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS))
+                Logger.get().warn("[Organizations] Timed out waiting for Vault group updates to finish.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.ExampleUser.ExamplePlugin.scheduler;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import space.arim.morepaperlib.MorePaperLib;
+import space.arim.morepaperlib.scheduling.GracefulScheduling;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Schedules plugin tasks through <a href="https://github.com/A248/MorePaperLib">MorePaperLib</a>.
+ * <p>
+ * On Folia every region of the world ticks on its own thread, so work is routed to the thread that owns the data it
+ * touches: entity work to the region of the entity, location work to the region of the location, work without a
+ * location to the global region and blocking work such as I/O to the async scheduler. On Paper and Spigot the
+ * regional schedulers all run on the main thread, so the same code runs unchanged.
+ */
+public class SchedulerHandler implements Reloadable {
+    private final GracefulScheduling scheduling;
+    private final Executor globalExecutor;
+    private final Executor asyncExecutor;
+
+    /**
+     * Instantiates the Scheduler handler.
+     *
+     * @param plugin the plugin instance
+     */
+    public SchedulerHandler(ExamplePlugin plugin) {
+        this.scheduling = new MorePaperLib(plugin).scheduling();
+        this.globalExecutor = this::runGlobal;
+        this.asyncExecutor = this::runAsync;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        if (scheduling.isUsingFolia())
+            Logger.get().info("[Organizations] Folia detected, tasks run on the threads of the regions they belong to.");
+    }
+
+    @Override
+    public void onDisable() {
+        scheduling.cancelGlobalTasks();
+    }
+
+    /**
+     * Returns if the server runs Folia.
+     *
+     * @return the boolean
+     */
+    public boolean isFolia() {
+        return scheduling.isUsingFolia();
+    }
+
+    /**
+     * Runs a task on the global region, or the main thread on Paper.
+     *
+     * @param task the task
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runGlobal(@NotNull Runnable task) {
+        return scheduling.globalRegionalScheduler().run(task);
+    }
+
+    /**
+     * Runs a task on the global region after a delay.
+     *
+     * @param task       the task
+     * @param delayTicks the delay in ticks
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runGlobalLater(@NotNull Runnable task, long delayTicks) {
+        return scheduling.globalRegionalScheduler().runDelayed(task, Math.max(1L, delayTicks));
+    }
+
+    /**
+     * Runs a task on the global region repeatedly.
+     *
+     * @param task        the task
+     * @param delayTicks  the delay before the first run in ticks
+     * @param periodTicks the period in ticks
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return scheduling.globalRegionalScheduler().runAtFixedRate(task, Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    /**
+     * Runs a task on the region owning a location.
+     *
+     * @param location the location
+     * @param task     the task
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runAt(@NotNull Location location, @NotNull Runnable task) {
+        return scheduling.regionSpecificScheduler(location).run(task);
+    }
+
+    /**
+     * Runs a task on the region owning an entity, following the entity if it moves to another region.
+     *
+     * @param entity  the entity
+     * @param task    the task
+     * @param retired run instead of the task if the entity was removed, for example because the player quit
+     * @return the scheduled task or null if the entity was already removed
+     */
+    public @Nullable ScheduledTask runFor(@NotNull Entity entity, @NotNull Runnable task, @Nullable Runnable retired) {
+        return scheduling.entitySpecificScheduler(entity).run(task, retired);
+    }
+
+    /**
+     * Runs a task on the async scheduler, for blocking work.
+     *
+     * @param task the task
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runAsync(@NotNull Runnable task) {
+        return scheduling.asyncScheduler().run(task);
+    }
+
+    /**
+     * Runs a task on the async scheduler after a delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @return the scheduled task
+     */
+    public @NotNull ScheduledTask runAsyncLater(@NotNull Runnable task, @NotNull Duration delay) {
+        return scheduling.asyncScheduler().runDelayed(task, delay);
+    }
+
+    /**
+     * Gets an executor running tasks on the global region.
+     *
+     * @return the executor
+     */
+    public @NotNull Executor getGlobalExecutor() {
+        return globalExecutor;
+    }
+
+    /**
+     * Gets an executor running tasks on the region owning an entity. Tasks for removed entities run on the global
+     * region instead, so futures depending on them still complete.
+     *
+     * @param entity the entity
+     * @return the executor
+     */
+    public @NotNull Executor getEntityExecutor(@NotNull Entity entity) {
+        return task -> {
+            if (runFor(entity, task, () -> runGlobal(task)) == null)
+                runGlobal(task);
+        };
+    }
+
+    /**
+     * Gets an executor running tasks on the async scheduler.
+     *
+     * @return the executor
+     */
+    public @NotNull Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+}
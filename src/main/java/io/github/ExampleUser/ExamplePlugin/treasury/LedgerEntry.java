@@ -0,0 +1,28 @@
+package io.github.ExampleUser.ExamplePlugin.treasury;
+
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationLedgerRecord;
+import io.github.ExampleUser.ExamplePlugin.organization.Organization;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * An applied treasury transaction waiting to be appended to the ledger.
+ *
+ * @param organization the organization
+ * @param treasury     the treasury of the organization
+ * @param sequence     the position of the transaction in the ledger of the organization
+ * @param player       the player who deposited or withdrew
+ * @param amount       the amount in minor units, negative for withdrawals
+ * @param createdAt    the time the transaction was applied in epoch milliseconds
+ */
+record LedgerEntry(@NotNull Organization organization, @NotNull OrganizationTreasury treasury, long sequence, @NotNull UUID player, long amount, long createdAt) {
+    /**
+     * Creates the ledger row of this entry.
+     *
+     * @return the record
+     */
+    @NotNull OrganizationLedgerRecord toRecord() {
+        return new OrganizationLedgerRecord(organization.getId(), sequence, player, amount, createdAt);
+    }
+}
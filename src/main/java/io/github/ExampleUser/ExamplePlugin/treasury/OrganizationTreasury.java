@@ -0,0 +1,146 @@
+package io.github.ExampleUser.ExamplePlugin.treasury;
+
+import java.util.UUID;
+
+/**
+ * The in-memory balance of an organization.
+ * <p>
+ * The balance changes as soon as a transaction is applied, before its ledger entry is written. The unsettled amount
+ * tracks changes that are not in the database yet, so {@code balance - unsettled} always equals the stored balance.
+ * Withdrawals waiting to be paid out are tracked as reserved, they return to the balance if the payout fails.
+ * All changes are atomic, reading the balance never locks.
+ */
+public final class OrganizationTreasury {
+    private final UUID organization;
+    private volatile long balance;
+    private long unsettled;
+    private long reserved;
+    private long sequence;
+    private volatile boolean stored;
+
+    /**
+     * Instantiates a new Organization treasury.
+     *
+     * @param organization the organization id
+     * @param balance      the stored balance in minor units
+     * @param sequence     the sequence of the last stored ledger entry
+     * @param stored       whether the treasury has a row in the database
+     */
+    public OrganizationTreasury(UUID organization, long balance, long sequence, boolean stored) {
+        this.organization = organization;
+        this.balance = balance;
+        this.sequence = sequence;
+        this.stored = stored;
+    }
+
+    /**
+     * Gets the organization id.
+     *
+     * @return the organization id
+     */
+    public UUID getOrganization() {
+        return organization;
+    }
+
+    /**
+     * Gets the balance including transactions that are not stored yet.
+     *
+     * @return the balance in minor units
+     */
+    public long getBalance() {
+        return balance;
+    }
+
+    /**
+     * Adds a deposit to the balance.
+     *
+     * @param amount the amount in minor units
+     * @return the ledger sequence of the deposit
+     */
+    synchronized long deposit(long amount) {
+        balance += amount;
+        unsettled += amount;
+        return ++sequence;
+    }
+
+    /**
+     * Removes an amount from the balance before it is paid out, so concurrent withdrawals cannot overdraw.
+     *
+     * @param amount the amount in minor units
+     * @return whether the balance covered the amount
+     */
+    synchronized boolean reserve(long amount) {
+        if (balance < amount)
+            return false;
+
+        balance -= amount;
+        unsettled -= amount;
+        reserved += amount;
+        return true;
+    }
+
+    /**
+     * Returns a reserved amount to the balance after the payout failed.
+     *
+     * @param amount the amount in minor units
+     */
+    synchronized void release(long amount) {
+        balance += amount;
+        unsettled += amount;
+        reserved -= amount;
+    }
+
+    /**
+     * Assigns the ledger sequence of a reserved amount that was paid out.
+     *
+     * @param amount the amount in minor units
+     * @return the ledger sequence of the withdrawal
+     */
+    synchronized long commitWithdrawal(long amount) {
+        reserved -= amount;
+        return ++sequence;
+    }
+
+    /**
+     * Gets the amount reserved by withdrawals that are not paid out yet.
+     *
+     * @return the reserved amount in minor units
+     */
+    public synchronized long getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Marks ledger entries as stored.
+     *
+     * @param amount the sum of the stored entries in minor units
+     */
+    synchronized void settle(long amount) {
+        unsettled -= amount;
+    }
+
+    /**
+     * Gets the balance the database should hold, excluding transactions that are not stored yet.
+     *
+     * @return the expected stored balance in minor units
+     */
+    synchronized long getSettledBalance() {
+        return balance - unsettled;
+    }
+
+    /**
+     * Returns if the treasury has a row in the database, otherwise the next flush inserts it.
+     *
+     * @return the boolean
+     */
+    boolean isStored() {
+        return stored;
+    }
+
+    /**
+     * Marks the treasury row as written.
+     */
+    void setStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.ExampleUser.ExamplePlugin.treasury;
+
+/**
+ * The outcome of a treasury reconciliation.
+ *
+ * @param checked          the amount of stored treasuries that were checked
+ * @param ledgerMismatches the amount of stored balances that differ from the sum of their ledger
+ * @param memoryMismatches the amount of loaded balances that differ from the stored balance
+ * @param completedAt      the time the reconciliation completed in epoch milliseconds
+ */
+public record ReconciliationResult(int checked, int ledgerMismatches, int memoryMismatches, long completedAt) {
+    /**
+     * Returns if all balances matched.
+     *
+     * @return the boolean
+     */
+    public boolean isConsistent() {
+        return ledgerMismatches == 0 && memoryMismatches == 0;
+    }
+}
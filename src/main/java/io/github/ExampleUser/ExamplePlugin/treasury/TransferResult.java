@@ -0,0 +1,42 @@
+package io.github.ExampleUser.ExamplePlugin.treasury;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The outcome of a treasury deposit or withdrawal.
+ *
+ * @param status  the status
+ * @param balance the organization balance after the transfer in minor units
+ */
+public record TransferResult(@NotNull Status status, long balance) {
+    /**
+     * Transfer outcomes.
+     */
+    public enum Status {
+        /**
+         * The money was moved and the transaction is queued for the ledger.
+         */
+        SUCCESS,
+        /**
+         * The organization balance does not cover the withdrawal.
+         */
+        INSUFFICIENT_FUNDS,
+        /**
+         * The economy plugin declined the transfer, usually because the player cannot afford the deposit.
+         */
+        DECLINED,
+        /**
+         * No economy is available, the organization was disbanded or the plugin is shutting down.
+         */
+        UNAVAILABLE
+    }
+
+    /**
+     * Returns if the transfer succeeded.
+     *
+     * @return the boolean
+     */
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+}
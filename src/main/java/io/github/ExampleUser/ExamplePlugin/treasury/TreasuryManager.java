@@ -0,0 +1,587 @@
+package io.github.ExampleUser.ExamplePlugin.treasury;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.Reloadable;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationLedgerRecord;
+import io.github.ExampleUser.ExamplePlugin.db.schema.tables.records.OrganizationTreasuriesRecord;
+import io.github.ExampleUser.ExamplePlugin.hooks.VaultHook;
+import io.github.ExampleUser.ExamplePlugin.organization.Organization;
+import io.github.ExampleUser.ExamplePlugin.utility.Cfg;
+import io.github.ExampleUser.ExamplePlugin.utility.DB;
+import io.github.ExampleUser.ExamplePlugin.utility.Logger;
+import io.github.ExampleUser.ExamplePlugin.utility.Scheduler;
+import io.github.ExampleUser.ExamplePlugin.utility.UUIDMap;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.Record3;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_LEDGER;
+import static io.github.ExampleUser.ExamplePlugin.db.schema.Tables.ORGANIZATION_TREASURIES;
+
+/**
+ * Organization treasuries backed by an append-only ledger.
+ * <p>
+ * Deposits and withdrawals are queued and applied on the server thread, since Vault economies expect to be called
+ * there, at most a configured amount per tick and within a time budget so bursts of transfers are spread over several
+ * ticks. Balances change in memory as soon as a transfer is applied, withdrawals reserve their amount up front so the
+ * treasury cannot be overdrawn. Applied transfers are appended to the ledger in batches on a background thread, in the
+ * same transaction as the stored balance. A periodic reconciliation verifies that every stored balance equals the sum
+ * of its ledger and that balances in memory match the database.
+ */
+public class TreasuryManager implements Reloadable {
+    private final ExamplePlugin plugin;
+    private final UUIDMap<CompletableFuture<OrganizationTreasury>> treasuries = new UUIDMap<>();
+    private final Queue<Transfer> transfers = new ConcurrentLinkedQueue<>();
+    private final Queue<LedgerEntry> ledger = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ScheduledExecutorService writer;
+    private ScheduledTask tickTask;
+    private long minorUnitsPerCurrency;
+    private int batchSize;
+
+    // Metrics
+    private final LongAdder appliedTransfers = new LongAdder();
+    private final LongAdder declinedTransfers = new LongAdder();
+    private final LongAdder writtenEntries = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final AtomicLong maxTickNanos = new AtomicLong();
+    private final AtomicReference<ReconciliationResult> lastReconciliation = new AtomicReference<>();
+
+    /**
+     * Instantiates a new Treasury manager.
+     *
+     * @param plugin the plugin instance
+     */
+    public TreasuryManager(ExamplePlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void onLoad() {
+    }
+
+    @Override
+    public void onEnable() {
+        minorUnitsPerCurrency = (long) Math.pow(10, Math.max(0, Math.min(6, Cfg.get().getOrDefault("organizations.treasury.fractional-digits", 2))));
+        batchSize = Math.max(1, Cfg.get().getOrDefault("db.batch-size", 1000));
+
+        final int maxTransfersPerTick = Math.max(1, Cfg.get().getOrDefault("organizations.treasury.max-transfers-per-tick", 50));
+        final long tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(Cfg.get().getOrDefault("organizations.treasury.tick-budget-us", 2000));
+        tickTask = Scheduler.get().runGlobalTimer(() -> tick(maxTransfersPerTick, tickBudgetNanos), 1L, 1L);
+
+        final long flushIntervalMillis = Math.max(50L, Cfg.get().getOrDefault("organizations.treasury.flush-interval-ms", 2000));
+        final long reconcileIntervalMinutes = Cfg.get().getOrDefault("organizations.treasury.reconcile-interval-minutes", 60);
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "%s-treasury-writer".formatted(plugin.getName()));
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (reconcileIntervalMinutes > 0)
+            writer.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void onDisable() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        // Nothing was paid out for transfers still queued, give reserved withdrawals back before the final flush
+        Transfer transfer;
+        while ((transfer = transfers.poll()) != null) {
+            if (transfer.type() == TransferType.WITHDRAW)
+                transfer.treasury().release(transfer.amount());
+            transfer.result().complete(new TransferResult(TransferResult.Status.UNAVAILABLE, transfer.treasury().getBalance()));
+        }
+
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS))
+                    Logger.get().warn("[Organizations] Treasury writer did not stop in time, flushing on the current thread.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+
+        flushQuietly();
+        if (!ledger.isEmpty())
+            Logger.get().error("[Organizations] {} treasury transactions could not be written to the ledger during shutdown!", ledger.size());
+
+        treasuries.clear();
+    }
+
+    /**
+     * Gets the treasury of an organization, loading it if needed.
+     *
+     * @param organization the organization id
+     * @return the future treasury
+     */
+    public @NotNull CompletableFuture<OrganizationTreasury> getTreasury(@NotNull UUID organization) {
+        final CompletableFuture<OrganizationTreasury> future = treasuries.computeIfAbsent(organization, () -> DB.supplyAsync(context -> {
+            final OrganizationTreasuriesRecord record = context
+                .selectFrom(ORGANIZATION_TREASURIES)
+                .where(ORGANIZATION_TREASURIES.ORGANIZATION_UUID.eq(organization))
+                .fetchOne();
+
+            return record == null
+                ? new OrganizationTreasury(organization, 0L, 0L, false)
+                : new OrganizationTreasury(organization, record.getBalance(), record.getLastSequence(), true);
+        }));
+
+        future.whenComplete((treasury, throwable) -> {
+            if (throwable != null)
+                treasuries.remove(organization, future); // Retry on the next access
+        });
+        return future;
+    }
+
+    /**
+     * Queues a deposit from a player into the treasury of an organization.
+     *
+     * @param player       the player
+     * @param organization the organization
+     * @param amount       the amount in minor units, must be positive
+     * @return the future result, completed on the server thread once the transfer was applied
+     */
+    public @NotNull CompletableFuture<TransferResult> deposit(@NotNull OfflinePlayer player, @NotNull Organization organization, long amount) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be positive");
+
+        if (!isEconomyAvailable())
+            return CompletableFuture.completedFuture(new TransferResult(TransferResult.Status.UNAVAILABLE, 0L));
+
+        return getTreasury(organization.getId())
+            .thenCompose(treasury -> enqueue(new Transfer(TransferType.DEPOSIT, player, organization, treasury, amount, new CompletableFuture<>())));
+    }
+
+    /**
+     * Queues a withdrawal from the treasury of an organization to a player. The amount is reserved immediately.
+     *
+     * @param player       the player
+     * @param organization the organization
+     * @param amount       the amount in minor units, must be positive
+     * @return the future result, completed on the server thread once the transfer was applied
+     */
+    public @NotNull CompletableFuture<TransferResult> withdraw(@NotNull OfflinePlayer player, @NotNull Organization organization, long amount) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be positive");
+
+        if (!isEconomyAvailable())
+            return CompletableFuture.completedFuture(new TransferResult(TransferResult.Status.UNAVAILABLE, 0L));
+
+        return getTreasury(organization.getId()).thenCompose(treasury -> {
+            if (!treasury.reserve(amount))
+                return CompletableFuture.completedFuture(new TransferResult(TransferResult.Status.INSUFFICIENT_FUNDS, treasury.getBalance()));
+
+            return enqueue(new Transfer(TransferType.WITHDRAW, player, organization, treasury, amount, new CompletableFuture<>()));
+        });
+    }
+
+    private CompletableFuture<TransferResult> enqueue(Transfer transfer) {
+        transfers.add(transfer);
+        return transfer.result();
+    }
+
+    /**
+     * Applies queued transfers until the per tick limit or time budget is reached.
+     */
+    private void tick(int maxTransfers, long budgetNanos) {
+        if (transfers.isEmpty())
+            return;
+
+        final long start = System.nanoTime();
+        int applied = 0;
+        Transfer transfer;
+        while (applied < maxTransfers && System.nanoTime() - start < budgetNanos && (transfer = transfers.poll()) != null) {
+            apply(transfer);
+            applied++;
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        if (elapsed > maxTickNanos.get())
+            maxTickNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    private void apply(Transfer transfer) {
+        final OrganizationTreasury treasury = transfer.treasury();
+        final boolean withdrawal = transfer.type() == TransferType.WITHDRAW;
+
+        if (transfer.organization().isDeleted() || !isEconomyAvailable()) {
+            if (withdrawal)
+                treasury.release(transfer.amount());
+            transfer.result().complete(new TransferResult(TransferResult.Status.UNAVAILABLE, treasury.getBalance()));
+            return;
+        }
+
+        final Economy economy = ExamplePlugin.getVaultHook().getEconomy();
+        final double value = toCurrency(transfer.amount());
+        EconomyResponse response = null;
+        try {
+            response = withdrawal
+                ? economy.depositPlayer(transfer.player(), value)
+                : economy.withdrawPlayer(transfer.player(), value);
+        } catch (RuntimeException e) {
+            Logger.get().error("[Organizations] Economy transfer of {} for {} failed:", value, transfer.player().getUniqueId(), e);
+        }
+
+        if (response == null || !response.transactionSuccess()) {
+            if (withdrawal)
+                treasury.release(transfer.amount());
+            declinedTransfers.increment();
+            transfer.result().complete(new TransferResult(TransferResult.Status.DECLINED, treasury.getBalance()));
+            return;
+        }
+
+        final long sequence = withdrawal ? treasury.commitWithdrawal(transfer.amount()) : treasury.deposit(transfer.amount());
+        ledger.add(new LedgerEntry(
+            transfer.organization(),
+            treasury,
+            sequence,
+            transfer.player().getUniqueId(),
+            withdrawal ? -transfer.amount() : transfer.amount(),
+            System.currentTimeMillis()
+        ));
+        appliedTransfers.increment();
+        transfer.result().complete(new TransferResult(TransferResult.Status.SUCCESS, treasury.getBalance()));
+    }
+
+    /**
+     * Appends all queued transactions to the ledger and updates the stored balances in one transaction, on the calling
+     * thread.
+     *
+     * @throws SQLException the sql exception
+     */
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            final List<LedgerEntry> drained = new ArrayList<>();
+            final Set<Organization> referenced = new HashSet<>();
+            LedgerEntry entry;
+            while ((entry = ledger.poll()) != null) {
+                if (entry.organization().isDeleted()) {
+                    treasuries.remove(entry.organization().getId());
+                    Logger.get().warn("[Organizations] Dropped a treasury transaction of {} for disbanded organization {}.", entry.amount(), entry.organization().getName());
+                    continue;
+                }
+                drained.add(entry);
+                referenced.add(entry.organization());
+            }
+            if (drained.isEmpty())
+                return;
+
+            // Ledger rows reference their organization, which may have been created since the last organization flush
+            try {
+                plugin.getOrganizationRegistry().getChangeTracker().flushOrganizations(referenced);
+            } catch (SQLException e) {
+                Logger.get().warn("[Organizations] Failed to write new organizations, their treasury transactions wait for the next flush.", e);
+            }
+
+            final List<LedgerEntry> entries = new ArrayList<>(drained.size());
+            final List<LedgerEntry> waiting = new ArrayList<>();
+            for (LedgerEntry pending : drained) {
+                (pending.organization().isDirty() ? waiting : entries).add(pending);
+            }
+            ledger.addAll(waiting); // Written once their organization is stored, the entries of other organizations are not held up
+            if (entries.isEmpty())
+                return;
+
+            final Map<OrganizationTreasury, long[]> changes = new LinkedHashMap<>(); // Sum and last sequence per treasury
+            final List<OrganizationLedgerRecord> records = new ArrayList<>(entries.size());
+            for (LedgerEntry pending : entries) {
+                final long[] change = changes.computeIfAbsent(pending.treasury(), treasury -> new long[2]);
+                change[0] += pending.amount();
+                change[1] = Math.max(change[1], pending.sequence());
+                records.add(pending.toRecord());
+            }
+
+            try {
+                write(records, changes);
+            } catch (SQLException | DataAccessException e) {
+                ledger.addAll(entries);
+                failedFlushes.increment();
+                throw e instanceof SQLException sqlException ? sqlException : new SQLException(e);
+            }
+
+            changes.forEach((treasury, change) -> {
+                treasury.settle(change[0]);
+                treasury.setStored();
+            });
+            writtenEntries.add(records.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<OrganizationLedgerRecord> records, Map<OrganizationTreasury, long[]> changes) throws SQLException {
+        try (Connection con = DB.getConnection()) {
+            DB.getContext(con).transaction(config -> {
+                final DSLContext context = config.dsl();
+
+                for (int i = 0; i < records.size(); i += batchSize) {
+                    context.batchInsert(records.subList(i, Math.min(i + batchSize, records.size()))).execute();
+                }
+
+                // Balances are applied as deltas so the stored balance stays the sum of the ledger
+                final List<Query> queries = new ArrayList<>(changes.size());
+                changes.forEach((treasury, change) -> queries.add(treasury.isStored()
+                    ? context
+                        .update(ORGANIZATION_TREASURIES)
+                        .set(ORGANIZATION_TREASURIES.BALANCE, ORGANIZATION_TREASURIES.BALANCE.plus(change[0]))
+                        .set(ORGANIZATION_TREASURIES.LAST_SEQUENCE, change[1])
+                        .where(ORGANIZATION_TREASURIES.ORGANIZATION_UUID.eq(treasury.getOrganization()))
+                    : context.insertInto(ORGANIZATION_TREASURIES).set(new OrganizationTreasuriesRecord(treasury.getOrganization(), change[0], change[1]))
+                ));
+                context.batch(queries).execute();
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException e) {
+            Logger.get().error("[Organizations] Failed to write treasury ledger, it will be retried on the next flush.", e);
+        }
+    }
+
+    /**
+     * Runs a reconciliation on the treasury writer thread.
+     *
+     * @return the future result
+     */
+    public @NotNull CompletableFuture<ReconciliationResult> reconcileAsync() {
+        final ScheduledExecutorService executor = writer;
+        if (executor == null)
+            return CompletableFuture.failedFuture(new IllegalStateException("Treasury is not running"));
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reconcile();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Verifies that every stored balance equals the sum of its ledger and that loaded balances equal the stored ones.
+     * Blocks flushes while it runs.
+     *
+     * @return the result
+     * @throws SQLException the sql exception
+     */
+    public @NotNull ReconciliationResult reconcile() throws SQLException {
+        flushLock.lock();
+        try {
+            flush();
+
+            final Map<UUID, Long> stored = new HashMap<>();
+            int ledgerMismatches = 0;
+            try (Connection con = DB.getConnection()) { // Replicas may lag behind the flush above
+                final List<Record3<UUID, Long, BigDecimal>> rows = DB.getContext(con)
+                    .select(ORGANIZATION_TREASURIES.ORGANIZATION_UUID, ORGANIZATION_TREASURIES.BALANCE, DSL.coalesce(DSL.sum(ORGANIZATION_LEDGER.AMOUNT), BigDecimal.ZERO))
+                    .from(ORGANIZATION_TREASURIES)
+                    .leftJoin(ORGANIZATION_LEDGER).on(ORGANIZATION_LEDGER.ORGANIZATION_UUID.eq(ORGANIZATION_TREASURIES.ORGANIZATION_UUID))
+                    .groupBy(ORGANIZATION_TREASURIES.ORGANIZATION_UUID, ORGANIZATION_TREASURIES.BALANCE)
+                    .fetch();
+
+                for (Record3<UUID, Long, BigDecimal> row : rows) {
+                    stored.put(row.value1(), row.value2());
+                    if (row.value3().longValueExact() != row.value2()) {
+                        ledgerMismatches++;
+                        Logger.get().error("[Organizations] Treasury of organization {} stores {} but its ledger sums to {}!", row.value1(), row.value2(), row.value3());
+                    }
+                }
+            } catch (DataAccessException | ArithmeticException e) {
+                throw new SQLException(e);
+            }
+
+            int memoryMismatches = 0;
+            for (CompletableFuture<OrganizationTreasury> future : treasuries.values()) {
+                final OrganizationTreasury treasury = future.getNow(null);
+                if (treasury == null)
+                    continue;
+
+                final Long actual = stored.get(treasury.getOrganization());
+                if (actual == null && plugin.getOrganizationRegistry().getOrganization(treasury.getOrganization()) == null)
+                    continue; // Disbanded, the stored treasury was removed with the organization
+
+                final long expected = treasury.getSettledBalance();
+                if (expected != (actual == null ? 0L : actual)) {
+                    memoryMismatches++;
+                    Logger.get().error("[Organizations] Treasury of organization {} holds {} in memory but {} is stored!", treasury.getOrganization(), expected, actual);
+                }
+            }
+
+            final ReconciliationResult result = new ReconciliationResult(stored.size(), ledgerMismatches, memoryMismatches, System.currentTimeMillis());
+            lastReconciliation.set(result);
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void reconcileQuietly() {
+        try {
+            final ReconciliationResult result = reconcile();
+            if (result.isConsistent())
+                Logger.get().info("[Organizations] Reconciled {} treasuries, all balances match their ledgers.", result.checked());
+        } catch (SQLException e) {
+            Logger.get().error("[Organizations] Treasury reconciliation failed:", e);
+        }
+    }
+
+    /**
+     * Returns if a Vault economy is available for transfers.
+     *
+     * @return the boolean
+     */
+    public boolean isEconomyAvailable() {
+        final VaultHook vault = ExamplePlugin.getVaultHook();
+        return vault.isVaultLoaded() && vault.isEconomyLoaded();
+    }
+
+    /**
+     * Converts an amount typed by a player to minor units.
+     *
+     * @param amount the amount in currency units
+     * @return the amount in minor units
+     */
+    public long toMinorUnits(double amount) {
+        return Math.round(amount * minorUnitsPerCurrency);
+    }
+
+    /**
+     * Converts minor units to an amount in currency units.
+     *
+     * @param minorUnits the amount in minor units
+     * @return the amount in currency units
+     */
+    public double toCurrency(long minorUnits) {
+        return minorUnits / (double) minorUnitsPerCurrency;
+    }
+
+    /**
+     * Formats an amount with the economy's currency format.
+     *
+     * @param minorUnits the amount in minor units
+     * @return the formatted amount
+     */
+    public @NotNull String format(long minorUnits) {
+        final double value = toCurrency(minorUnits);
+        return isEconomyAvailable() ? ExamplePlugin.getVaultHook().getEconomy().format(value) : String.valueOf(value);
+    }
+
+    /**
+     * Gets the amount of transfers waiting for the server thread.
+     *
+     * @return the pending transfer count
+     */
+    public int getPendingTransferCount() {
+        return transfers.size();
+    }
+
+    /**
+     * Gets the amount of applied transactions waiting to be written to the ledger.
+     *
+     * @return the pending entry count
+     */
+    public int getPendingEntryCount() {
+        return ledger.size();
+    }
+
+    /**
+     * Gets the amount of applied transfers.
+     *
+     * @return the applied transfer count
+     */
+    public long getAppliedTransferCount() {
+        return appliedTransfers.sum();
+    }
+
+    /**
+     * Gets the amount of transfers the economy declined.
+     *
+     * @return the declined transfer count
+     */
+    public long getDeclinedTransferCount() {
+        return declinedTransfers.sum();
+    }
+
+    /**
+     * Gets the amount of ledger entries written.
+     *
+     * @return the written entry count
+     */
+    public long getWrittenEntryCount() {
+        return writtenEntries.sum();
+    }
+
+    /**
+     * Gets the amount of failed ledger flushes.
+     *
+     * @return the failed flush count
+     */
+    public long getFailedFlushCount() {
+        return failedFlushes.sum();
+    }
+
+    /**
+     * Gets the longest time transfers took in a single tick.
+     *
+     * @return the duration in milliseconds
+     */
+    public double getMaxTickMillis() {
+        return maxTickNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets the result of the last reconciliation.
+     *
+     * @return the result or null if no reconciliation ran yet
+     */
+    public ReconciliationResult getLastReconciliation() {
+        return lastReconciliation.get();
+    }
+
+    private enum TransferType {
+        DEPOSIT,
+        WITHDRAW
+    }
+
+    private record Transfer(TransferType type, OfflinePlayer player, Organization organization, OrganizationTreasury treasury, long amount, CompletableFuture<TransferResult> result) {
+    }
+}
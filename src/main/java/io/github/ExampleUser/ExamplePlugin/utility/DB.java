@@ -1,14 +1,21 @@
 package io.github.ExampleUser.ExamplePlugin.utility;
 
 import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.db.DatabaseExecutor;
 import io.github.ExampleUser.ExamplePlugin.db.DatabaseHandler;
 import io.github.ExampleUser.ExamplePlugin.db.DatabaseType;
+import io.github.ExampleUser.ExamplePlugin.db.WriteBehindQueue;
 import io.github.ExampleUser.ExamplePlugin.db.jooq.JooqContext;
+import org.bukkit.entity.Entity;
 import org.jetbrains.annotations.NotNull;
 import org.jooq.DSLContext;
+import org.jooq.UpdatableRecord;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Convenience class for accessing methods in {@link DatabaseHandler#getConnection}
@@ -25,6 +32,17 @@ public abstract class DB {
         return ExamplePlugin.getInstance().getDataHandler().getConnection();
     }
 
+    /**
+     * Convenience method for {@link DatabaseHandler#getReadConnection} to getConnection a read-only {@link Connection}
+     *
+     * @return the connection
+     * @throws SQLException the sql exception
+     */
+    @NotNull
+    public static Connection getReadConnection() throws SQLException {
+        return ExamplePlugin.getInstance().getDataHandler().getReadConnection();
+    }
+
     /**
      * Convenience method for {@link JooqContext#createContext(Connection)} to getConnection {@link DSLContext}
      *
@@ -36,6 +54,16 @@ public abstract class DB {
         return ExamplePlugin.getInstance().getDataHandler().getJooqContext().createContext(con);
     }
 
+    /**
+     * Convenience method for {@link JooqContext#getContext()} to getConnection a pooled {@link DSLContext}
+     *
+     * @return the context
+     */
+    @NotNull
+    public static DSLContext getContext() {
+        return ExamplePlugin.getInstance().getDataHandler().getJooqContext().getContext();
+    }
+
     /**
      * Convenience method for {@link DatabaseHandler#getDB()} to getConnection {@link DatabaseType}
      *
@@ -44,4 +72,73 @@ public abstract class DB {
     public static DatabaseType getDB() {
         return ExamplePlugin.getInstance().getDataHandler().getDB();
     }
+
+    /**
+     * Convenience method for {@link WriteBehindQueue#enqueue(UpdatableRecord)} to queue an upsert without blocking
+     *
+     * @param record the record
+     */
+    public static void enqueue(@NotNull UpdatableRecord<?> record) {
+        final WriteBehindQueue queue = ExamplePlugin.getInstance().getDataHandler().getWriteBehindQueue();
+        if (queue == null) {
+            Logger.get().warn("[DB] Dropped a write to {} because the database is not available.", record.getTable().getName());
+            return;
+        }
+
+        queue.enqueue(record);
+    }
+
+    /**
+     * Convenience method for {@link DatabaseExecutor#supplyAsync(Function)} to run a query off the main thread
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return the future result, failed with a {@link SQLException} if the database is not available
+     */
+    public static <T> CompletableFuture<T> supplyAsync(@NotNull Function<DSLContext, T> task) {
+        final DatabaseExecutor executor = ExamplePlugin.getInstance().getDataHandler().getDatabaseExecutor();
+        if (executor == null)
+            return CompletableFuture.failedFuture(new SQLException("[DB] The database is not available. (DatabaseExecutor is null)"));
+
+        return executor.supplyAsync(task);
+    }
+
+    /**
+     * Convenience method for {@link DatabaseExecutor#runAsync(Consumer)} to run a query off the main thread
+     *
+     * @param task the task
+     * @return the future, failed with a {@link SQLException} if the database is not available
+     */
+    public static CompletableFuture<Void> runAsync(@NotNull Consumer<DSLContext> task) {
+        final DatabaseExecutor executor = ExamplePlugin.getInstance().getDataHandler().getDatabaseExecutor();
+        if (executor == null)
+            return CompletableFuture.failedFuture(new SQLException("[DB] The database is not available. (DatabaseExecutor is null)"));
+
+        return executor.runAsync(task);
+    }
+
+    /**
+     * Returns a future that completes on the global region thread with the result of the given future, so dependent
+     * stages can safely use the Bukkit API. On Paper this is the main thread.
+     *
+     * @param future the future
+     * @param <T>    the result type
+     * @return the future completing on the main thread
+     */
+    public static <T> CompletableFuture<T> sync(@NotNull CompletableFuture<T> future) {
+        return future.whenCompleteAsync((result, throwable) -> {}, Scheduler.global());
+    }
+
+    /**
+     * Returns a future that completes on the thread owning an entity with the result of the given future, so dependent
+     * stages can safely use the entity. On Folia this is the thread of the entity's region, otherwise the main thread.
+     *
+     * @param future the future
+     * @param entity the entity, usually the player who ran a command
+     * @param <T>    the result type
+     * @return the future completing on the entity's thread
+     */
+    public static <T> CompletableFuture<T> sync(@NotNull CompletableFuture<T> future, @NotNull Entity entity) {
+        return future.whenCompleteAsync((result, throwable) -> {}, Scheduler.entity(entity));
+    }
 }
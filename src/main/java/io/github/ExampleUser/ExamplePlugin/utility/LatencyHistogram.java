@@ -0,0 +1,102 @@
+package io.github.ExampleUser.ExamplePlugin.utility;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A low overhead, thread-safe latency histogram with power of two microsecond buckets.
+ * <p>
+ * Recording is a handful of atomic increments and never allocates. Percentiles are approximate and reported as the
+ * upper bound of the bucket they fall into.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = 40; // 2^39 µs is well over a week
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            return;
+
+        final long micros = nanos / 1000L;
+        final int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get())
+            maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the amount of recorded durations.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of all recorded durations.
+     *
+     * @return the total in milliseconds
+     */
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1_000_000D;
+    }
+
+    /**
+     * Gets the mean of all recorded durations.
+     *
+     * @return the mean in milliseconds
+     */
+    public double getMeanMillis() {
+        final long n = count.sum();
+        return n == 0 ? 0D : totalNanos.sum() / (double) n / 1_000_000D;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return the max in milliseconds
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000D;
+    }
+
+    /**
+     * Gets an approximate percentile of the recorded durations.
+     *
+     * @param percentile the percentile between 0 and 1
+     * @return the upper bound of the bucket containing the percentile in milliseconds
+     */
+    public double getPercentileMillis(double percentile) {
+        long total = 0;
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0)
+            return 0D;
+
+        final long target = (long) Math.ceil(total * Math.min(1D, Math.max(0D, percentile)));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target)
+                return Math.min((1L << i) / 1000D, getMaxMillis()); // Bucket i holds durations below 2^i µs
+        }
+        return getMaxMillis();
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.ExampleUser.ExamplePlugin.utility;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.messages.MessageHandler;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Convenience class for accessing {@link MessageHandler#render}
+ */
+public abstract class Messages {
+    /**
+     * Convenience method for {@link MessageHandler#render} to render a message from messages.yml
+     *
+     * @param key          the message key, like {@code organization.not-member}
+     * @param placeholders alternating placeholder names and values
+     * @return the component
+     */
+    @NotNull
+    public static Component get(@NotNull String key, @NotNull Object... placeholders) {
+        return ExamplePlugin.getInstance().getMessageHandler().render(key, placeholders);
+    }
+}
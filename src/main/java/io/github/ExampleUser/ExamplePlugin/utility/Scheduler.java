@@ -0,0 +1,67 @@
+package io.github.ExampleUser.ExamplePlugin.utility;
+
+import io.github.ExampleUser.ExamplePlugin.ExamplePlugin;
+import io.github.ExampleUser.ExamplePlugin.scheduler.SchedulerHandler;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import space.arim.morepaperlib.scheduling.ScheduledTask;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Convenience class for accessing methods in {@link SchedulerHandler}
+ */
+public abstract class Scheduler {
+    /**
+     * Convenience method for {@link ExamplePlugin#getSchedulerHandler()}
+     *
+     * @return the scheduler handler
+     */
+    @NotNull
+    public static SchedulerHandler get() {
+        return ExamplePlugin.getInstance().getSchedulerHandler();
+    }
+
+    /**
+     * Convenience method for {@link SchedulerHandler#runGlobal(Runnable)} to run a task without a location
+     *
+     * @param task the task
+     * @return the scheduled task
+     */
+    @NotNull
+    public static ScheduledTask runGlobal(@NotNull Runnable task) {
+        return get().runGlobal(task);
+    }
+
+    /**
+     * Convenience method for {@link SchedulerHandler#runAsync(Runnable)} to run blocking work
+     *
+     * @param task the task
+     * @return the scheduled task
+     */
+    @NotNull
+    public static ScheduledTask runAsync(@NotNull Runnable task) {
+        return get().runAsync(task);
+    }
+
+    /**
+     * Convenience method for {@link SchedulerHandler#getGlobalExecutor()}
+     *
+     * @return the executor
+     */
+    @NotNull
+    public static Executor global() {
+        return get().getGlobalExecutor();
+    }
+
+    /**
+     * Convenience method for {@link SchedulerHandler#getEntityExecutor(Entity)}
+     *
+     * @param entity the entity
+     * @return the executor
+     */
+    @NotNull
+    public static Executor entity(@NotNull Entity entity) {
+        return get().getEntityExecutor(entity);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.ExampleUser.ExamplePlugin.utility;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Collects the duration of startup phases in the order they ran, so enable time can be tracked as data grows.
+ */
+public final class StartupTimings {
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Record the duration of a phase, adding to a phase recorded before.
+     *
+     * @param phase the phase name
+     * @param nanos the duration in nanoseconds
+     */
+    public synchronized void record(@NotNull String phase, long nanos) {
+        phases.merge(phase, nanos, Long::sum);
+    }
+
+    /**
+     * Gets the duration of a phase.
+     *
+     * @param phase the phase name
+     * @return the duration in milliseconds or 0 if the phase did not run
+     */
+    public synchronized double getMillis(@NotNull String phase) {
+        return phases.getOrDefault(phase, 0L) / 1_000_000D;
+    }
+
+    /**
+     * Gets the combined duration of all phases.
+     *
+     * @return the duration in milliseconds
+     */
+    public synchronized double getTotalMillis() {
+        long total = 0L;
+        for (long nanos : phases.values()) {
+            total += nanos;
+        }
+        return total / 1_000_000D;
+    }
+
+    /**
+     * Logs the duration of every phase.
+     */
+    public synchronized void log() {
+        if (phases.isEmpty())
+            return;
+
+        final StringJoiner breakdown = new StringJoiner(", ");
+        phases.forEach((phase, nanos) -> breakdown.add("%s %.1f ms".formatted(phase, nanos / 1_000_000D)));
+        Logger.get().info("[Organizations] Startup phases took {} ms: {}.", "%.1f".formatted(getTotalMillis()), breakdown);
+    }
+}
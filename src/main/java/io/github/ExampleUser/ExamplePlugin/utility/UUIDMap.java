@@ -0,0 +1,490 @@
+package io.github.ExampleUser.ExamplePlugin.utility;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A concurrent hash map keyed by the two {@code long} halves of a {@link UUID}.
+ * <p>
+ * Keys are stored inline in primitive arrays using open addressing, so no {@link UUID} or entry objects are kept per
+ * mapping. The table is split into stripes each guarded by a {@link StampedLock}: writes lock a single stripe while
+ * reads are optimistic and only fall back to a read lock if they raced with a write to the same stripe.
+ * <p>
+ * Null values are not supported.
+ *
+ * @param <V> the value type
+ */
+public final class UUIDMap<V> {
+    private static final int MIN_CAPACITY = 8;
+    private static final int OBJECT_HEADER_BYTES = 16; // Array header with compressed class pointers
+    private static final int REFERENCE_BYTES = 4; // Compressed oops, the default below 32 GB of heap
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Instantiates a new UUID map.
+     *
+     * @param stripeCount  the amount of independently locked stripes, rounded up to a power of two
+     * @param expectedSize the expected amount of mappings, used to presize the stripes
+     */
+    public UUIDMap(int stripeCount, int expectedSize) {
+        final int count = Math.max(1, Integer.highestOneBit(Math.max(1, stripeCount) * 2 - 1));
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+
+        final int perStripe = Math.max(1, expectedSize) / count + 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacityFor(perStripe));
+        }
+    }
+
+    /**
+     * Instantiates a new UUID map with one stripe per available processor.
+     */
+    public UUIDMap() {
+        this(Runtime.getRuntime().availableProcessors(), 16);
+    }
+
+    private static int capacityFor(int size) {
+        final int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, size * 4 / 3 + 1) * 2 - 1);
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    private static long hash(long most, long least) {
+        long h = most * 0x9E3779B97F4A7C15L ^ least;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes.length == 1 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    /**
+     * Gets the value mapped to a uuid.
+     *
+     * @param uuid the uuid
+     * @return the value or null
+     */
+    public @Nullable V get(@NotNull UUID uuid) {
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Gets the value mapped to a uuid.
+     *
+     * @param most  the most significant bits of the uuid
+     * @param least the least significant bits of the uuid
+     * @return the value or null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long most, long least) {
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            final Object value = stripe.table.find(hash, most, least);
+            if (stripe.lock.validate(stamp))
+                return (V) value;
+        }
+
+        stamp = stripe.lock.readLock();
+        try {
+            return (V) stripe.table.find(hash, most, least);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns if a uuid is mapped.
+     *
+     * @param uuid the uuid
+     * @return the boolean
+     */
+    public boolean containsKey(@NotNull UUID uuid) {
+        return get(uuid) != null;
+    }
+
+    /**
+     * Maps a uuid to a value.
+     *
+     * @param uuid  the uuid
+     * @param value the value
+     * @return the previous value or null
+     */
+    public @Nullable V put(@NotNull UUID uuid, @NotNull V value) {
+        return put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value, false);
+    }
+
+    /**
+     * Maps a uuid to a value if it is not mapped yet.
+     *
+     * @param uuid  the uuid
+     * @param value the value
+     * @return the current value or null if the value was added
+     */
+    public @Nullable V putIfAbsent(@NotNull UUID uuid, @NotNull V value) {
+        return put(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value, true);
+    }
+
+    /**
+     * Gets the value mapped to a uuid, creating and mapping it if absent. The supplier runs under the stripe lock
+     * and must not access this map.
+     *
+     * @param uuid     the uuid
+     * @param supplier the supplier of the value
+     * @return the current or created value
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull V computeIfAbsent(@NotNull UUID uuid, @NotNull Supplier<? extends V> supplier) {
+        final V existing = get(uuid);
+        if (existing != null)
+            return existing;
+
+        final long most = uuid.getMostSignificantBits();
+        final long least = uuid.getLeastSignificantBits();
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        final long stamp = stripe.lock.writeLock();
+        try {
+            final Object current = stripe.table.find(hash, most, least);
+            if (current != null)
+                return (V) current;
+
+            final V value = supplier.get();
+            stripe.insert(hash, most, least, value, false);
+            return value;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the value mapped to a uuid with the result of a function. The function runs under the stripe lock and
+     * must not access this map.
+     *
+     * @param uuid     the uuid
+     * @param function the function receiving the current value or null, returning the new value or null to remove
+     *                 the mapping
+     * @return the new value or null if the mapping was removed
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V compute(@NotNull UUID uuid, @NotNull Function<? super V, ? extends V> function) {
+        final long most = uuid.getMostSignificantBits();
+        final long least = uuid.getLeastSignificantBits();
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        final long stamp = stripe.lock.writeLock();
+        try {
+            final V value = function.apply((V) stripe.table.find(hash, most, least));
+            if (value == null) {
+                stripe.delete(hash, most, least);
+            } else {
+                stripe.insert(hash, most, least, value, false);
+            }
+            return value;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable V put(long most, long least, @NotNull V value, boolean onlyIfAbsent) {
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        final long stamp = stripe.lock.writeLock();
+        try {
+            return (V) stripe.insert(hash, most, least, value, onlyIfAbsent);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the mapping of a uuid.
+     *
+     * @param uuid the uuid
+     * @return the removed value or null
+     */
+    public @Nullable V remove(@NotNull UUID uuid) {
+        return remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Removes the mapping of a uuid.
+     *
+     * @param most  the most significant bits of the uuid
+     * @param least the least significant bits of the uuid
+     * @return the removed value or null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long most, long least) {
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        final long stamp = stripe.lock.writeLock();
+        try {
+            return (V) stripe.delete(hash, most, least);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the mapping of a uuid only if it is mapped to a value.
+     *
+     * @param uuid  the uuid
+     * @param value the expected value, compared by identity
+     * @return if the mapping was removed
+     */
+    public boolean remove(@NotNull UUID uuid, @NotNull V value) {
+        final long most = uuid.getMostSignificantBits();
+        final long least = uuid.getLeastSignificantBits();
+        final long hash = hash(most, least);
+        final Stripe stripe = stripeFor(hash);
+
+        final long stamp = stripe.lock.writeLock();
+        try {
+            if (stripe.table.find(hash, most, least) != value)
+                return false;
+
+            stripe.delete(hash, most, least);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            final long stamp = stripe.lock.writeLock();
+            try {
+                stripe.table = new Table(MIN_CAPACITY);
+                stripe.size = 0;
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of mappings.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            final long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns if there are no mappings.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Performs an action for every value. Each stripe is read under its read lock, the action must not write to
+     * this map.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull Consumer<? super V> action) {
+        for (Stripe stripe : stripes) {
+            final long stamp = stripe.lock.readLock();
+            try {
+                for (Object value : stripe.table.values) {
+                    if (value != null)
+                        action.accept((V) value);
+                }
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Gets a snapshot of all values.
+     *
+     * @return the values
+     */
+    public @NotNull List<V> values() {
+        final List<V> values = new ArrayList<>(size());
+        forEach(values::add);
+        return values;
+    }
+
+    /**
+     * Gets the memory retained by this map's tables, excluding the values themselves.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateFootprintBytes() {
+        long bytes = OBJECT_HEADER_BYTES + (long) stripes.length * REFERENCE_BYTES;
+        for (Stripe stripe : stripes) {
+            final long stamp = stripe.lock.readLock();
+            try {
+                final int capacity = stripe.table.values.length;
+                bytes += 64; // Stripe, lock and table objects
+                bytes += OBJECT_HEADER_BYTES + capacity * 2L * Long.BYTES;
+                bytes += OBJECT_HEADER_BYTES + (long) capacity * REFERENCE_BYTES;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return bytes;
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private Table table;
+        private int size;
+
+        private Stripe(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        private @Nullable Object insert(long hash, long most, long least, Object value, boolean onlyIfAbsent) {
+            final Table t = table;
+            final int mask = t.values.length - 1;
+            int index = (int) hash & mask;
+            while (t.values[index] != null) {
+                if (t.keys[index << 1] == most && t.keys[(index << 1) + 1] == least) {
+                    final Object previous = t.values[index];
+                    if (!onlyIfAbsent)
+                        t.values[index] = value;
+                    return previous;
+                }
+                index = (index + 1) & mask;
+            }
+
+            t.keys[index << 1] = most;
+            t.keys[(index << 1) + 1] = least;
+            t.values[index] = value;
+
+            if (++size > t.values.length * 3 / 4)
+                table = t.resize(t.values.length << 1);
+            return null;
+        }
+
+        private @Nullable Object delete(long hash, long most, long least) {
+            final Table t = table;
+            final int mask = t.values.length - 1;
+            int index = (int) hash & mask;
+            while (t.values[index] != null) {
+                if (t.keys[index << 1] == most && t.keys[(index << 1) + 1] == least) {
+                    final Object previous = t.values[index];
+                    t.shiftBack(index);
+                    size--;
+                    return previous;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Linear probing table. Keys are stored as pairs of most and least significant bits, a null value marks an empty
+     * slot.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity * 2];
+            this.values = new Object[capacity];
+        }
+
+        private @Nullable Object find(long hash, long most, long least) {
+            final long[] k = keys;
+            final Object[] v = values;
+            final int mask = v.length - 1;
+            int index = (int) hash & mask;
+            for (int probes = 0; probes < v.length; probes++) { // Bounded as an optimistic read may see a table mid-write
+                final Object value = v[index];
+                if (value == null)
+                    return null;
+                if (k[index << 1] == most && k[(index << 1) + 1] == least)
+                    return value;
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private Table resize(int capacity) {
+            final Table resized = new Table(capacity);
+            final int mask = capacity - 1;
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null)
+                    continue;
+
+                final long most = keys[i << 1];
+                final long least = keys[(i << 1) + 1];
+                int index = (int) hash(most, least) & mask;
+                while (resized.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                resized.keys[index << 1] = most;
+                resized.keys[(index << 1) + 1] = least;
+                resized.values[index] = values[i];
+            }
+            return resized;
+        }
+
+        /**
+         * Removes the entry at a slot and moves later entries of the probe sequence back so lookups need no
+         * tombstones.
+         */
+        private void shiftBack(int index) {
+            final int mask = values.length - 1;
+            int gap = index;
+            int next = (gap + 1) & mask;
+            while (values[next] != null) {
+                final int home = (int) hash(keys[next << 1], keys[(next << 1) + 1]) & mask;
+                // Move the entry into the gap unless its home slot lies cyclically between the gap and its slot
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap << 1] = keys[next << 1];
+                    keys[(gap << 1) + 1] = keys[(next << 1) + 1];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[gap] = null;
+        }
+    }
+}
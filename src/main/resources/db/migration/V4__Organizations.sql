@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS ${tablePrefix}organizations (
+    uuid ${uuidType} NOT NULL,
+    "name" VARCHAR(32) NOT NULL,
+    created_at BIGINT NOT NULL,
+    PRIMARY KEY (uuid),
+    UNIQUE ("name")
+)${tableDefaults};
+
+CREATE TABLE IF NOT EXISTS ${tablePrefix}organization_members (
+    player_uuid ${uuidType} NOT NULL,
+    organization_uuid ${uuidType} NOT NULL,
+    "rank" INT NOT NULL,
+    joined_at BIGINT NOT NULL,
+    PRIMARY KEY (player_uuid),
+    FOREIGN KEY (organization_uuid) REFERENCES ${tablePrefix}organizations (uuid) ON DELETE CASCADE
+)${tableDefaults};
+
+CREATE INDEX ${tablePrefix}organization_members_organization ON ${tablePrefix}organization_members (organization_uuid);
+
+CREATE TABLE IF NOT EXISTS ${tablePrefix}organization_invites (
+    organization_uuid ${uuidType} NOT NULL,
+    player_uuid ${uuidType} NOT NULL,
+    inviter_uuid ${uuidType} NOT NULL,
+    created_at BIGINT NOT NULL,
+    PRIMARY KEY (organization_uuid, player_uuid),
+    FOREIGN KEY (organization_uuid) REFERENCES ${tablePrefix}organizations (uuid) ON DELETE CASCADE
+)${tableDefaults};
+
+CREATE INDEX ${tablePrefix}organization_invites_player ON ${tablePrefix}organization_invites (player_uuid);
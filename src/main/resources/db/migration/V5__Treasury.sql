@@ -0,0 +1,17 @@
+CREATE TABLE IF NOT EXISTS ${tablePrefix}organization_treasuries (
+    organization_uuid ${uuidType} NOT NULL,
+    balance BIGINT NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (organization_uuid),
+    FOREIGN KEY (organization_uuid) REFERENCES ${tablePrefix}organizations (uuid) ON DELETE CASCADE
+)${tableDefaults};
+
+CREATE TABLE IF NOT EXISTS ${tablePrefix}organization_ledger (
+    organization_uuid ${uuidType} NOT NULL,
+    entry_sequence BIGINT NOT NULL,
+    player_uuid ${uuidType} NOT NULL,
+    amount BIGINT NOT NULL,
+    created_at BIGINT NOT NULL,
+    PRIMARY KEY (organization_uuid, entry_sequence),
+    FOREIGN KEY (organization_uuid) REFERENCES ${tablePrefix}organizations (uuid) ON DELETE CASCADE
+)${tableDefaults};